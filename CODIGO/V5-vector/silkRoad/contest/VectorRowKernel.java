@@ -0,0 +1,36 @@
+package silkRoad.contest;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Kernel SIMD de ProfitMatrix con la Vector API: resta, valor absoluto y máximo sobre
+ * tantas tiendas como quepan en un registro (16 con AVX-512), y el resto en escalar.
+ *
+ * Vive en su propia raíz de fuentes (V5-vector), fuera del proyecto BlueJ, porque requiere
+ * --add-modules jdk.incubator.vector al compilar y al correr. ProfitMatrix lo carga por
+ * reflexión, así que el proyecto compila y corre sin él. Para usarlo se compila aparte
+ * sobre las clases del proyecto y se agrega al classpath:
+ * <pre>
+ * javac --add-modules jdk.incubator.vector -cp V5 -d V5 V5-vector/silkRoad/contest/VectorRowKernel.java
+ * java --add-modules jdk.incubator.vector -cp V5 ...
+ * </pre>
+ */
+class VectorRowKernel implements ProfitMatrix.RowKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+
+    @Override
+    public void fillRow(int robotLocation, int[] storeLocations, int[] storeTenges, int numStores,
+                        int[] out, int offset) {
+        IntVector robot = IntVector.broadcast(SPECIES, robotLocation);
+        int bound = SPECIES.loopBound(numStores);
+        int s = 0;
+        for (; s < bound; s += SPECIES.length()) {
+            IntVector distance = robot.sub(IntVector.fromArray(SPECIES, storeLocations, s)).abs();
+            IntVector.fromArray(SPECIES, storeTenges, s).sub(distance).max(0).intoArray(out, offset + s);
+        }
+        for (; s < numStores; s++) {
+            out[offset + s] = Math.max(0, storeTenges[s] - Math.abs(robotLocation - storeLocations[s]));
+        }
+    }
+}
@@ -32,6 +32,8 @@ public class Canvas {
     private Image canvasImage;
     private List<Object> objects;
     private HashMap<Object, ShapeDescription> shapes;
+    private int batchDepth;          // open beginBatch calls
+    private boolean redrawPending;   // a change arrived while batching
 
     /**
      * Create a Canvas.
@@ -334,10 +336,32 @@ public class Canvas {
         }
     }
 
+    /**
+     * Start a batch of changes: until the matching endBatch, moving, drawing or
+     * erasing shapes updates them but does not repaint the canvas. Batches may nest.
+     */
+    public void beginBatch() {
+        batchDepth++;
+    }
+
+    /**
+     * End a batch of changes, repainting the canvas once if anything changed.
+     */
+    public void endBatch() {
+        if (batchDepth > 0 && --batchDepth == 0 && redrawPending) {
+            redrawPending = false;
+            redraw();
+        }
+    }
+
     /**
      * Redraw all shapes currently on the Canvas.
      */
     private void redraw() {
+        if (batchDepth > 0) {
+            redrawPending = true;
+            return;
+        }
         if (graphic != null) {
             erase();
             for (Object obj : objects) {
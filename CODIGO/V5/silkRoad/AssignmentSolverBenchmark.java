@@ -0,0 +1,51 @@
+package silkRoad;
+
+import silkRoad.contest.*;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks JMH de los motores de asignación sobre casos pequeños, donde el bitmask
+ * original todavía cabe en memoria. Sirve para ver el punto de cruce entre motores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AssignmentSolverBenchmark {
+
+    // Número total de eventos; con la mitad tiendas, 24 eventos ya son 2^12 máscaras
+    @Param({"8", "16", "24"})
+    public int entities;
+
+    @Param({"uniform", "dense"})
+    public String distribution;
+
+    private int[][] profitMatrix;
+    private AssignmentSolver bitmask;
+    private AssignmentSolver hungarian;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        int[][] days = SilkRoadContestBenchmark.generateDays(entities, distribution, 7);
+        RoadEntities road = new RoadEntities(days.length);
+        for (int i = 0; i < days.length; i++) {
+            road.add(days[i][0], days[i][1], days[i][0] == 2 ? days[i][2] : 0);
+        }
+        profitMatrix = AssignmentSolver.buildProfitMatrix(road);
+        bitmask = new BitmaskSolver();
+        hungarian = new HungarianSolver();
+    }
+
+    @Benchmark
+    public int findOptimalAssignmentBitmask() {
+        return bitmask.maxProfit(profitMatrix);
+    }
+
+    @Benchmark
+    public int findOptimalAssignmentHungarian() {
+        return hungarian.maxProfit(profitMatrix);
+    }
+}
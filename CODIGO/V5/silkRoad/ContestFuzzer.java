@@ -0,0 +1,389 @@
+package silkRoad;
+
+import silkRoad.contest.*;
+import silkRoad.robots.Robot;
+import silkRoad.stores.Store;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Fuzzing diferencial de los motores de SilkRoadContest contra el bitmask de referencia.
+ *
+ * Genera casos reproducibles a partir de una semilla con varios escenarios (uniforme,
+ * tiendas agrupadas, empates, tiendas sin tenges, ubicaciones negativas y días que quitan
+ * robots o tiendas), corre cada motor sobre el mismo caso y compara día por día con el
+ * bitmask. Un caso que falla se reduce (quitando días y acercando los valores a 0)
+ * hasta una reproducción mínima. Se mide el tiempo de cada motor para ver también
+ * regresiones de rendimiento.
+ */
+public class ContestFuzzer {
+    private static final String REFERENCE = "bitmask";
+    private static final String[] SCENARIOS = {"uniform", "clustered", "ties", "zeroTenges", "negative", "removals"};
+    // El bitmask es O(R * 2^S * S) por día: se limita el número de tiendas presentes
+    private static final int MAX_REFERENCE_STORES = 10;
+
+    private final long seed;
+    private final LinkedHashMap<String, Function<int[][], int[]>> backends;
+
+    /**
+     * Resultado de una corrida: casos, fallas reducidas y tiempo acumulado por motor
+     */
+    public static class Report {
+        private final int cases;
+        private final List<Failure> failures;
+        private final Map<String, Long> nanos;
+
+        Report(int cases, List<Failure> failures, Map<String, Long> nanos) {
+            this.cases = cases;
+            this.failures = failures;
+            this.nanos = nanos;
+        }
+
+        public int getCases() { return cases; }
+        public List<Failure> getFailures() { return failures; }
+        public boolean passed() { return failures.isEmpty(); }
+
+        /**
+         * Tiempo acumulado de un motor en todos los casos
+         * @param backend Nombre del motor
+         * @return Nanosegundos, o 0 si el motor no existe
+         */
+        public long getNanos(String backend) {
+            Long total = nanos.get(backend);
+            return total == null ? 0 : total.longValue();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder();
+            text.append(cases).append(" casos, ").append(failures.size()).append(" fallas\n");
+            long reference = Math.max(1, getNanos(REFERENCE));
+            for (Map.Entry<String, Long> entry : nanos.entrySet()) {
+                text.append(String.format("  %-12s %10.3f ms  (x%.2f del bitmask)%n", entry.getKey(),
+                    entry.getValue() / 1e6, entry.getValue() / (double) reference));
+            }
+            for (Failure failure : failures) {
+                text.append(failure).append('\n');
+            }
+            return text.toString();
+        }
+    }
+
+    /**
+     * Caso mínimo en el que un motor difiere de la referencia
+     */
+    public static class Failure {
+        private final String backend;
+        private final long caseSeed;
+        private final int[][] days;
+        private final int[] expected;
+        private final String actual;
+
+        Failure(String backend, long caseSeed, int[][] days, int[] expected, String actual) {
+            this.backend = backend;
+            this.caseSeed = caseSeed;
+            this.days = days;
+            this.expected = expected;
+            this.actual = actual;
+        }
+
+        public String getBackend() { return backend; }
+        public long getCaseSeed() { return caseSeed; }
+        public int[][] getDays() { return days; }
+
+        @Override
+        public String toString() {
+            return "FALLA " + backend + " (semilla " + caseSeed + "): días " + Arrays.deepToString(days)
+                + " esperado " + Arrays.toString(expected) + " obtenido " + actual;
+        }
+    }
+
+    /**
+     * Crea un fuzzer con todos los motores de SilkRoadContest
+     * @param seed Semilla de la que se derivan todos los casos
+     */
+    public ContestFuzzer(long seed) {
+        this.seed = seed;
+        this.backends = new LinkedHashMap<String, Function<int[][], int[]>>();
+        ContestCache cache = new ContestCache(4096);
+        addBackend(REFERENCE, days -> SilkRoadContest.solve(days, new BitmaskSolver()));
+        addBackend("incremental", SilkRoadContest::solve);
+        addBackend("cache", days -> SilkRoadContest.solve(days, cache));
+        addBackend("hungarian", days -> SilkRoadContest.solve(days, new HungarianSolver()));
+        addBackend("lineSweep", days -> SilkRoadContest.solve(days, new LineSweepSolver()));
+        addBackend("onLine", SilkRoadContest::solveOnLine);
+        addBackend("parallel", ContestFuzzer::solveParallel);
+        addBackend("typed", ContestFuzzer::solveTyped);
+        addBackend("planner", days -> SilkRoadContest.solveWithinBudget(days, 64L << 20));
+        addBackend("anytime", ContestFuzzer::solveAnytime);
+        addBackend("marginal", ContestFuzzer::solveMarginal);
+    }
+
+    /**
+     * Agrega (o reemplaza) un motor a comparar
+     * @param name Nombre del motor en los reportes
+     * @param backend Función que resuelve un caso en formato days
+     */
+    public void addBackend(String name, Function<int[][], int[]> backend) {
+        backends.put(name, backend);
+    }
+
+    /**
+     * Corre casos aleatorios y compara cada motor con la referencia
+     * @param cases Número de casos
+     * @param maxDays Máximo de días por caso
+     * @return Reporte con las fallas reducidas y los tiempos
+     */
+    public Report run(int cases, int maxDays) {
+        LinkedHashMap<String, Long> nanos = new LinkedHashMap<String, Long>();
+        for (String name : backends.keySet()) {
+            nanos.put(name, Long.valueOf(0));
+        }
+        ArrayList<Failure> failures = new ArrayList<Failure>();
+        ArrayList<String> failing = new ArrayList<String>();
+        Random seeds = new Random(seed);
+        for (int c = 0; c < cases; c++) {
+            long caseSeed = seeds.nextLong();
+            int[][] days = generate(new Random(caseSeed), SCENARIOS[c % SCENARIOS.length], maxDays);
+            long started = System.nanoTime();
+            int[] expected = backends.get(REFERENCE).apply(days);
+            nanos.put(REFERENCE, nanos.get(REFERENCE) + System.nanoTime() - started);
+            for (Map.Entry<String, Function<int[][], int[]>> backend : backends.entrySet()) {
+                String name = backend.getKey();
+                if (name.equals(REFERENCE)) continue;
+                started = System.nanoTime();
+                String actual = outcome(backend.getValue(), days);
+                nanos.put(name, nanos.get(name) + System.nanoTime() - started);
+                // Una falla por motor: las siguientes suelen ser el mismo error
+                if (!actual.equals(Arrays.toString(expected)) && !failing.contains(name)) {
+                    failing.add(name);
+                    int[][] minimal = shrink(days, backend.getValue());
+                    failures.add(new Failure(name, caseSeed, minimal,
+                        backends.get(REFERENCE).apply(minimal), outcome(backend.getValue(), minimal)));
+                }
+            }
+        }
+        return new Report(cases, failures, nanos);
+    }
+
+    /**
+     * Resultado de un motor como texto, incluyendo la excepción si falla
+     */
+    private static String outcome(Function<int[][], int[]> backend, int[][] days) {
+        try {
+            return Arrays.toString(backend.apply(days));
+        } catch (RuntimeException e) {
+            return e.toString();
+        }
+    }
+
+    private boolean fails(int[][] days, Function<int[][], int[]> backend) {
+        return !outcome(backend, days).equals(Arrays.toString(backends.get(REFERENCE).apply(days)));
+    }
+
+    /**
+     * Reduce un caso que falla: primero quita bloques de días (de la mitad del caso a días
+     * sueltos) y luego acerca ubicaciones y tenges a 0, mientras el motor siga fallando
+     */
+    int[][] shrink(int[][] days, Function<int[][], int[]> backend) {
+        int[][] current = days;
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (int chunk = Math.max(1, current.length / 2); chunk >= 1; chunk /= 2) {
+                for (int start = 0; start + chunk <= current.length; ) {
+                    int[][] candidate = new int[current.length - chunk][];
+                    System.arraycopy(current, 0, candidate, 0, start);
+                    System.arraycopy(current, start + chunk, candidate, start, current.length - start - chunk);
+                    if (fails(candidate, backend)) {
+                        current = candidate;
+                        changed = true;
+                    } else {
+                        start++;
+                    }
+                }
+            }
+            for (int day = 0; day < current.length; day++) {
+                for (int field = 1; field < current[day].length; field++) {
+                    int value = current[day][field];
+                    for (int simpler : new int[]{0, value / 2, value - Integer.signum(value)}) {
+                        if (simpler == value) continue;
+                        int[][] candidate = current.clone();
+                        candidate[day] = current[day].clone();
+                        candidate[day][field] = simpler;
+                        if (fails(candidate, backend)) {
+                            current = candidate;
+                            changed = true;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Genera un caso de un escenario sin pasar del límite de tiendas de la referencia
+     */
+    static int[][] generate(Random random, String scenario, int maxDays) {
+        int numDays = 1 + random.nextInt(Math.max(1, maxDays));
+        int[][] days = new int[numDays][];
+        int span = scenario.equals("clustered") || scenario.equals("ties") ? 12 : 200;
+        int stores = 0;
+        for (int day = 0; day < numDays; day++) {
+            int type = 1 + random.nextInt(scenario.equals("removals") ? 4 : 2);
+            if (type == ContestDays.STORE && stores >= MAX_REFERENCE_STORES) {
+                type = ContestDays.REMOVE_STORE;
+            }
+            int location;
+            if (scenario.equals("clustered")) {
+                location = 50 * random.nextInt(3) + random.nextInt(span);
+            } else if (scenario.equals("negative")) {
+                location = random.nextInt(span) - span;
+            } else if (scenario.equals("ties")) {
+                location = 2 * random.nextInt(span / 2);
+            } else {
+                location = random.nextInt(span);
+            }
+            if (type == ContestDays.STORE) {
+                int tenges;
+                if (scenario.equals("zeroTenges")) {
+                    tenges = random.nextBoolean() ? 0 : random.nextInt(80);
+                } else if (scenario.equals("ties")) {
+                    tenges = 10;
+                } else {
+                    tenges = random.nextInt(span == 12 ? 30 : 120);
+                }
+                days[day] = new int[]{type, location, tenges};
+                stores++;
+            } else {
+                // Las eliminaciones apuntan a ubicaciones ya usadas para que encuentren algo
+                if (type > ContestDays.STORE && day > 0) {
+                    location = days[random.nextInt(day)][1];
+                }
+                days[day] = new int[]{type, location};
+                if (type == ContestDays.REMOVE_STORE) {
+                    stores = countStores(days, day + 1);
+                }
+            }
+        }
+        return days;
+    }
+
+    /**
+     * Tiendas presentes después de los primeros numDays días
+     */
+    private static int countStores(int[][] days, int numDays) {
+        RoadEntities entities = new RoadEntities(numDays);
+        for (int day = 0; day < numDays; day++) {
+            entities.add(days[day][0], days[day][1], days[day][0] == ContestDays.STORE ? days[day][2] : 0);
+        }
+        return entities.getStoreCount();
+    }
+
+    /**
+     * Días en paralelo con tramos de 4 días, para que los casos del fuzzer sí se partan y
+     * se prueben los cortes y IncrementalSolver.build
+     */
+    private static int[] solveParallel(int[][] days) {
+        ParallelDaySolver solver = new ParallelDaySolver(2, 4);
+        try {
+            return solver.solve(ContestDays.of(days));
+        } finally {
+            solver.shutdown();
+        }
+    }
+
+    /**
+     * Kernel tipado con robots y tiendas normales, que deben dar lo mismo que sin tipos
+     */
+    private static int[] solveTyped(int[][] days) {
+        int[] maxProfits = new int[days.length];
+        ArrayList<Robot> robots = new ArrayList<Robot>();
+        ArrayList<Store> stores = new ArrayList<Store>();
+        for (int day = 0; day < days.length; day++) {
+            int type = days[day][0];
+            int location = days[day][1];
+            if (type == ContestDays.ROBOT) {
+                robots.add(new Robot(location, 0, 0));
+            } else if (type == ContestDays.STORE) {
+                stores.add(new Store(location, days[day][2], 0, 0));
+            } else if (type == ContestDays.REMOVE_ROBOT) {
+                removeFirstAt(robots, location, Robot::getLocation);
+            } else if (type == ContestDays.REMOVE_STORE) {
+                removeFirstAt(stores, location, Store::getLocation);
+            }
+            maxProfits[day] = SilkRoadContest.calculateMaxProfit(robots, stores);
+        }
+        return maxProfits;
+    }
+
+    /**
+     * Quita el primero que llegó a una ubicación, como los días tipo 3 y 4
+     */
+    private static <T> void removeFirstAt(List<T> entities, int location, ToIntFunction<T> locationOf) {
+        for (int i = 0; i < entities.size(); i++) {
+            if (locationOf.applyAsInt(entities.get(i)) == location) {
+                entities.remove(i);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Modo anytime con tiempo de sobra sobre cada prefijo: debe llegar al óptimo
+     */
+    private static int[] solveAnytime(int[][] days) {
+        int[] maxProfits = new int[days.length];
+        for (int day = 0; day < days.length; day++) {
+            maxProfits[day] = SilkRoadContest.solveAnytime(Arrays.copyOf(days, day + 1), 60000000000L).getProfit();
+        }
+        return maxProfits;
+    }
+
+    /**
+     * Ganancia de cada día sumando el valor marginal que predice el día anterior
+     */
+    private static int[] solveMarginal(int[][] days) {
+        int[] maxProfits = new int[days.length];
+        IncrementalSolver solver = new IncrementalSolver();
+        int previous = 0;
+        for (int day = 0; day < days.length; day++) {
+            int type = days[day][0];
+            if (type == ContestDays.ROBOT) {
+                maxProfits[day] = previous + new MarginalValues(solver).robotValue(days[day][1]);
+            } else if (type == ContestDays.STORE) {
+                maxProfits[day] = previous + new MarginalValues(solver).storeValue(days[day][1], days[day][2]);
+            }
+            solver.add(type, days[day][1], type == ContestDays.STORE ? days[day][2] : 0);
+            if (type > ContestDays.STORE) {
+                maxProfits[day] = solver.getMaxProfit();
+            }
+            previous = maxProfits[day];
+        }
+        return maxProfits;
+    }
+
+    /**
+     * Corre el fuzzer desde la línea de comandos: [semilla] [casos] [días máximos]
+     * @param args Argumentos opcionales
+     */
+    public static void main(String[] args) {
+        long seed = args.length > 0 ? Long.parseLong(args[0]) : System.nanoTime();
+        int cases = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int maxDays = args.length > 2 ? Integer.parseInt(args[2]) : 40;
+        System.out.println("Semilla " + seed);
+        Report report = new ContestFuzzer(seed).run(cases, maxDays);
+        System.out.print(report);
+        if (!report.passed()) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package silkRoad;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmark JMH de escala de SilkRoadContest.solveOnLine: un caso completo por invocación,
+ * de 25 000 a 200 000 eventos, para ver cómo crece el costo total con el número de días.
+ * Los motores por matriz no se incluyen porque a este tamaño tardan minutos por caso
+ * (ver SilkRoadContestBenchmark para compararlos en casos chicos).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LineScalingBenchmark {
+
+    // Número total de eventos (mitad robots, mitad tiendas)
+    @Param({"25000", "50000", "100000", "200000"})
+    public int events;
+
+    // local: tenges chicos frente a la ruta; wide: los robots llegan a cualquier tienda
+    @Param({"local", "wide"})
+    public String reach;
+
+    private int[][] days;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        int span = 1000000000;
+        int maxTenges = "wide".equals(reach) ? span : 100000;
+        days = new int[events][];
+        for (int i = 0; i < events; i++) {
+            days[i] = random.nextBoolean()
+                ? new int[]{1, random.nextInt(span)}
+                : new int[]{2, random.nextInt(span), random.nextInt(maxTenges)};
+        }
+    }
+
+    @Benchmark
+    public int[] solveOnLine() {
+        return SilkRoadContest.solveOnLine(days);
+    }
+}
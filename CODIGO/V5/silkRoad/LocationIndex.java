@@ -0,0 +1,193 @@
+package silkRoad;
+
+import java.util.Arrays;
+
+/**
+ * Índice denso de entidades por ubicación de la ruta: búsqueda, alta, baja y cambio de
+ * ubicación en O(1) mientras haya pocas entidades por ubicación.
+ *
+ * Cada ubicación guarda directamente su entidad si tiene una sola (sin objetos extra) y
+ * solo pasa a una lista cuando se juntan varias. Las entidades de una misma ubicación se
+ * mantienen en el orden indicado al agregarlas, así first devuelve la misma que habría
+ * encontrado un recorrido de la lista completa.
+ */
+class LocationIndex<E> {
+    private Object[] slots;
+    private long[] orders;
+    private int size;
+
+    /**
+     * Crea un índice vacío
+     * @param length Cantidad de ubicaciones esperada (0 a length - 1); crece si se agrega más allá
+     */
+    LocationIndex(int length) {
+        this.slots = new Object[Math.max(0, length)];
+        this.orders = new long[Math.max(0, length)];
+    }
+
+    /**
+     * Agrega una entidad a una ubicación
+     * @param location Ubicación
+     * @param entity Entidad a agregar
+     * @param order Orden de llegada (no negativo): first devuelve la de menor orden
+     */
+    void add(int location, E entity, long order) {
+        if (location >= slots.length) {
+            int capacity = Math.max(location + 1, slots.length * 2);
+            slots = Arrays.copyOf(slots, capacity);
+            orders = Arrays.copyOf(orders, capacity);
+        }
+        Object slot = slots[location];
+        if (slot == null) {
+            slots[location] = entity;
+            orders[location] = order;
+        } else if (slot instanceof Bucket) {
+            ((Bucket) slot).insert(entity, order);
+        } else {
+            Bucket bucket = new Bucket();
+            bucket.insert(slot, orders[location]);
+            bucket.insert(entity, order);
+            slots[location] = bucket;
+        }
+        size++;
+    }
+
+    /**
+     * Primera entidad (en orden de llegada) de una ubicación
+     * @param location Ubicación (fuera de rango no encuentra nada)
+     * @return Entidad, o null si no hay ninguna
+     */
+    @SuppressWarnings("unchecked")
+    E first(int location) {
+        if (location < 0 || location >= slots.length) {
+            return null;
+        }
+        Object slot = slots[location];
+        return (E) (slot instanceof Bucket ? ((Bucket) slot).items[0] : slot);
+    }
+
+    /**
+     * Cantidad de entidades en una ubicación
+     * @param location Ubicación (fuera de rango no hay ninguna)
+     * @return Entidades ahí
+     */
+    int count(int location) {
+        if (location < 0 || location >= slots.length || slots[location] == null) {
+            return 0;
+        }
+        Object slot = slots[location];
+        return slot instanceof Bucket ? ((Bucket) slot).count : 1;
+    }
+
+    /**
+     * Entidad de una ubicación según su orden de llegada
+     * @param location Ubicación
+     * @param index Posición entre las de esa ubicación (0 = la primera en llegar)
+     * @return Entidad
+     */
+    @SuppressWarnings("unchecked")
+    E get(int location, int index) {
+        Object slot = slots[location];
+        return (E) (slot instanceof Bucket ? ((Bucket) slot).items[index] : slot);
+    }
+
+    /**
+     * Quita una entidad de una ubicación
+     * @param location Ubicación donde está la entidad
+     * @param entity Entidad a quitar
+     * @return true si estaba ahí
+     */
+    boolean remove(int location, E entity) {
+        return take(location, entity) >= 0;
+    }
+
+    /**
+     * Cambia una entidad de ubicación conservando su orden de llegada
+     * @param from Ubicación actual
+     * @param to Nueva ubicación
+     * @param entity Entidad a mover
+     */
+    void move(int from, int to, E entity) {
+        long order = take(from, entity);
+        if (order >= 0) {
+            add(to, entity, order);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Quita la entidad y devuelve su orden, o -1 si no estaba
+     */
+    private long take(int location, Object entity) {
+        if (location < 0 || location >= slots.length) {
+            return -1;
+        }
+        Object slot = slots[location];
+        long order;
+        if (slot == entity) {
+            slots[location] = null;
+            order = orders[location];
+        } else if (slot instanceof Bucket) {
+            Bucket bucket = (Bucket) slot;
+            int index = bucket.indexOf(entity);
+            if (index < 0) {
+                return -1;
+            }
+            order = bucket.orders[index];
+            bucket.removeAt(index);
+            if (bucket.count == 1) {
+                // Vuelve a guardar la entidad directamente
+                slots[location] = bucket.items[0];
+                orders[location] = bucket.orders[0];
+            }
+        } else {
+            return -1;
+        }
+        size--;
+        return order;
+    }
+
+    /**
+     * Entidades de una ubicación con más de una, ordenadas por orden de llegada
+     */
+    private static final class Bucket {
+        Object[] items = new Object[4];
+        long[] orders = new long[4];
+        int count;
+
+        void insert(Object entity, long order) {
+            if (count == items.length) {
+                items = Arrays.copyOf(items, count * 2);
+                orders = Arrays.copyOf(orders, count * 2);
+            }
+            int index = count;
+            while (index > 0 && orders[index - 1] > order) {
+                items[index] = items[index - 1];
+                orders[index] = orders[index - 1];
+                index--;
+            }
+            items[index] = entity;
+            orders[index] = order;
+            count++;
+        }
+
+        int indexOf(Object entity) {
+            for (int i = 0; i < count; i++) {
+                if (items[i] == entity) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        void removeAt(int index) {
+            count--;
+            System.arraycopy(items, index + 1, items, index, count - index);
+            System.arraycopy(orders, index + 1, orders, index, count - index);
+            items[count] = null;
+        }
+    }
+}
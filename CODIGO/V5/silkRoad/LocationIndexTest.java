@@ -0,0 +1,55 @@
+package silkRoad;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class LocationIndexTest {
+
+    @Test
+    public void testCoincideConRecorrerLaLista() {
+        // Referencia: lista en orden de llegada con su ubicación, recorrida como antes en SilkRoad
+        Random random = new Random(43);
+        int length = 20;
+        LocationIndex<int[]> index = new LocationIndex<int[]>(length);
+        List<int[]> list = new ArrayList<int[]>();
+        long placed = 0;
+        for (int step = 0; step < 20000; step++) {
+            int location = random.nextInt(length + 3);
+            int action = random.nextInt(3);
+            int[] first = null;
+            for (int[] entity : list) {
+                if (entity[0] == location) {
+                    first = entity;
+                    break;
+                }
+            }
+            assertSame(first, index.first(location), "Primera entidad distinta en el paso " + step);
+            int count = 0;
+            for (int[] entity : list) {
+                if (entity[0] == location) {
+                    assertSame(entity, index.get(location, count++), "Orden de llegada distinto en el paso " + step);
+                }
+            }
+            assertEquals(count, index.count(location));
+            if (action == 0) {
+                int[] entity = {location};
+                list.add(entity);
+                index.add(location, entity, placed++);
+            } else if (action == 1 && first != null) {
+                list.remove(first);
+                assertTrue(index.remove(location, first));
+            } else if (first != null) {
+                // Incluye ubicaciones más allá de la longitud inicial, que hacen crecer el índice
+                int target = random.nextInt(length + 3);
+                first[0] = target;
+                index.move(location, target, first);
+            }
+            assertEquals(list.size(), index.size());
+        }
+        assertNull(index.first(-1), "Fuera de rango no hay entidades");
+        assertNull(index.first(length + 10));
+    }
+}
@@ -0,0 +1,120 @@
+package silkRoad;
+
+import java.util.Arrays;
+
+/**
+ * Historial de ganancias de los movimientos en columnas de int: robot, día, número de
+ * movimiento del robot y ganancia. Solo se agregan registros, en bloques de tamaño fijo,
+ * así que agregar es O(1) sin copiar lo anterior y no crea un objeto por movimiento
+ * (a diferencia de un HashMap de listas de Integer).
+ */
+public class ProfitLog {
+    // Registros por bloque (2^12)
+    private static final int CHUNK_BITS = 12;
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    private int[][] robots;
+    private int[][] days;
+    private int[][] moves;
+    private int[][] profits;
+    private int size;
+    // Movimientos registrados de cada robot, para numerar el siguiente
+    private int[] moveCounts;
+
+    /**
+     * Crea un historial vacío
+     */
+    public ProfitLog() {
+        robots = new int[1][];
+        days = new int[1][];
+        moves = new int[1][];
+        profits = new int[1][];
+        moveCounts = new int[16];
+    }
+
+    /**
+     * Agrega la ganancia de un movimiento
+     * @param robot Identificador del robot (no negativo)
+     * @param day Día del movimiento
+     * @param profit Ganancia neta del movimiento
+     * @return Número de movimiento del robot (0 para el primero)
+     */
+    int append(int robot, int day, int profit) {
+        int chunk = size >>> CHUNK_BITS;
+        if (chunk == robots.length) {
+            robots = Arrays.copyOf(robots, chunk * 2);
+            days = Arrays.copyOf(days, chunk * 2);
+            moves = Arrays.copyOf(moves, chunk * 2);
+            profits = Arrays.copyOf(profits, chunk * 2);
+        }
+        if (robots[chunk] == null) {
+            robots[chunk] = new int[CHUNK_SIZE];
+            days[chunk] = new int[CHUNK_SIZE];
+            moves[chunk] = new int[CHUNK_SIZE];
+            profits[chunk] = new int[CHUNK_SIZE];
+        }
+        if (robot >= moveCounts.length) {
+            moveCounts = Arrays.copyOf(moveCounts, Math.max(robot + 1, moveCounts.length * 2));
+        }
+        int move = moveCounts[robot]++;
+        int offset = size & CHUNK_MASK;
+        robots[chunk][offset] = robot;
+        days[chunk][offset] = day;
+        moves[chunk][offset] = move;
+        profits[chunk][offset] = profit;
+        size++;
+        return move;
+    }
+
+    /**
+     * Cantidad de movimientos registrados
+     * @return Registros en el historial
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Movimientos registrados de un robot
+     * @param robot Identificador del robot
+     * @return Cantidad de movimientos
+     */
+    public int moveCount(int robot) {
+        return robot < moveCounts.length ? moveCounts[robot] : 0;
+    }
+
+    public int getRobot(int entry) { return robots[entry >>> CHUNK_BITS][entry & CHUNK_MASK]; }
+    public int getDay(int entry) { return days[entry >>> CHUNK_BITS][entry & CHUNK_MASK]; }
+    public int getMove(int entry) { return moves[entry >>> CHUNK_BITS][entry & CHUNK_MASK]; }
+    public int getProfit(int entry) { return profits[entry >>> CHUNK_BITS][entry & CHUNK_MASK]; }
+
+    /**
+     * Ganancias de cada movimiento de varios robots, en una sola pasada por el historial
+     * @param robotIds Robots a consultar, en el orden de las filas
+     * @param labels Primer valor de cada fila (por ejemplo, la ubicación inicial del robot)
+     * @return Una fila por robot: su etiqueta y luego la ganancia de cada movimiento, en orden
+     */
+    public int[][] profitsPerMove(int[] robotIds, int[] labels) {
+        int[][] rows = new int[robotIds.length][];
+        // Fila de cada robot consultado (-1 si no se consultó)
+        int[] rowOf = new int[moveCounts.length];
+        Arrays.fill(rowOf, -1);
+        for (int i = 0; i < robotIds.length; i++) {
+            rows[i] = new int[1 + moveCount(robotIds[i])];
+            rows[i][0] = labels[i];
+            if (robotIds[i] < rowOf.length) {
+                rowOf[robotIds[i]] = i;
+            }
+        }
+        for (int entry = 0; entry < size; entry++) {
+            int chunk = entry >>> CHUNK_BITS;
+            int offset = entry & CHUNK_MASK;
+            int row = rowOf[robots[chunk][offset]];
+            if (row >= 0) {
+                rows[row][1 + moves[chunk][offset]] = profits[chunk][offset];
+            }
+        }
+        return rows;
+    }
+}
@@ -2,178 +2,100 @@ package silkRoad;
 
 import silkRoad.stores.*;
 import silkRoad.robots.*;
-import shapes.*;
 import java.util.*;
 
+/**
+ * Motor de la Ruta de la Seda: robots, tiendas, movimientos y ganancias. No dibuja nada;
+ * avisa cada cambio a sus observadores (SilkRoadObserver), entre ellos la vista del
+ * canvas (SilkRoadView) si se creó con ella.
+ */
 public class SilkRoad {
     // Atributos principales
     private int length;
-    private ArrayList stores;
-    private ArrayList robots;
-    private Canvas canvas;
+    private ArrayList<Store> stores;
+    private ArrayList<Robot> robots;
     private boolean visible;
     private int totalProfit;
     private int days;
     private boolean isFinished;
     private boolean lastOperationOk;
-    private ProgressBar progressBar;
 
-    // NUEVO: Parámetros para tablero CUADRADO
-    private int boardSize;           // Tamaño del tablero (ej: 10x10, 15x15)
-    private int cellSize = 100;       // Tamaño de cada celda
-    private int boardX = 100;        // Posición X del tablero
-    private int boardY = 100;        // Posición Y del tablero
+    // NUEVO: Observadores del motor (la vista del canvas es uno más)
+    private ArrayList<SilkRoadObserver> observers;
 
-    // Historial de ganancias por robot
-    private HashMap robotProfitHistory;
+    // NUEVO: Índices por ubicación, para no recorrer las listas en cada operación
+    private LocationIndex<Store> storesAt;    // Tiendas por ubicación, en orden de llegada
+    private long storesPlaced;
+    private Robot[] robotByStart;             // Robot de cada ubicación inicial (a lo sumo uno)
+    private LocationIndex<Robot> robotsAt;    // Robots por ubicación actual, en orden de llegada
+    private int[] robotIdByStart;             // Identificador del robot de cada ubicación inicial
+    private long robotsPlaced;
+    private int[] takenAt;                    // Robots ya tomados de cada ubicación en un lote (applyMoves)
+
+    // Historial de ganancias por robot, en columnas de int (ver ProfitLog)
+    private ProfitLog profitLog;
+    private int currentDay;                   // Veces que los robots volvieron al inicio
 
     /**
      * Constructor que crea una ruta de longitud específica con tablero cuadrado
      * @param length Longitud de la ruta (número de posiciones en la espiral)
      */
     public SilkRoad(int length) {
-        this.length = length;
-        this.stores = new ArrayList();
-        this.robots = new ArrayList();
-        this.canvas = Canvas.getCanvas();
-        this.visible = true;
-        this.totalProfit = 0;
-        this.isFinished = false;
-        this.lastOperationOk = true;
-        this.robotProfitHistory = new HashMap();
-
-        // Calcular tamaño del tablero cuadrado necesario para la longitud
-        this.boardSize = (int) Math.ceil(Math.sqrt(length)) + 2;
-
-        // Dibujar el tablero cuadrado con camino espiral
-        dibujarTableroConEspiral();
-
-        // Crear barra de progreso
-        progressBar = new ProgressBar(50, 800, 400, 30);
-        if (visible) {
-            progressBar.makeVisible();
-        }
-    }
-
-    /**
-     * Constructor que crea una ruta basada en días de simulación
-     * @param days Matriz de días con información de simulación
-     */
-    public SilkRoad(int[][] days) {
-        this(100); // Longitud por defecto
-        this.days = days.length;
-        lastOperationOk = true;
+        this(length, false);
     }
 
     /**
-     * NUEVO: Dibujar el tablero cuadrado con líneas de cuadrícula y camino espiral
+     * NUEVO: Constructor que permite crear solo el motor, sin canvas ni figuras (para
+     * procesos en un servidor sin display). La vista se puede agregar después con addObserver.
+     * @param length Longitud de la ruta (número de posiciones en la espiral)
+     * @param headless true para no crear la vista
      */
-    private void dibujarTableroConEspiral() {
-        // Dibujar borde del tablero
-        Rectangle borde = new Rectangle();
-        borde.changeSize(boardSize * cellSize, boardSize * cellSize);
-        borde.moveHorizontal(boardX);
-        borde.moveVertical(boardY);
-        borde.changeColor("black");
-        if (visible) {
-            borde.makeVisible();
-        }
-
-        // Dibujar cuadrícula
-        for (int i = 0; i <= boardSize; i++) {
-            // Líneas horizontales
-            Rectangle lineaH = new Rectangle();
-            lineaH.changeSize(boardSize * cellSize, 2);
-            lineaH.moveHorizontal(boardX);
-            lineaH.moveVertical(boardY + i * cellSize);
-            lineaH.changeColor("lightGray");
-            if (visible) lineaH.makeVisible();
-
-            // Líneas verticales
-            Rectangle lineaV = new Rectangle();
-            lineaV.changeSize(2, boardSize * cellSize);
-            lineaV.moveHorizontal(boardX + i * cellSize);
-            lineaV.moveVertical(boardY);
-            lineaV.changeColor("lightGray");
-            if (visible) lineaV.makeVisible();
-        }
-
-        // Marcar el camino espiral en color
-        marcarCaminoEspiral();
-    }
+    public SilkRoad(int length, boolean headless) {
+        this.length = length;
+        this.stores = new ArrayList<Store>();
+        this.robots = new ArrayList<Robot>();
+        this.storesAt = new LocationIndex<Store>(length);
+        this.robotByStart = new Robot[Math.max(0, length)];
+        this.robotIdByStart = new int[Math.max(0, length)];
+        this.takenAt = new int[Math.max(0, length)];
+        this.robotsAt = new LocationIndex<Robot>(length);
+        this.visible = !headless;
+        this.totalProfit = 0;
+        this.isFinished = false;
+        this.lastOperationOk = true;
+        this.profitLog = new ProfitLog();
+        this.observers = new ArrayList<SilkRoadObserver>();
 
-    /**
-     * NUEVO: Marcar visualmente el camino espiral en el tablero
-     */
-    private void marcarCaminoEspiral() {
-        for (int i = 0; i < Math.min(length, boardSize * boardSize); i++) {
-            int[] coords = getSpiralCoordinates(i);
-            int x = coords[0];  // Primer elemento = coordenada X
-            int y = coords[1];  // Segundo elemento = coordenada Y
-            
-            Rectangle celda = new Rectangle();
-            celda.changeSize(cellSize - 4, cellSize - 4);
-            celda.moveHorizontal(boardX + x * cellSize + 2);
-            celda.moveVertical(boardY + y * cellSize + 2);
-            celda.changeColor("yellow");
-            if (visible) celda.makeVisible();
+        if (!headless) {
+            // La vista dibuja el tablero con el camino espiral y la barra de progreso
+            addObserver(new SilkRoadView(length));
         }
     }
 
     /**
-     * NUEVO: Calcular coordenadas (x, y) en el tablero para una posición en la espiral
-     * @param position Posición en la espiral (0, 1, 2, ...)
-     * @return Array [x, y] con coordenadas de cuadrícula
+     * NUEVO: Suscribe un observador a los cambios de la ruta
+     * @param observer Observador a agregar
      */
-    private int[] getSpiralCoordinates(int position) {
-        if (position == 0) {
-            return new int[]{boardSize / 2, boardSize / 2}; // Centro del tablero
-        }
-
-        // Algoritmo de espiral: derecha, abajo, izquierda, arriba
-        int x = boardSize / 2;
-        int y = boardSize / 2;
-        int steps = 1;
-        int stepCount = 0;
-        int direction = 0; // 0=derecha, 1=abajo, 2=izquierda, 3=arriba
-        int[] dx = {1, 0, -1, 0};
-        int[] dy = {0, 1, 0, -1};
-
-        for (int i = 1; i <= position; i++) {
-            x += dx[direction];
-            y += dy[direction];
-            stepCount++;
-
-            if (stepCount == steps) {
-                stepCount = 0;
-                direction = (direction + 1) % 4;
-                if (direction % 2 == 0) {
-                    steps++;
-                }
-            }
-        }
-
-        return new int[]{x, y};
+    public void addObserver(SilkRoadObserver observer) {
+        observers.add(observer);
     }
 
     /**
-     * MODIFICADO: Calcular posición X en píxeles para una ubicación en la espiral
-     * @param location Ubicación en la ruta
-     * @return Posición X en píxeles
+     * NUEVO: Cancela la suscripción de un observador
+     * @param observer Observador a quitar
      */
-    private int calculateSpiralX(int location) {
-        int[] coords = getSpiralCoordinates(location);
-        return boardX + coords[0] * cellSize + cellSize / 2;  // coords[0] en lugar de coords
+    public void removeObserver(SilkRoadObserver observer) {
+        observers.remove(observer);
     }
 
     /**
-     * MODIFICADO: Calcular posición Y en píxeles para una ubicación en la espiral
-     * @param location Ubicación en la ruta
-     * @return Posición Y en píxeles
+     * Constructor que crea una ruta basada en días de simulación
+     * @param days Matriz de días con información de simulación
      */
-    private int calculateSpiralY(int location) {
-        int[] coords = getSpiralCoordinates(location);
-        return boardY + coords[1] * cellSize + cellSize / 2;  // coords[1] en lugar de coords
+    public SilkRoad(int[][] days) {
+        this(100); // Longitud por defecto
+        this.days = days.length;
+        lastOperationOk = true;
     }
 
     /**
@@ -199,10 +121,11 @@ public class SilkRoad {
             return;
         }
 
-        removeStore(location);
+        detachStore(location);
 
-        int x = calculateSpiralX(location);
-        int y = calculateSpiralY(location);
+        // La posición en el canvas la asigna la vista (storePlaced)
+        int x = 0;
+        int y = 0;
 
         Store newStore;
         switch (type.toLowerCase()) {
@@ -220,8 +143,10 @@ public class SilkRoad {
         }
 
         stores.add(newStore);
-        if (visible) {
-            newStore.show();
+        // Una tienda autónoma escoge su propia ubicación: se indexa donde quedó
+        storesAt.add(newStore.getLocation(), newStore, storesPlaced++);
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).storePlaced(newStore);
         }
         lastOperationOk = true;
     }
@@ -247,17 +172,15 @@ public class SilkRoad {
         }
 
         // Verificar que no haya otro robot en la misma ubicación inicial
-        for (int i = 0; i < robots.size(); i++) {
-            Robot robot = (Robot) robots.get(i);
-            if (robot.getInitialLocation() == location) {
-                lastOperationOk = false;
-                showError("Ya existe un robot en la ubicación: " + location);
-                return;
-            }
+        if (robotByStart[location] != null) {
+            lastOperationOk = false;
+            showError("Ya existe un robot en la ubicación: " + location);
+            return;
         }
 
-        int x = calculateSpiralX(location);
-        int y = calculateSpiralY(location);
+        // La posición en el canvas la asigna la vista (robotPlaced)
+        int x = 0;
+        int y = 0;
 
         Robot newRobot;
         switch (type.toLowerCase()) {
@@ -275,9 +198,12 @@ public class SilkRoad {
         }
 
         robots.add(newRobot);
-        robotProfitHistory.put(new Integer(location), new ArrayList());
-        if (visible) {
-            newRobot.show();
+        robotByStart[location] = newRobot;
+        // El orden de llegada sirve también de identificador en el historial
+        robotIdByStart[location] = (int) robotsPlaced;
+        robotsAt.add(location, newRobot, robotsPlaced++);
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).robotPlaced(newRobot);
         }
         lastOperationOk = true;
     }
@@ -287,14 +213,7 @@ public class SilkRoad {
      * Ahora verifica restricciones según el tipo de robot
      */
     public void moveRobot(int location, int meters) {
-        Robot robotToMove = null;
-        for (int i = 0; i < robots.size(); i++) {
-            Robot robot = (Robot) robots.get(i);
-            if (robot.getLocation() == location) {
-                robotToMove = robot;
-                break;
-            }
-        }
+        Robot robotToMove = robotsAt.first(location);
 
         if (robotToMove == null) {
             lastOperationOk = false;
@@ -325,55 +244,164 @@ public class SilkRoad {
         }
 
         robotToMove.setLocation(newLocation);
-        int newX = calculateSpiralX(newLocation);
-        int newY = calculateSpiralY(newLocation);
-        robotToMove.moveTo(newX, newY);
+        robotsAt.move(location, newLocation, robotToMove);
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).robotMoved(robotToMove, location);
+        }
 
-        int profit = interactWithStore(robotToMove, newLocation, Math.abs(meters));
+        Store robbed = interactWithStore(robotToMove, newLocation, Math.abs(meters));
 
-        Integer key = new Integer(robotToMove.getInitialLocation());
-        ArrayList history = (ArrayList) robotProfitHistory.get(key);
-        if (history == null) {
-            history = new ArrayList();
-            robotProfitHistory.put(key, history);
+        for (int i = 0; i < observers.size(); i++) {
+            if (robbed != null) {
+                observers.get(i).storeChanged(robbed);
+            }
+            observers.get(i).profitChanged(totalProfit);
         }
-        history.add(new Integer(profit));
 
-        if (progressBar != null && visible) {
-            updateProgressBar();
+        lastOperationOk = true;
+    }
+
+    /**
+     * NUEVO: Aplica un lote de movimientos como una sola operación: se validan todos antes
+     * de mover a nadie (si alguno no es válido no se aplica ninguno) y los observadores
+     * reciben un solo aviso, así la vista dibuja una vez por lote y no una por robot.
+     *
+     * Los movimientos son simultáneos: cada ubicación de origen se busca en el estado de
+     * antes del lote, y si se repite se toma el siguiente robot de esa ubicación en orden
+     * de llegada. Cuando varios robots terminan en la misma tienda, la roban en el orden
+     * del lote, cada uno con lo que dejó el anterior (igual que moveRobot uno por uno).
+     * @param fromLocations Ubicación actual de cada robot a mover
+     * @param meters Metros que se mueve cada uno (negativo = hacia atrás)
+     */
+    public void applyMoves(int[] fromLocations, int[] meters) {
+        if (fromLocations == null || meters == null || fromLocations.length != meters.length) {
+            lastOperationOk = false;
+            showError("El lote de movimientos debe tener una distancia por robot");
+            return;
+        }
+        int moves = fromLocations.length;
+        Robot[] moved = new Robot[moves];
+        for (int i = 0; i < moves; i++) {
+            int location = fromLocations[i];
+            Robot robot = null;
+            if (location >= 0 && location < length) {
+                int index = takenAt[location]++;
+                robot = index < robotsAt.count(location) ? robotsAt.get(location, index) : null;
+            }
+            int newLocation = location + meters[i];
+            String error = null;
+            if (robot == null) {
+                error = "No hay robot en ubicación " + location;
+            } else if (!robot.canMoveTo(newLocation)) {
+                error = "Robot tipo " + robot.getTipo() + " no puede moverse a ubicación " + newLocation;
+            } else if (newLocation < 0 || newLocation >= length) {
+                error = "Fuera de límites [0-" + (length - 1) + "]";
+            }
+            if (error != null) {
+                clearTaken(fromLocations, i + 1);
+                lastOperationOk = false;
+                showError("Movimiento " + i + " del lote: " + error);
+                return;
+            }
+            moved[i] = robot;
         }
+        clearTaken(fromLocations, moves);
 
+        for (int i = 0; i < moves; i++) {
+            moved[i].setLocation(fromLocations[i] + meters[i]);
+            robotsAt.move(fromLocations[i], fromLocations[i] + meters[i], moved[i]);
+        }
+        Store[] robbed = new Store[moves];
+        for (int i = 0; i < moves; i++) {
+            robbed[i] = interactWithStore(moved[i], moved[i].getLocation(), Math.abs(meters[i]));
+        }
+
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).robotsMoved(moved, fromLocations, robbed, totalProfit);
+        }
         lastOperationOk = true;
     }
 
+    /**
+     * Deja en cero los contadores de takenAt que usaron los primeros count movimientos del lote
+     */
+    private void clearTaken(int[] fromLocations, int count) {
+        for (int i = 0; i < count; i++) {
+            if (fromLocations[i] >= 0 && fromLocations[i] < length) {
+                takenAt[fromLocations[i]] = 0;
+            }
+        }
+    }
+
+    /**
+     * Agrega la ganancia de un movimiento al historial del robot
+     */
+    private void recordProfit(Robot robot, int profit) {
+        profitLog.append(robotIdByStart[robot.getInitialLocation()], currentDay, profit);
+    }
+
+    /**
+     * NUEVO: Ganancia de cada movimiento de los robots que están en la ruta, sin recorrer
+     * objetos: sale de una pasada por el historial en columnas
+     * @return Una fila por robot, ordenadas por ubicación inicial: la ubicación inicial y
+     *         luego la ganancia de cada uno de sus movimientos, en orden
+     */
+    public int[][] profitPerMove() {
+        int[] ids = new int[robots.size()];
+        int[] starts = new int[robots.size()];
+        int count = 0;
+        // Recorrer las ubicaciones iniciales ya entrega las filas ordenadas
+        for (int location = 0; location < robotByStart.length && count < ids.length; location++) {
+            if (robotByStart[location] != null) {
+                ids[count] = robotIdByStart[location];
+                starts[count] = location;
+                count++;
+            }
+        }
+        return profitLog.profitsPerMove(ids, starts);
+    }
+
+    /**
+     * NUEVO: Historial completo de movimientos (también de robots ya quitados)
+     * @return Historial en columnas: robot, día, movimiento y ganancia
+     */
+    public ProfitLog getProfitLog() {
+        return profitLog;
+    }
+
     /**
      * MODIFICADO: Interacción entre robot y tienda
-     * Ahora considera tipos especiales de robots y tiendas
+     * Ahora considera tipos especiales de robots y tiendas, y anota la ganancia en el historial
+     * @return Tienda que el robot robó, o null si no robó ninguna
      */
-    private int interactWithStore(Robot robot, int location, int distance) {
+    private Store interactWithStore(Robot robot, int location, int distance) {
         int movementCost = distance;
         int gained = 0;
+        Store robbed = null;
 
-        for (int i = 0; i < stores.size(); i++) {
-            Store store = (Store) stores.get(i);
-            if (store.getLocation() == location && !store.isEmpty()) {
-                // NUEVO: Verificar si la tienda permite ser robada por este robot
-                if (!store.canBeRobbedBy(robot.getGanancia())) {
-                    // Tienda Fighter rechaza al robot pobre
-                    if (visible) {
-                        System.out.println("¡Tienda Fighter rechaza a robot! " +
-                                "Robot tiene " + robot.getGanancia() +
-                                " pero tienda tiene " + store.getTenges());
-                    }
-                    break;
+        Store store = null;
+        for (int i = 0; i < storesAt.count(location) && store == null; i++) {
+            if (!storesAt.get(location, i).isEmpty()) {
+                store = storesAt.get(location, i);
+            }
+        }
+        if (store != null) {
+            // NUEVO: Verificar si la tienda permite ser robada por este robot
+            if (!store.canBeRobbedBy(robot.getGanancia())) {
+                // Tienda Fighter rechaza al robot pobre
+                if (visible) {
+                    System.out.println("¡Tienda Fighter rechaza a robot! " +
+                            "Robot tiene " + robot.getGanancia() +
+                            " pero tienda tiene " + store.getTenges());
                 }
-
+            } else {
                 // NUEVO: Calcular cuánto tomar según el tipo de robot
                 int available = store.getTenges();
                 int toTake = robot.calculateTakeAmount(available);
 
                 gained = store.reduceTenges(toTake);
                 robot.addGanancia(gained);
+                robbed = store;
 
                 // NUEVO: Calcular costo de movimiento según tipo de tienda
                 movementCost = store.getMovementCost(distance);
@@ -381,13 +409,13 @@ public class SilkRoad {
                 if (store.getTenges() == 0) {
                     store.marcarDesocupada();
                 }
-                break;
             }
         }
 
         int netProfit = gained - movementCost;
         totalProfit += netProfit;
-        return netProfit;
+        recordProfit(robot, netProfit);
+        return robbed;
     }
 
     // Métodos auxiliares que faltan
@@ -397,42 +425,63 @@ public class SilkRoad {
         }
     }
 
-    private void removeStore(int location) {
-        for (int i = 0; i < stores.size(); i++) {
-            Store store = (Store) stores.get(i);
-            if (store.getLocation() == location) {
-                stores.remove(i);
-                break;
-            }
+    /**
+     * NUEVO: Quita la primera tienda de una ubicación (días tipo 4 de la maratón)
+     * @param location Ubicación de la tienda a quitar
+     */
+    public void removeStore(int location) {
+        if (detachStore(location)) {
+            lastOperationOk = true;
+            return;
         }
+        lastOperationOk = false;
+        showError("No hay tienda en la ubicación " + location);
     }
 
-    private void updateProgressBar() {
-        if (progressBar != null) {
-            int progress = (int) ((double) totalProfit / 1000 * 100); // Ajusta según tu lógica
-            progressBar.setCurrentValue(progress);
+    /**
+     * Quita la primera tienda de una ubicación, si hay, y avisa a los observadores
+     * @return true si había una tienda
+     */
+    private boolean detachStore(int location) {
+        Store store = storesAt.first(location);
+        if (store == null) {
+            return false;
         }
+        stores.remove(store);
+        storesAt.remove(location, store);
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).storeRemoved(store);
+        }
+        return true;
     }
-        
-        /**
+
+    /**
+     * NUEVO: Quita el primer robot que está en una ubicación (días tipo 3 de la maratón)
+     * @param location Ubicación actual del robot a quitar
+     */
+    public void removeRobot(int location) {
+        Robot robot = robotsAt.first(location);
+        if (robot != null) {
+            robots.remove(robot);
+            robotsAt.remove(location, robot);
+            robotByStart[robot.getInitialLocation()] = null;
+            for (int i = 0; i < observers.size(); i++) {
+                observers.get(i).robotRemoved(robot);
+            }
+            lastOperationOk = true;
+            return;
+        }
+        lastOperationOk = false;
+        showError("No hay robot en la ubicación " + location);
+    }
+
+    /**
      * Hace visible la simulación completa (canvas y barra de progreso)
      */
     public void makeVisible() {
         this.visible = true;
-        if (canvas != null) {
-            canvas.isVisible();
-        }
-        if (progressBar != null) {
-            progressBar.makeVisible();
-        }
-        // Hacer visibles todos los robots y tiendas
-        for (int i = 0; i < robots.size(); i++) {
-            Robot robot = (Robot) robots.get(i);
-            robot.show();
-        }
-        for (int i = 0; i < stores.size(); i++) {
-            Store store = (Store) stores.get(i);
-            store.show();
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).madeVisible(this);
         }
     }
     
@@ -441,10 +490,12 @@ public class SilkRoad {
      */
     public void resupplyStores() {
         for (int i = 0; i < stores.size(); i++) {
-            Store store = (Store) stores.get(i);
+            Store store = stores.get(i);
             // Aquí asumiendo que Store tiene un método para reabastecer
             // Si no existe, puedes crear una nueva tienda con los mismos datos
-            System.out.println("Reabasteciendo tienda en ubicación " + store.getLocation());
+            if (visible) {
+                System.out.println("Reabasteciendo tienda en ubicación " + store.getLocation());
+            }
             // store.resupply();  // Si este método existe en Store
         }
     }
@@ -453,48 +504,85 @@ public class SilkRoad {
      * Retorna todos los robots a sus ubicaciones iniciales
      */
     public void returnRobots() {
+        currentDay++;
         for (int i = 0; i < robots.size(); i++) {
-            Robot robot = (Robot) robots.get(i);
+            Robot robot = robots.get(i);
             int initialLocation = robot.getInitialLocation();
             int currentLocation = robot.getLocation();
             
             if (currentLocation != initialLocation) {
-                System.out.println("Retornando robot de ubicación " + currentLocation + 
-                                 " a ubicación inicial " + initialLocation);
+                if (visible) {
+                    System.out.println("Retornando robot de ubicación " + currentLocation + 
+                                     " a ubicación inicial " + initialLocation);
+                }
                 
-                int x = calculateSpiralX(initialLocation);
-                int y = calculateSpiralY(initialLocation);
                 robot.setLocation(initialLocation);
-                robot.moveTo(x, y);
+                robotsAt.move(currentLocation, initialLocation, robot);
+                for (int j = 0; j < observers.size(); j++) {
+                    observers.get(j).robotMoved(robot, currentLocation);
+                }
             }
         }
     }
     
+    /**
+     * Máxima ganancia que se puede obtener desde el estado actual moviendo cada robot
+     * a lo sumo una vez, respetando los tipos de robots y tiendas
+     * @return Ganancia máxima posible
+     */
+    public int maxProfit() {
+        return SilkRoadContest.calculateMaxProfit(robots, stores);
+    }
+
+    /**
+     * NUEVO: Robots en la ruta, en orden de llegada
+     * @return Lista de solo lectura
+     */
+    public List<Robot> getRobots() {
+        return Collections.unmodifiableList(robots);
+    }
+
+    /**
+     * NUEVO: Tiendas en la ruta, en orden de llegada
+     * @return Lista de solo lectura
+     */
+    public List<Store> getStores() {
+        return Collections.unmodifiableList(stores);
+    }
+
+    /**
+     * NUEVO: Ganancia acumulada de todos los movimientos
+     * @return Ganancia total
+     */
+    public int profit() {
+        return totalProfit;
+    }
+
+    /**
+     * NUEVO: Indica si la última operación se pudo hacer
+     * @return true si la última operación fue exitosa
+     */
+    public boolean ok() {
+        return lastOperationOk;
+    }
+
     /**
      * Finaliza la simulación (limpia recursos)
      */
     public void finish() {
-        System.out.println("\nFinalizando simulación...");
-        System.out.println("Ganancia total obtenida: " + totalProfit);
-        
-        // Hacer invisibles todos los elementos
-        for (int i = 0; i < robots.size(); i++) {
-            Robot robot = (Robot) robots.get(i);
-            robot.hide();
-        }
-        for (int i = 0; i < stores.size(); i++) {
-            Store store = (Store) stores.get(i);
-            store.hide();
+        if (visible) {
+            System.out.println("\nFinalizando simulación...");
+            System.out.println("Ganancia total obtenida: " + totalProfit);
         }
         
-        if (progressBar != null) {
-            progressBar.makeInvisible();
+        // La vista oculta robots, tiendas y barra de progreso
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).finished(this);
         }
         
+        if (visible) {
+            System.out.println("Simulación finalizada.");
+        }
         this.visible = false;
-        System.out.println("Simulación finalizada.");
     }
-
-    
-    
 }
@@ -0,0 +1,113 @@
+package silkRoad;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Benchmarks JMH de las operaciones de SilkRoad que se repiten en cada día simulado.
+ * Miden el motor sin vista (SilkRoad(length, true)), así que no necesitan un display.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SilkRoadBenchmark {
+
+    // Longitud de la ruta y número de robots/tiendas colocados antes de medir
+    @Param({"100", "1000"})
+    public int length;
+
+    @Param({"10", "50"})
+    public int entities;
+
+    private SilkRoad silkRoad;
+    private int robotLocation;
+    private int step;
+    private boolean forward;
+    private int storeLocation;
+    // Lote de ida (todos los robots a su tienda vecina) y de vuelta
+    private int[] outward;
+    private int[] homeward;
+    private int[] outMeters;
+    private int[] homeMeters;
+    private boolean batchOut;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        // Robot y tienda alternados sin dar la vuelta: 2 * entities * spacing <= length
+        int spacing = length / (2 * entities);
+        if (spacing == 0) {
+            throw new IllegalArgumentException("No caben " + entities + " robots y tiendas en una ruta de " + length);
+        }
+        silkRoad = new SilkRoad(length, true);
+        outward = new int[entities];
+        homeward = new int[entities];
+        outMeters = new int[entities];
+        homeMeters = new int[entities];
+        for (int i = 0; i < entities; i++) {
+            outward[i] = 2 * i * spacing;
+            homeward[i] = outward[i] + spacing;
+            outMeters[i] = spacing;
+            homeMeters[i] = -spacing;
+            silkRoad.placeRobot(outward[i]);
+            check("placeRobot");
+            silkRoad.placeStore(homeward[i], 50);
+            check("placeStore");
+        }
+        batchOut = true;
+        robotLocation = 0;
+        step = spacing;
+        forward = true;
+        storeLocation = spacing;
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        silkRoad.finish();
+    }
+
+    @Benchmark
+    public void moveRobot() {
+        // Ida y vuelta entre el robot y su tienda vecina para que el estado no derive
+        int meters = forward ? step : -step;
+        silkRoad.moveRobot(robotLocation, meters);
+        robotLocation += meters;
+        forward = !forward;
+    }
+
+    @Benchmark
+    public void moveAllOneByOne() {
+        // Un día completo con moveRobot: un aviso (y un dibujo en la vista) por robot
+        int[] from = batchOut ? outward : homeward;
+        int[] meters = batchOut ? outMeters : homeMeters;
+        for (int i = 0; i < from.length; i++) {
+            silkRoad.moveRobot(from[i], meters[i]);
+            check("moveRobot");
+        }
+        batchOut = !batchOut;
+    }
+
+    @Benchmark
+    public void moveAllInOneBatch() {
+        // El mismo día con applyMoves: un solo aviso para todo el lote
+        silkRoad.applyMoves(batchOut ? outward : homeward, batchOut ? outMeters : homeMeters);
+        check("applyMoves");
+        batchOut = !batchOut;
+    }
+
+    @Benchmark
+    public void placeStore() {
+        silkRoad.placeStore(storeLocation, 50);
+    }
+
+    /**
+     * Corta el benchmark si la operación anterior falló, para no medir lotes rechazados
+     */
+    private void check(String operation) {
+        if (!silkRoad.ok()) {
+            throw new IllegalStateException("Falló " + operation + " con length=" + length + ", entities=" + entities);
+        }
+    }
+}
@@ -1,7 +1,19 @@
 package silkRoad;
 
 import silkRoad.robots.*;
+import silkRoad.stores.*;
+import silkRoad.contest.*;
 import java.util.*;
+import java.util.function.Consumer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,14 +29,25 @@ import org.junit.jupiter.api.Test;
  */
 public class SilkRoadContest {
 
+    // Motor por defecto: elige el motor exacto más rápido que cabe en memoria
+    private static final SolverPlanner DEFAULT_SOLVER = new SolverPlanner();
+    // Días entre puntos de control al resolver archivos desde la línea de comandos
+    private static final int DEFAULT_CHECKPOINT_INTERVAL = 100000;
+
     /**
      * Resuelve el problema de la maratón: calcular la máxima utilidad diaria
      * 
      * Formato de entrada days[i]:
-     * - days[i][0] = tipo (1 = robot, 2 = tienda)
+     * - days[i][0] = tipo (1 = robot, 2 = tienda, 3 = quitar robot, 4 = quitar tienda)
      * - days[i][1] = ubicación (location)
      * - days[i][2] = tenges (solo si tipo == 2)
      * 
+     * Los tipos 3 y 4 quitan el primer robot o la primera tienda que llegó a esa ubicación
+     * (si no hay ninguno el día no cambia nada).
+     * 
+     * Usa el motor incremental: cada día solo agrega o quita un robot o una tienda, así que
+     * la asignación del día anterior se repara con un único paso de aumento.
+     * 
      * @param days Matriz con datos de cada día
      * @return Array con la máxima utilidad obtenible para cada día
      */
@@ -32,25 +55,297 @@ public class SilkRoadContest {
         if (days == null || days.length == 0) {
             return new int[0];
         }
+        return solveCase(ContestDays.of(days));
+    }
+
+    /**
+     * Resuelve el problema de la maratón consultando un caché de prefijos: un caso ya
+     * resuelto es una búsqueda y uno que lo extiende retoma desde el estado guardado
+     * @param days Matriz con datos de cada día (formato ICPC)
+     * @param cache Caché compartido entre llamadas
+     * @return Array con la máxima utilidad obtenible para cada día
+     */
+    public static int[] solve(int[][] days, ContestCache cache) {
+        if (days == null || days.length == 0) {
+            return new int[0];
+        }
+        return cache.solve(ContestDays.of(days));
+    }
+
+    /**
+     * Resuelve el problema de la maratón con los días en columnas primitivas
+     * @param days Días del caso (tipo, ubicación, tenges)
+     * @return Array con la máxima utilidad obtenible para cada día
+     */
+    public static int[] solveCase(ContestDays days) {
+        int numDays = days.size();
+        int[] maxProfits = new int[numDays];
+        IncrementalSolver solver = new IncrementalSolver();
+        
+        for (int day = 0; day < numDays; day++) {
+            solver.add(days.getType(day), days.getLocation(day), days.getTenges(day));
+            maxProfits[day] = solver.getMaxProfit();
+        }
+        
+        return maxProfits;
+    }
+
+    /**
+     * Lee un caso en formato ICPC, lo resuelve y escribe una respuesta por línea
+     * @param in Entrada con el caso
+     * @param out Salida para las respuestas
+     * @throws IOException si falla la lectura o la escritura
+     */
+    public static void solve(InputStream in, OutputStream out) throws IOException {
+        ContestWriter writer = new ContestWriter(out);
+        writer.writeLines(solveCase(new ContestReader(in).readDays()));
+        writer.flush();
+    }
+
+    /**
+     * Resuelve un caso de archivo a archivo guardando puntos de control: si existe uno, se
+     * retoma desde él (la salida se corta donde quedó y la entrada se lee desde su posición),
+     * así que reiniciar no repite los días ya procesados. Antes de retomar se compara la huella
+     * de la entrada y de la salida con la guardada (ver ContestCheckpoint), y si no coinciden
+     * no se retoma. La entrada se mapea por ventanas, así que puede pasar de 2 GB. Al terminar
+     * se borra el punto de control.
+     * @param input Archivo con el caso en formato ICPC
+     * @param output Archivo donde se escriben las respuestas
+     * @param checkpoint Archivo del punto de control
+     * @param interval Días entre puntos de control, mayor que 0
+     * @throws IOException si falla la lectura, la escritura, o el punto de control está dañado
+     *         o no corresponde a la entrada o a la salida
+     * @throws IllegalArgumentException si interval no es positivo
+     */
+    public static void solveFile(Path input, Path output, Path checkpoint, int interval) throws IOException {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("El intervalo de puntos de control debe ser positivo: " + interval);
+        }
+        ContestCheckpoint saved = ContestCheckpoint.load(checkpoint);
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.CREATE,
+                                                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ContestReader reader = new ContestReader(in, 0);
+            long numDays = reader.readDayCount();
+            long day = 0;
+            IncrementalSolver solver = new IncrementalSolver();
+            if (saved != null) {
+                saved.verify(in, out);
+                day = saved.getDay();
+                solver = saved.getSolver();
+                reader = new ContestReader(in, saved.getInputOffset());
+            }
+            // Lo escrito después del último punto de control se vuelve a calcular
+            out.truncate(saved == null ? 0 : saved.getOutputOffset());
+            out.position(out.size());
+            ContestWriter writer = new ContestWriter(Channels.newOutputStream(out));
+
+            for (; day < numDays; day++) {
+                int type = reader.nextInt();
+                int location = reader.nextInt();
+                solver.add(type, location, type == ContestDays.STORE ? reader.nextInt() : 0);
+                writer.writeLine(solver.getMaxProfit());
+                if ((day + 1) % interval == 0 && day + 1 < numDays) {
+                    writer.flush();
+                    out.force(false);
+                    ContestCheckpoint.capture(day + 1, in, reader.position(), out, out.position(), solver).save(checkpoint);
+                }
+            }
+            writer.flush();
+            out.force(false);
+        }
+        Files.deleteIfExists(checkpoint);
+    }
+
+    /**
+     * Punto de entrada de línea de comandos: lee el caso del archivo indicado
+     * (mapeado en memoria) o de la entrada estándar, y escribe las respuestas.
+     * Con archivo de salida y de punto de control, resuelve con solveFile y retoma
+     * desde el último punto de control si el proceso anterior se interrumpió.
+     * @param args [entrada [salida punto-de-control]]
+     * @throws IOException si falla la lectura o la escritura
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3) {
+            solveFile(Paths.get(args[0]), Paths.get(args[1]), Paths.get(args[2]), DEFAULT_CHECKPOINT_INTERVAL);
+        } else if (args.length > 0) {
+            ContestWriter writer = new ContestWriter(System.out);
+            writer.writeLines(solveCase(ContestReader.readFile(Paths.get(args[0]))));
+            writer.flush();
+        } else {
+            solve(System.in, System.out);
+        }
+    }
+
+    /**
+     * Resuelve muchos casos independientes en paralelo, usando todos los núcleos
+     * @param cases Casos a resolver, cada uno en formato days
+     * @return Resultado de solve para cada caso, en el orden de entrada
+     */
+    public static int[][] solveAll(int[][][] cases) {
+        return solveAll(cases, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Resuelve muchos casos independientes en paralelo con un máximo de hilos
+     * @param cases Casos a resolver, cada uno en formato days
+     * @param parallelism Máximo número de hilos a usar
+     * @return Resultado de solve para cada caso, en el orden de entrada
+     */
+    public static int[][] solveAll(int[][][] cases, int parallelism) {
+        if (cases == null) {
+            return new int[0][];
+        }
+        BatchSolver batch = new BatchSolver(parallelism, SilkRoadContest::solve);
+        try {
+            return batch.solveAll(cases);
+        } finally {
+            batch.shutdown();
+        }
+    }
+
+    /**
+     * Variante streaming: consume los casos a medida que hay hilos libres y entrega
+     * cada resultado en el orden de entrada, sin cargar todos los casos en memoria
+     * @param cases Casos a resolver
+     * @param parallelism Máximo número de hilos a usar
+     * @param results Recibe el resultado de cada caso
+     */
+    public static void solveAll(Iterator<int[][]> cases, int parallelism, Consumer<int[]> results) {
+        BatchSolver batch = new BatchSolver(parallelism, SilkRoadContest::solve);
+        try {
+            batch.solveAll(cases, results);
+        } finally {
+            batch.shutdown();
+        }
+    }
+
+    /**
+     * Resuelve los días de un solo caso grande en paralelo, usando todos los núcleos
+     * @param days Matriz con datos de cada día (formato ICPC)
+     * @return Array con la máxima utilidad obtenible para cada día, igual que solve
+     */
+    public static int[] solveParallel(int[][] days) {
+        return solveParallel(days, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Resuelve los días de un solo caso en paralelo: cada hilo arma en bloque el estado
+     * de su prefijo y avanza de forma incremental (ver ParallelDaySolver)
+     * @param days Matriz con datos de cada día (formato ICPC)
+     * @param parallelism Máximo número de hilos a usar
+     * @return Array con la máxima utilidad obtenible para cada día, igual que solve
+     */
+    public static int[] solveParallel(int[][] days, int parallelism) {
+        if (days == null) {
+            return new int[0];
+        }
+        ParallelDaySolver solver = new ParallelDaySolver(parallelism);
+        try {
+            return solver.solve(ContestDays.of(days));
+        } finally {
+            solver.shutdown();
+        }
+    }
+
+    /**
+     * Resuelve el problema de la maratón con el barrido sobre la línea hecho incremental
+     * (ver IncrementalLineSolver): cada día repara el flujo del día anterior con un camino
+     * de aumento, sin construir la matriz de ganancias. Cuesta O(log n) más O(log n) por
+     * tramo cuyo flujo pasa por 0, que en el peor caso son O(n) por día, así que no cubre
+     * las restricciones completas de la maratón
+     * @param days Matriz con datos de cada día (formato ICPC)
+     * @return Array con la máxima utilidad obtenible para cada día
+     */
+    public static int[] solveOnLine(int[][] days) {
+        if (days == null || days.length == 0) {
+            return new int[0];
+        }
+        return new IncrementalLineSolver(ContestDays.of(days)).solve();
+    }
+
+    /**
+     * Modo "anytime" para usos interactivos: responde dentro del tiempo indicado con la mejor
+     * asignación encontrada para la ruta que queda después de todos los días, y reporta la
+     * brecha probada hasta el óptimo
+     * @param days Matriz con datos de cada día (formato ICPC)
+     * @param timeBudgetNanos Tiempo disponible en nanosegundos
+     * @return Mejor asignación encontrada, con su ganancia y su cota superior
+     */
+    public static AnytimeAssignment solveAnytime(int[][] days, long timeBudgetNanos) {
+        RoadEntities entities = new RoadEntities(days == null ? 0 : days.length);
+        for (int day = 0; days != null && day < days.length; day++) {
+            entities.add(days[day][0], days[day][1], days[day][0] == ContestDays.STORE ? days[day][2] : 0);
+        }
+        return AnytimeAssignment.solve(entities, timeBudgetNanos);
+    }
+
+    /**
+     * Prepara consultas "qué pasaría si" sobre la ruta que queda después de todos los días:
+     * cuánto sube la ganancia máxima al abrir una tienda o agregar un robot en una ubicación,
+     * en O(log R) por consulta en vez de volver a resolver
+     * @param days Matriz con datos de cada día (formato ICPC)
+     * @return Consultas de valor marginal sobre el estado resuelto
+     */
+    public static MarginalValues marginalValues(int[][] days) {
+        IncrementalSolver solver = new IncrementalSolver();
+        for (int day = 0; days != null && day < days.length; day++) {
+            solver.add(days[day][0], days[day][1], days[day][0] == ContestDays.STORE ? days[day][2] : 0);
+        }
+        return new MarginalValues(solver);
+    }
+
+    /**
+     * Variante con rutas de varias paradas: cada robot puede robar varias tiendas en el día
+     * recorriéndolas a lo largo de la línea (ver RoutePlan)
+     * @param days Matriz con datos de cada día (formato ICPC)
+     * @return Array con la máxima utilidad obtenible para cada día
+     */
+    public static int[] solveWithRoutes(int[][] days) {
+        if (days == null || days.length == 0) {
+            return new int[0];
+        }
+        int[] maxProfits = new int[days.length];
+        RoadEntities entities = new RoadEntities(days.length);
+        for (int day = 0; day < days.length; day++) {
+            entities.add(days[day][0], days[day][1], days[day][0] == ContestDays.STORE ? days[day][2] : 0);
+            maxProfits[day] = RoutePlan.build(entities).getTotalProfit();
+        }
+        return maxProfits;
+    }
+
+    /**
+     * Resuelve el problema de la maratón dejando que el planificador elija el motor de cada día
+     * dentro de un presupuesto de memoria
+     * @param days Matriz con datos de cada día (formato ICPC)
+     * @param heapBudget Bytes que puede reservar el motor de cada día
+     * @return Array con la máxima utilidad obtenible para cada día
+     */
+    public static int[] solveWithinBudget(int[][] days, long heapBudget) {
+        return solve(days, new SolverPlanner(heapBudget));
+    }
+
+    /**
+     * Resuelve el problema de la maratón usando un motor de asignación específico
+     * @param days Matriz con datos de cada día (formato ICPC)
+     * @param solver Motor que resuelve la asignación de cada día
+     * @return Array con la máxima utilidad obtenible para cada día
+     */
+    public static int[] solve(int[][] days, AssignmentSolver solver) {
+        if (days == null || days.length == 0) {
+            return new int[0];
+        }
         
         int numDays = days.length;
         int[] maxProfits = new int[numDays];
-        
-        ArrayList<Integer> robotLocations = new ArrayList<Integer>();
-        ArrayList<int[]> storeData = new ArrayList<int[]>();
+        RoadEntities entities = new RoadEntities(numDays);
         
         for (int day = 0; day < numDays; day++) {
             int type = days[day][0];
             int location = days[day][1];
             
-            if (type == 1) {
-                robotLocations.add(Integer.valueOf(location));
-            } else if (type == 2) {
-                int tenges = days[day][2];
-                storeData.add(new int[]{location, tenges});
-            }
-            
-            maxProfits[day] = calculateMaxProfit(robotLocations, storeData);
+            entities.add(type, location, type == ContestDays.STORE ? days[day][2] : 0);
+            maxProfits[day] = calculateMaxProfit(entities, solver);
         }
         
         return maxProfits;
@@ -58,76 +353,29 @@ public class SilkRoadContest {
     
     /**
      * Calcula la máxima ganancia posible dado un conjunto de robots y tiendas
-     * @param robotLocations Lista de ubicaciones de robots
-     * @param storeData Lista de tiendas [location, tenges]
+     * @param entities Robots y tiendas en la ruta
+     * @param solver Motor que resuelve la asignación
      * @return Máxima ganancia obtenible
      */
-    private static int calculateMaxProfit(ArrayList<Integer> robotLocations, ArrayList<int[]> storeData) {
-        if (robotLocations.isEmpty() || storeData.isEmpty()) {
+    static int calculateMaxProfit(RoadEntities entities, AssignmentSolver solver) {
+        if (entities.getRobotCount() == 0 || entities.getStoreCount() == 0) {
             return 0;
         }
-        
-        int numRobots = robotLocations.size();
-        int numStores = storeData.size();
-        
-        int[][] profitMatrix = new int[numRobots][numStores];
-        
-        for (int r = 0; r < numRobots; r++) {
-            int robotLoc = robotLocations.get(r).intValue();
-            for (int s = 0; s < numStores; s++) {
-                int storeLoc = storeData.get(s)[0];
-                int storeTenges = storeData.get(s)[1];
-                int distance = Math.abs(robotLoc - storeLoc);
-                int profit = storeTenges - distance;
-                profitMatrix[r][s] = Math.max(0, profit);
-            }
-        }
-        
-        return findOptimalAssignment(profitMatrix);
+        return solver.maxProfit(entities);
     }
-    
+
     /**
-     * Encuentra la asignación óptima de robots a tiendas usando DP con bitmask
-     * @param profitMatrix Matriz de ganancias [robot][store]
-     * @return Máxima ganancia total
+     * Calcula la máxima ganancia con robots y tiendas tipados, aplicando las mismas reglas
+     * que SilkRoad.moveRobot (Neverback, Tender, Fighter, Speed)
+     * @param robots Robots en su ubicación actual
+     * @param stores Tiendas con sus tenges actuales
+     * @return Máxima ganancia obtenible con un movimiento por robot
      */
-    private static int findOptimalAssignment(int[][] profitMatrix) {
-        int numRobots = profitMatrix.length;
-        int numStores = profitMatrix[0].length;
-        
-        int maxAssignments = Math.min(numRobots, numStores);
-        int maxMask = 1 << numStores;
-        int[][] dp = new int[numRobots + 1][maxMask];
-        
-        for (int i = 0; i <= numRobots; i++) {
-            for (int mask = 0; mask < maxMask; mask++) {
-                dp[i][mask] = -1;
-            }
-        }
-        dp[0][0] = 0;
-        
-        for (int r = 0; r < numRobots; r++) {
-            for (int mask = 0; mask < maxMask; mask++) {
-                if (dp[r][mask] < 0) continue;
-                
-                dp[r + 1][mask] = Math.max(dp[r + 1][mask], dp[r][mask]);
-                
-                for (int s = 0; s < numStores; s++) {
-                    if ((mask & (1 << s)) == 0) {
-                        int newMask = mask | (1 << s);
-                        int newProfit = dp[r][mask] + profitMatrix[r][s];
-                        dp[r + 1][newMask] = Math.max(dp[r + 1][newMask], newProfit);
-                    }
-                }
-            }
-        }
-        
-        int maxProfit = 0;
-        for (int mask = 0; mask < maxMask; mask++) {
-            maxProfit = Math.max(maxProfit, dp[numRobots][mask]);
+    public static int calculateMaxProfit(List<? extends Robot> robots, List<? extends Store> stores) {
+        if (robots.isEmpty() || stores.isEmpty()) {
+            return 0;
         }
-        
-        return maxProfit;
+        return new TypedProfitKernel(robots, stores).maxProfit();
     }
 
     /**
@@ -151,8 +399,7 @@ public class SilkRoadContest {
         SilkRoad simulator = new SilkRoad(10000);
         simulator.makeVisible();
         
-        ArrayList<Integer> robotLocations = new ArrayList<Integer>();
-        ArrayList<int[]> storeData = new ArrayList<int[]>();
+        RoadEntities entities = new RoadEntities(days.length);
         
         for (int day = 0; day < days.length; day++) {
             System.out.println("\n------------------------------------------------------------");
@@ -169,45 +416,64 @@ public class SilkRoadContest {
             
             if (type == 1) {
                 System.out.println("+ Agregando ROBOT en ubicación " + location);
-                robotLocations.add(Integer.valueOf(location));
+                entities.addRobot(location);
                 simulator.placeRobot(location);
             } else if (type == 2) {
                 int tenges = days[day][2];
                 System.out.println("+ Agregando TIENDA en ubicación " + location + " con " + tenges + " tenges");
-                storeData.add(new int[]{location, tenges});
+                entities.addStore(location, tenges);
                 simulator.placeStore(location, tenges);
+            } else if (type == 3) {
+                System.out.println("- Quitando ROBOT en ubicación " + location);
+                entities.removeRobotAt(location);
+                simulator.removeRobot(location);
+            } else if (type == 4) {
+                System.out.println("- Quitando TIENDA en ubicación " + location);
+                entities.removeStoreAt(location);
+                simulator.removeStore(location);
             }
             
             waitTime(slow ? 1000 : 300);
             
-            int maxProfit = calculateMaxProfit(robotLocations, storeData);
-            System.out.println("\nGanancia máxima posible: " + maxProfit);
+            // La ganancia reportada es la de la misma asignación que se anima
+            int[] assignment = DEFAULT_SOLVER.assign(entities);
+            System.out.println("\nGanancia máxima posible: " + assignmentProfit(entities, assignment)
+                               + " (motor: " + DEFAULT_SOLVER.getLastChoice() + ")");
             
-            if (!robotLocations.isEmpty() && !storeData.isEmpty()) {
-                int[][] assignment = findOptimalAssignmentDetails(robotLocations, storeData);
+            if (entities.getRobotCount() > 0 && entities.getStoreCount() > 0) {
                 System.out.println("\nMovimientos óptimos:");
+                // En modo rápido todos los robots se mueven en un solo lote (un dibujo por día)
+                int[] fromLocations = new int[assignment.length];
+                int[] batchMeters = new int[assignment.length];
+                int batchSize = 0;
                 
-                for (int i = 0; i < assignment.length; i++) {
-                    int robotIdx = assignment[i][0];
-                    int storeIdx = assignment[i][1];
+                for (int robotIdx = 0; robotIdx < assignment.length; robotIdx++) {
+                    int storeIdx = assignment[robotIdx];
                     
-                    if (storeIdx >= 0) {
-                        int robotLoc = robotLocations.get(robotIdx).intValue();
-                        int storeLoc = storeData.get(storeIdx)[0];
-                        int storeTenges = storeData.get(storeIdx)[1];
+                    if (storeIdx != AssignmentSolver.UNASSIGNED) {
+                        int robotLoc = entities.getRobotLocation(robotIdx);
+                        int storeLoc = entities.getStoreLocation(storeIdx);
                         int distance = Math.abs(storeLoc - robotLoc);
-                        int profit = storeTenges - distance;
+                        int profit = entities.getStoreTenges(storeIdx) - distance;
+                        
+                        System.out.println("  Robot en " + robotLoc + " → Tienda en " + storeLoc + 
+                                         " (distancia: " + distance + ", ganancia: " + profit + ")");
                         
-                        if (profit > 0) {
-                            System.out.println("  Robot en " + robotLoc + " → Tienda en " + storeLoc + 
-                                             " (distancia: " + distance + ", ganancia: " + profit + ")");
-                            
-                            int meters = storeLoc - robotLoc;
+                        int meters = storeLoc - robotLoc;
+                        if (slow) {
                             simulator.moveRobot(robotLoc, meters);
-                            waitTime(slow ? 1500 : 400);
+                            waitTime(1500);
+                        } else {
+                            fromLocations[batchSize] = robotLoc;
+                            batchMeters[batchSize] = meters;
+                            batchSize++;
                         }
                     }
                 }
+                if (!slow && batchSize > 0) {
+                    simulator.applyMoves(Arrays.copyOf(fromLocations, batchSize), Arrays.copyOf(batchMeters, batchSize));
+                    waitTime(400);
+                }
             }
             
             System.out.println();
@@ -223,48 +489,21 @@ public class SilkRoadContest {
     }
     
     /**
-     * Encuentra los detalles de la asignación óptima
-     * @return Matriz [robot_index, store_index]
+     * Suma la ganancia de una asignación robot → tienda
+     * @param entities Robots y tiendas en la ruta
+     * @param assignment Índice de tienda por robot, o AssignmentSolver.UNASSIGNED
+     * @return Ganancia total de la asignación
      */
-    private static int[][] findOptimalAssignmentDetails(ArrayList<Integer> robotLocations, ArrayList<int[]> storeData) {
-        int numRobots = robotLocations.size();
-        int numStores = storeData.size();
-        
-        int[][] profitMatrix = new int[numRobots][numStores];
-        for (int r = 0; r < numRobots; r++) {
-            int robotLoc = robotLocations.get(r).intValue();
-            for (int s = 0; s < numStores; s++) {
-                int storeLoc = storeData.get(s)[0];
-                int storeTenges = storeData.get(s)[1];
-                int distance = Math.abs(robotLoc - storeLoc);
-                profitMatrix[r][s] = Math.max(0, storeTenges - distance);
+    static int assignmentProfit(RoadEntities entities, int[] assignment) {
+        int total = 0;
+        for (int robot = 0; robot < assignment.length; robot++) {
+            int store = assignment[robot];
+            if (store != AssignmentSolver.UNASSIGNED) {
+                int distance = Math.abs(entities.getStoreLocation(store) - entities.getRobotLocation(robot));
+                total += Math.max(0, entities.getStoreTenges(store) - distance);
             }
         }
-        
-        boolean[] storeUsed = new boolean[numStores];
-        int[][] assignments = new int[numRobots][2];
-        
-        for (int r = 0; r < numRobots; r++) {
-            assignments[r][0] = r;
-            assignments[r][1] = -1;
-            
-            int bestStore = -1;
-            int bestProfit = 0;
-            
-            for (int s = 0; s < numStores; s++) {
-                if (!storeUsed[s] && profitMatrix[r][s] > bestProfit) {
-                    bestProfit = profitMatrix[r][s];
-                    bestStore = s;
-                }
-            }
-            
-            if (bestStore >= 0) {
-                assignments[r][1] = bestStore;
-                storeUsed[bestStore] = true;
-            }
-        }
-        
-        return assignments;
+        return total;
     }
 
     /**
@@ -0,0 +1,157 @@
+package silkRoad;
+
+import silkRoad.contest.*;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarks JMH de los caminos calientes de SilkRoadContest.
+ *
+ * Mide throughput y, con SampleTime, los percentiles de latencia (p50, p90, p99...).
+ * El método main agrega el perfilador de GC para reportar la tasa de asignación.
+ * Requiere jmh-core y jmh-generator-annprocess en el classpath, igual que los tests
+ * requieren JUnit. Los forks corren con el módulo jdk.incubator.vector para comparar el
+ * kernel SIMD de ProfitMatrix con el escalar; el kernel SIMD se mide solo si VectorRowKernel
+ * (raíz de fuentes V5-vector) se compiló en el classpath, si no ambos miden el escalar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class SilkRoadContestBenchmark {
+
+    // Número total de eventos (mitad robots, mitad tiendas)
+    @Param({"16", "256", "2048"})
+    public int entities;
+
+    // uniform: ruta larga y pocas tiendas alcanzables; clustered: grupos densos; dense: todos alcanzan a todos
+    @Param({"uniform", "clustered", "dense"})
+    public String distribution;
+
+    private int[][] days;
+    private RoadEntities road;
+    private int[][] profitMatrix;
+    private AssignmentSolver hungarian;
+    private AssignmentSolver lineSweep;
+    private MarginalValues whatIf;
+    private ProfitMatrix vectorMatrix;
+    private ProfitMatrix scalarMatrix;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        days = generateDays(entities, distribution, 42);
+        road = new RoadEntities(days.length);
+        for (int i = 0; i < days.length; i++) {
+            road.add(days[i][0], days[i][1], days[i][0] == 2 ? days[i][2] : 0);
+        }
+        profitMatrix = AssignmentSolver.buildProfitMatrix(road);
+        hungarian = new HungarianSolver();
+        lineSweep = new LineSweepSolver();
+        whatIf = SilkRoadContest.marginalValues(days);
+        vectorMatrix = new ProfitMatrix(true);
+        scalarMatrix = new ProfitMatrix(false);
+    }
+
+    @Benchmark
+    public int[] solve() {
+        return SilkRoadContest.solve(days);
+    }
+
+    @Benchmark
+    public int[] solveOnLine() {
+        return SilkRoadContest.solveOnLine(days);
+    }
+
+    @Benchmark
+    public int calculateMaxProfitHungarian() {
+        return SilkRoadContest.calculateMaxProfit(road, hungarian);
+    }
+
+    @Benchmark
+    public int calculateMaxProfitLineSweep() {
+        return SilkRoadContest.calculateMaxProfit(road, lineSweep);
+    }
+
+    @Benchmark
+    public int findOptimalAssignmentHungarian() {
+        return hungarian.maxProfit(profitMatrix);
+    }
+
+    @Benchmark
+    public int[] assignHungarian() {
+        return hungarian.assign(road);
+    }
+
+    @Benchmark
+    public int[][] buildProfitMatrixNested() {
+        return AssignmentSolver.buildProfitMatrix(road);
+    }
+
+    @Benchmark
+    public ProfitMatrix fillProfitMatrixScalar() {
+        scalarMatrix.fill(road);
+        return scalarMatrix;
+    }
+
+    @Benchmark
+    public ProfitMatrix fillProfitMatrixVector() {
+        vectorMatrix.fill(road);
+        return vectorMatrix;
+    }
+
+    @Benchmark
+    public int[] sweepStoreValues() {
+        return whatIf.storeValues(10000, 50);
+    }
+
+    /**
+     * Genera un caso reproducible alternando robots y tiendas
+     * @param entities Número de días
+     * @param distribution Distribución de ubicaciones: uniform, clustered o dense
+     * @param seed Semilla del generador
+     * @return Días en formato ICPC
+     */
+    static int[][] generateDays(int entities, String distribution, long seed) {
+        Random random = new Random(seed);
+        int[][] generated = new int[entities][];
+        int clusters = Math.max(1, entities / 32);
+        for (int i = 0; i < entities; i++) {
+            int location;
+            int tenges;
+            if ("clustered".equals(distribution)) {
+                int center = random.nextInt(clusters) * 10000;
+                location = center + (int) (random.nextGaussian() * 50);
+                tenges = random.nextInt(500);
+            } else if ("dense".equals(distribution)) {
+                location = random.nextInt(entities);
+                tenges = entities + random.nextInt(entities);
+            } else {
+                location = random.nextInt(100 * entities);
+                tenges = random.nextInt(200);
+            }
+            generated[i] = i % 2 == 0 ? new int[]{1, location} : new int[]{2, location, tenges};
+        }
+        return generated;
+    }
+
+    /**
+     * Ejecuta todos los benchmarks del proyecto con el perfilador de GC (tasa de asignación)
+     * @param args No se usan
+     * @throws RunnerException si JMH no puede ejecutar los benchmarks
+     */
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include("silkRoad\\..*Benchmark")
+            .addProfiler(GCProfiler.class)
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -2,6 +2,23 @@ package silkRoad;
 
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import silkRoad.contest.ContestCache;
+import silkRoad.contest.ContestCheckpoint;
+import silkRoad.contest.ContestReader;
+import silkRoad.contest.IncrementalSolver;
 
 public class SilkRoadContestTest {
 
@@ -111,5 +128,234 @@ public class SilkRoadContestTest {
         assertArrayEquals(result1, result2, "Resultados inconsistentes entre ejecuciones");
         assertArrayEquals(result2, result3, "Resultados inconsistentes entre ejecuciones");
     }
-}
 
+    @Test
+    public void testSolveAllMantieneOrden() {
+        int[][][] cases = new int[40][][];
+        for (int i = 0; i < cases.length; i++) {
+            cases[i] = new int[][]{{1, i}, {2, i + 1, 10 + i}};
+        }
+        int[][] results = SilkRoadContest.solveAll(cases, 4);
+        assertEquals(cases.length, results.length, "Debe retornar un resultado por caso");
+        for (int i = 0; i < cases.length; i++) {
+            assertArrayEquals(SilkRoadContest.solve(cases[i]), results[i], "Caso " + i + " fuera de orden");
+        }
+
+        List<int[]> streamed = new ArrayList<int[]>();
+        SilkRoadContest.solveAll(Arrays.asList(cases).iterator(), 2, streamed::add);
+        for (int i = 0; i < cases.length; i++) {
+            assertArrayEquals(results[i], streamed.get(i), "Caso streaming " + i + " fuera de orden");
+        }
+    }
+
+    @Test
+    public void testSolveDesdeFlujoIcpc() throws Exception {
+        String input = "6\n1 20\n2 15 15\n2 40 50\n1 50\n2 80 20\n2 -70 30\n";
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        SilkRoadContest.solve(new ByteArrayInputStream(input.getBytes("US-ASCII")), output);
+
+        int[] expected = SilkRoadContest.solve(new int[][]{
+            {1, 20}, {2, 15, 15}, {2, 40, 50}, {1, 50}, {2, 80, 20}, {2, -70, 30}
+        });
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < expected.length; i++) {
+            lines.append(expected[i]).append('\n');
+        }
+        assertEquals(lines.toString(), output.toString("US-ASCII"), "Lectura/escritura ICPC falló");
+    }
+
+    @Test
+    public void testLecturaIcpcRechazaEntradaInvalida() throws Exception {
+        ContestReader limits = new ContestReader(ByteBuffer.wrap("-2147483648 2147483647".getBytes("US-ASCII")));
+        assertEquals(Integer.MIN_VALUE, limits.nextInt(), "El menor int debe leerse");
+        assertEquals(Integer.MAX_VALUE, limits.nextInt(), "El mayor int debe leerse");
+        for (String invalid : new String[]{"2\n1 x\n", "2\n1 -\n", "2\n1 12a\n", "2\n1 2147483648\n", "2\n1 -2147483649\n",
+                                          "2000000000\n1 5\n", "-3\n1 5\n"}) {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            assertThrows(IOException.class,
+                () -> SilkRoadContest.solve(new ByteArrayInputStream(invalid.getBytes("US-ASCII")), output),
+                "Debe rechazar la entrada " + invalid.trim().replace('\n', ' '));
+        }
+    }
+
+    @Test
+    public void testSolveConCacheRetomaPrefijos() {
+        Random random = new Random(11);
+        int[][] base = new int[100][];
+        for (int i = 0; i < base.length; i++) {
+            base[i] = random.nextBoolean() ? new int[]{1, random.nextInt(200)}
+                                           : new int[]{2, random.nextInt(200), random.nextInt(60)};
+        }
+        // Cada entrada se cobra por sus días y también por la copia del motor que retiene
+        ContestCache cache = new ContestCache(4000);
+        assertArrayEquals(SilkRoadContest.solve(base), SilkRoadContest.solve(base, cache), "Primera resolución falló");
+        assertTrue(cache.getCachedDays() > 1 + 2 + 4 + 8 + 16 + 32 + 64 + 100,
+            "El costo de las entradas debe incluir el motor guardado");
+        assertArrayEquals(SilkRoadContest.solve(base), SilkRoadContest.solve(base, cache), "Acierto exacto falló");
+        assertEquals(1, cache.getHits(), "El segundo llamado debe ser un acierto");
+
+        int[][] extended = Arrays.copyOf(base, 130);
+        int[][] branched = Arrays.copyOf(base, 90);
+        for (int i = 100; i < extended.length; i++) {
+            extended[i] = new int[]{2, random.nextInt(200), random.nextInt(60)};
+        }
+        branched = Arrays.copyOf(branched, 120);
+        for (int i = 90; i < branched.length; i++) {
+            branched[i] = new int[]{1, random.nextInt(200)};
+        }
+        assertArrayEquals(SilkRoadContest.solve(extended), SilkRoadContest.solve(extended, cache), "Prefijo extendido falló");
+        assertArrayEquals(SilkRoadContest.solve(branched), SilkRoadContest.solve(branched, cache), "Prefijo compartido falló");
+        assertEquals(3, cache.getHits(), "Extender y ramificar deben retomar un estado guardado");
+        assertTrue(cache.getCachedDays() <= 4000, "El caché no debe pasar de su presupuesto");
+
+        ContestCache small = new ContestCache(300);
+        SilkRoadContest.solve(extended, small);
+        assertTrue(small.getCachedDays() <= 300, "Un caso largo no debe pasar del presupuesto chico");
+    }
+
+    @Test
+    public void testSolveConEliminaciones() {
+        int[][] days = {{1, 0}, {2, 3, 10}, {1, 20}, {4, 3}, {2, 18, 5}, {3, 20}, {3, 99}};
+        int[] expected = {0, 7, 7, 0, 3, 0, 0};
+        assertArrayEquals(expected, SilkRoadContest.solve(days), "Eliminaciones con el motor incremental fallaron");
+        assertArrayEquals(expected, SilkRoadContest.solveOnLine(days), "Eliminaciones con el barrido fallaron");
+    }
+
+    @Test
+    public void testSolveParaleloCoincideConSecuencial() {
+        Random random = new Random(41);
+        for (int numDays : new int[]{0, 1, 50, 700}) {
+            int[][] days = new int[numDays][];
+            for (int day = 0; day < numDays; day++) {
+                int type = random.nextInt(10) == 0 ? 3 + random.nextInt(2) : 1 + random.nextInt(2);
+                days[day] = new int[]{type, random.nextInt(400), random.nextInt(60)};
+            }
+            int[] expected = SilkRoadContest.solve(days);
+            for (int parallelism : new int[]{1, 3, 8}) {
+                assertArrayEquals(expected, SilkRoadContest.solveParallel(days, parallelism),
+                    "Difiere con " + numDays + " días y " + parallelism + " hilos");
+            }
+        }
+    }
+
+    @Test
+    public void testFuzzDiferencialContraBitmask() {
+        ContestFuzzer.Report report = new ContestFuzzer(2025).run(150, 30);
+        assertTrue(report.passed(), "Algún motor difiere de la referencia:\n" + report);
+        assertTrue(report.getNanos("incremental") > 0, "Debe medir el tiempo de cada motor");
+    }
+
+    @Test
+    public void testFuzzReduceCasoQueFalla() {
+        ContestFuzzer fuzzer = new ContestFuzzer(3);
+        // Motor con un error sembrado: ignora las tiendas de más de 20 tenges
+        fuzzer.addBackend("defectuoso", days -> {
+            int[][] filtered = new int[days.length][];
+            for (int i = 0; i < days.length; i++) {
+                filtered[i] = days[i][0] == 2 && days[i][2] > 20 ? new int[]{2, days[i][1], 0} : days[i];
+            }
+            return SilkRoadContest.solve(filtered);
+        });
+        ContestFuzzer.Report report = fuzzer.run(60, 30);
+        assertEquals(1, report.getFailures().size(), "Solo el motor defectuoso debe fallar");
+        ContestFuzzer.Failure failure = report.getFailures().get(0);
+        assertEquals("defectuoso", failure.getBackend());
+        int[][] minimal = failure.getDays();
+        assertEquals(2, minimal.length, "La reproducción mínima es un robot y una tienda:\n" + failure);
+        assertArrayEquals(new int[]{2, 0, 21}, minimal[minimal[0][0] == 2 ? 0 : 1], "La tienda debe quedar en su valor mínimo");
+    }
+
+    @Test
+    public void testSolveFileRetomaDesdePuntoDeControl(@TempDir Path dir) throws Exception {
+        Random random = new Random(19);
+        int[][] days = new int[500][];
+        StringBuilder text = new StringBuilder().append(days.length).append('\n');
+        for (int i = 0; i < days.length; i++) {
+            int type = 1 + random.nextInt(4);
+            days[i] = type == 2 ? new int[]{2, random.nextInt(300), random.nextInt(80)}
+                                : new int[]{type, random.nextInt(300)};
+            for (int value : days[i]) {
+                text.append(value).append(' ');
+            }
+            text.append('\n');
+        }
+        int[] expected = SilkRoadContest.solve(days);
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < expected.length; i++) {
+            lines.append(expected[i]).append('\n');
+        }
+        byte[] bytes = text.toString().getBytes("US-ASCII");
+        Path input = Files.write(dir.resolve("caso.txt"), bytes);
+        Path output = dir.resolve("respuestas.txt");
+        Path checkpoint = dir.resolve("caso.ckpt");
+
+        SilkRoadContest.solveFile(input, output, checkpoint, 64);
+        assertEquals(lines.toString(), new String(Files.readAllBytes(output), "US-ASCII"), "Resolución completa falló");
+        assertFalse(Files.exists(checkpoint), "Al terminar se borra el punto de control");
+
+        // Corte simulado: punto de control tras 300 días y una respuesta a medias después
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        ContestReader reader = new ContestReader(buffer);
+        reader.nextInt();
+        IncrementalSolver solver = new IncrementalSolver();
+        StringBuilder done = new StringBuilder();
+        for (int day = 0; day < 300; day++) {
+            int type = reader.nextInt();
+            int location = reader.nextInt();
+            solver.add(type, location, type == 2 ? reader.nextInt() : 0);
+            done.append(solver.getMaxProfit()).append('\n');
+        }
+        Files.write(output, (done + "999\n12").getBytes("US-ASCII"));
+        saveCheckpoint(checkpoint, 300, input, buffer.position(), output, done.length(), solver);
+        SilkRoadContest.solveFile(input, output, checkpoint, 64);
+        assertEquals(lines.toString(), new String(Files.readAllBytes(output), "US-ASCII"), "Retomar el punto de control falló");
+
+        Files.write(output, done.toString().getBytes("US-ASCII"));
+        saveCheckpoint(checkpoint, 300, input, buffer.position(), output, done.length(), solver);
+        byte[] damaged = Files.readAllBytes(checkpoint);
+        damaged[damaged.length / 2] ^= 1;
+        Files.write(checkpoint, damaged);
+        assertThrows(IOException.class, () -> SilkRoadContest.solveFile(input, output, checkpoint, 64),
+            "Un punto de control dañado no debe usarse");
+
+        // Otra entrada con la parte ya procesada cambiada, o más corta: no se retoma
+        saveCheckpoint(checkpoint, 300, input, buffer.position(), output, done.length(), solver);
+        byte[] other = bytes.clone();
+        int changedByte = buffer.position() - 3;
+        other[changedByte] = other[changedByte] == '1' ? (byte) '2' : (byte) '1';
+        Path changed = Files.write(dir.resolve("otro.txt"), other);
+        assertThrows(IOException.class, () -> SilkRoadContest.solveFile(changed, output, checkpoint, 64),
+            "No se debe retomar con una entrada distinta");
+        Files.write(changed, Arrays.copyOf(bytes, buffer.position() / 2));
+        assertThrows(IOException.class, () -> SilkRoadContest.solveFile(changed, output, checkpoint, 64),
+            "No se debe retomar con una entrada más corta");
+
+        // Salida borrada, recortada o cambiada entre corridas: no se retoma
+        Files.write(output, done.substring(0, done.length() / 2).getBytes("US-ASCII"));
+        assertThrows(IOException.class, () -> SilkRoadContest.solveFile(input, output, checkpoint, 64),
+            "No se debe retomar con una salida más corta");
+        byte[] edited = done.toString().getBytes("US-ASCII");
+        edited[0] = edited[0] == '7' ? (byte) '8' : (byte) '7';
+        Files.write(output, edited);
+        assertThrows(IOException.class, () -> SilkRoadContest.solveFile(input, output, checkpoint, 64),
+            "No se debe retomar con una salida distinta");
+        Files.delete(output);
+        assertThrows(IOException.class, () -> SilkRoadContest.solveFile(input, output, checkpoint, 64),
+            "No se debe retomar sin la salida");
+        assertTrue(Files.exists(checkpoint), "Si no se retoma, el punto de control se conserva");
+
+        assertThrows(IllegalArgumentException.class, () -> SilkRoadContest.solveFile(input, output, checkpoint, 0),
+            "El intervalo debe ser positivo");
+    }
+
+    /**
+     * Guarda un punto de control simulado con la huella de los archivos como están ahora
+     */
+    private static void saveCheckpoint(Path checkpoint, long day, Path input, long inputOffset,
+                                       Path output, long outputOffset, IncrementalSolver solver) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.READ)) {
+            ContestCheckpoint.capture(day, in, inputOffset, out, outputOffset, solver).save(checkpoint);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package silkRoad;
+
+import silkRoad.stores.Store;
+import silkRoad.robots.Robot;
+
+/**
+ * Recibe los cambios de un SilkRoad. El motor no dibuja nada: la vista (SilkRoadView) y
+ * cualquier otro interesado se suscriben con addObserver. Todos los métodos tienen una
+ * implementación vacía para que cada observador atienda solo lo que necesita.
+ */
+public interface SilkRoadObserver {
+
+    /**
+     * Se colocó una tienda
+     * @param store Tienda nueva, ya en su ubicación
+     */
+    default void storePlaced(Store store) {
+    }
+
+    /**
+     * Se quitó una tienda
+     * @param store Tienda quitada
+     */
+    default void storeRemoved(Store store) {
+    }
+
+    /**
+     * Cambiaron los tenges de una tienda porque un robot la robó
+     * @param store Tienda, ya con sus tenges y su color nuevos
+     */
+    default void storeChanged(Store store) {
+    }
+
+    /**
+     * Se colocó un robot
+     * @param robot Robot nuevo, ya en su ubicación inicial
+     */
+    default void robotPlaced(Robot robot) {
+    }
+
+    /**
+     * Un robot cambió de ubicación (por un movimiento o al volver al inicio)
+     * @param robot Robot, ya con su nueva ubicación
+     * @param from Ubicación anterior
+     */
+    default void robotMoved(Robot robot, int from) {
+    }
+
+    /**
+     * Se aplicó un lote de movimientos (applyMoves). Por omisión equivale a avisar cada
+     * movimiento, cada tienda robada y luego la ganancia; la vista lo redefine para dibujar
+     * una sola vez.
+     * @param robots Robots movidos, ya con su nueva ubicación, en el orden del lote
+     * @param from Ubicación anterior de cada robot
+     * @param robbed Tienda que robó cada robot, o null si no robó ninguna
+     * @param totalProfit Ganancia total después del lote
+     */
+    default void robotsMoved(Robot[] robots, int[] from, Store[] robbed, int totalProfit) {
+        for (int i = 0; i < robots.length; i++) {
+            robotMoved(robots[i], from[i]);
+        }
+        for (int i = 0; i < robbed.length; i++) {
+            if (robbed[i] != null) {
+                storeChanged(robbed[i]);
+            }
+        }
+        profitChanged(totalProfit);
+    }
+
+    /**
+     * Se quitó un robot
+     * @param robot Robot quitado
+     */
+    default void robotRemoved(Robot robot) {
+    }
+
+    /**
+     * Cambió la ganancia acumulada
+     * @param totalProfit Ganancia total hasta ahora
+     */
+    default void profitChanged(int totalProfit) {
+    }
+
+    /**
+     * Se pidió mostrar la simulación completa
+     * @param road Ruta con sus robots y tiendas actuales
+     */
+    default void madeVisible(SilkRoad road) {
+    }
+
+    /**
+     * La simulación terminó
+     * @param road Ruta con sus robots y tiendas finales
+     */
+    default void finished(SilkRoad road) {
+    }
+}
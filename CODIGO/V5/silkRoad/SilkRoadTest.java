@@ -0,0 +1,160 @@
+package silkRoad;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import silkRoad.robots.Robot;
+import silkRoad.stores.Store;
+import java.util.ArrayList;
+import java.util.List;
+
+public class SilkRoadTest {
+
+    @Test
+    public void testMotorSinVistaFuncionaSinDisplay() {
+        // Sin display, tocar el canvas lanzaría HeadlessException
+        SilkRoad road = new SilkRoad(20, true);
+        road.placeRobot(0);
+        road.placeStore(5, 10);
+        road.moveRobot(0, 5);
+        assertTrue(road.ok());
+        assertEquals(5, road.profit(), "Gana 10 tenges y paga 5 metros");
+        assertEquals(0, road.getStores().get(0).getTenges());
+        road.placeRobot(0);
+        assertFalse(road.ok(), "No puede haber dos robots con la misma ubicación inicial, aunque el primero ya se movió");
+        road.placeRobot(5);
+        assertTrue(road.ok(), "Puede llegar un robot a una ubicación ocupada por otro que se movió ahí");
+        road.makeVisible();
+        road.finish();
+        assertEquals("gray", road.getStores().get(0).getColor(), "La tienda vacía se marca sin necesidad de vista");
+    }
+
+    @Test
+    public void testObservadorRecibeCadaCambio() {
+        SilkRoad road = new SilkRoad(30, true);
+        final List<String> events = new ArrayList<String>();
+        road.addObserver(new SilkRoadObserver() {
+            @Override
+            public void storePlaced(Store store) { events.add("tienda+" + store.getLocation()); }
+            @Override
+            public void storeRemoved(Store store) { events.add("tienda-" + store.getLocation()); }
+            @Override
+            public void robotPlaced(Robot robot) { events.add("robot+" + robot.getLocation()); }
+            @Override
+            public void robotMoved(Robot robot, int from) { events.add("robot" + from + ">" + robot.getLocation()); }
+            @Override
+            public void robotRemoved(Robot robot) { events.add("robot-" + robot.getLocation()); }
+            @Override
+            public void storeChanged(Store store) { events.add("tienda~" + store.getLocation()); }
+            @Override
+            public void profitChanged(int totalProfit) { events.add("ganancia=" + totalProfit); }
+        });
+        road.placeStore(8, 20);
+        road.placeRobot(2);
+        road.moveRobot(2, 6);
+        road.returnRobots();
+        road.removeRobot(2);
+        road.removeStore(8);
+        assertTrue(road.ok(), "Había tienda en 8");
+        road.removeStore(8);
+        assertFalse(road.ok(), "Ya no hay tienda en 8");
+        road.moveRobot(2, 1);
+        assertFalse(road.ok(), "Ya no hay robot en 2");
+        assertEquals(List.of("tienda+8", "robot+2", "robot2>8", "tienda~8", "ganancia=14", "robot8>2", "robot-2", "tienda-8"), events);
+    }
+
+    @Test
+    public void testRobotsEnLaMismaUbicacionSeMuevenEnOrdenDeLlegada() {
+        SilkRoad road = new SilkRoad(30, true);
+        road.placeRobot(4);
+        road.placeRobot(1);
+        road.moveRobot(4, -3);
+        // Ahora los dos están en 1: se mueve el primero que llegó a la ruta (el de 4)
+        road.moveRobot(1, 9);
+        assertEquals(10, road.getRobots().get(0).getLocation());
+        assertEquals(1, road.getRobots().get(1).getLocation());
+        road.removeRobot(1);
+        assertEquals(1, road.getRobots().size());
+        assertEquals(4, road.getRobots().get(0).getInitialLocation());
+    }
+
+    @Test
+    public void testTiendaAutonomaSeBuscaDondeQuedo() {
+        SilkRoad road = new SilkRoad(30, true);
+        road.placeStore(10, 50, "autonomous");
+        int actual = road.getStores().get(0).getLocation();
+        road.placeRobot(0);
+        road.moveRobot(0, actual);
+        assertEquals(50 - actual, road.profit(), "El robot debe encontrar la tienda en su ubicación real");
+    }
+
+    @Test
+    public void testLoteSeValidaCompletoAntesDeMover() {
+        SilkRoad road = new SilkRoad(30, true);
+        road.placeRobot(0);
+        road.placeRobot(5, "neverback");
+        road.placeStore(3, 10);
+        road.applyMoves(new int[]{0, 5}, new int[]{3, -1});
+        assertFalse(road.ok(), "El robot neverback no puede retroceder");
+        assertEquals(0, road.getRobots().get(0).getLocation(), "Un lote inválido no mueve a nadie");
+        assertEquals(0, road.profit());
+        road.applyMoves(new int[]{0, 7}, new int[]{3, 1});
+        assertFalse(road.ok(), "No hay robot en 7");
+        road.applyMoves(new int[]{0}, new int[]{3, 1});
+        assertFalse(road.ok(), "Falta la distancia de un robot");
+        assertEquals(0, road.getRobots().get(0).getLocation());
+    }
+
+    @Test
+    public void testLoteEsSimultaneoYRobaEnOrden() {
+        SilkRoad road = new SilkRoad(30, true);
+        road.placeRobot(2);
+        road.placeRobot(6);
+        road.placeStore(4, 10);
+        final int[] notices = new int[2];
+        road.addObserver(new SilkRoadObserver() {
+            @Override
+            public void robotMoved(Robot robot, int from) { notices[0]++; }
+            @Override
+            public void profitChanged(int totalProfit) { notices[1]++; }
+        });
+        // Los dos llegan a la misma tienda: roba primero el del 6, que va antes en el lote
+        road.applyMoves(new int[]{6, 2}, new int[]{-2, 2});
+        assertTrue(road.ok());
+        assertEquals(10, road.getRobots().get(1).getGanancia());
+        assertEquals(0, road.getRobots().get(0).getGanancia());
+        assertEquals(10 - 2 - 2, road.profit());
+        assertArrayEquals(new int[]{2, 1}, notices, "Un aviso por robot y uno solo de ganancia");
+        // Simultáneo: el del 4 que llegó primero a la ruta (el del 2) no se confunde con el otro
+        road.applyMoves(new int[]{4, 4}, new int[]{1, 3});
+        assertEquals(5, road.getRobots().get(0).getLocation());
+        assertEquals(7, road.getRobots().get(1).getLocation());
+        road.applyMoves(new int[]{5, 7}, new int[]{2, -2});
+        assertEquals(7, road.getRobots().get(0).getLocation(), "Cada origen se busca antes del lote");
+        assertEquals(5, road.getRobots().get(1).getLocation());
+    }
+
+    @Test
+    public void testGananciaPorMovimientoDesdeElHistorial() {
+        SilkRoad road = new SilkRoad(30, true);
+        road.placeRobot(5);
+        road.placeRobot(0);
+        road.placeStore(3, 10);
+        road.moveRobot(0, 3);
+        road.moveRobot(5, 1);
+        road.returnRobots();
+        road.applyMoves(new int[]{0, 5}, new int[]{2, -2});
+        // Filas ordenadas por ubicación inicial: [ubicación, ganancia de cada movimiento]
+        assertArrayEquals(new int[][]{{0, 7, -2}, {5, -1, -2}}, road.profitPerMove());
+        ProfitLog log = road.getProfitLog();
+        assertEquals(4, log.size());
+        assertEquals(0, log.getDay(1));
+        assertEquals(1, log.getDay(2));
+        assertEquals(1, log.getMove(3));
+        // Un robot nuevo en la misma ubicación empieza sin historial
+        road.removeRobot(2);
+        road.removeRobot(3);
+        road.placeRobot(5);
+        assertArrayEquals(new int[][]{{5}}, road.profitPerMove());
+        assertEquals(4, log.size(), "El historial de los robots quitados se conserva");
+    }
+}
@@ -0,0 +1,382 @@
+package silkRoad;
+
+import silkRoad.stores.*;
+import silkRoad.robots.*;
+import shapes.*;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Vista de un SilkRoad en el canvas: tablero cuadrado con el camino espiral, figuras de
+ * robots y tiendas y barra de progreso. Es un observador del motor: SilkRoad(length) la
+ * crea y la suscribe, y SilkRoad(length, true) funciona sin ella y sin display.
+ *
+ * Las figuras son de la vista: cada robot y cada tienda tiene la suya en un mapa, con la
+ * forma según su tipo y el color que reporta el motor. Los robots y tiendas no conocen
+ * el paquete shapes.
+ */
+public class SilkRoadView implements SilkRoadObserver {
+    private int length;
+    private Canvas canvas;
+    private boolean visible;
+    private ProgressBar progressBar;
+
+    // Parámetros para tablero CUADRADO
+    private int boardSize;           // Tamaño del tablero (ej: 10x10, 15x15)
+    private int cellSize = 100;       // Tamaño de cada celda
+    private int boardX = 100;        // Posición X del tablero
+    private int boardY = 100;        // Posición Y del tablero
+
+    // Figuras de cada robot y tienda, creadas al colocarlos o al mostrarlos por primera vez
+    private HashMap<Robot, Figure> robotFigures = new HashMap<Robot, Figure>();
+    private HashMap<Store, Figure> storeFigures = new HashMap<Store, Figure>();
+
+    /**
+     * Figura de una entidad y el punto del canvas donde está dibujada
+     */
+    private static class Figure {
+        // Punto donde aparece una figura recién creada, antes de ubicarla
+        private static final int INITIAL_X = 60;
+        private static final int INITIAL_Y = 50;
+
+        private final Shape shape;
+        private int x;
+        private int y;
+
+        Figure(Shape shape, int x, int y, String color) {
+            this.shape = shape;
+            this.x = x;
+            this.y = y;
+            shape.moveHorizontal(x - INITIAL_X);
+            shape.moveVertical(y - INITIAL_Y);
+            shape.changeColor(color);
+        }
+
+        void moveTo(int newX, int newY) {
+            shape.moveHorizontal(newX - x);
+            shape.moveVertical(newY - y);
+            x = newX;
+            y = newY;
+        }
+
+        void paint(String color) {
+            if (!color.equals(shape.getColor())) {
+                shape.changeColor(color);
+            }
+        }
+    }
+
+    /**
+     * Crea la vista y dibuja el tablero de una ruta
+     * @param length Longitud de la ruta (número de posiciones en la espiral)
+     */
+    public SilkRoadView(int length) {
+        this.length = length;
+        this.canvas = Canvas.getCanvas();
+        this.visible = true;
+
+        // Calcular tamaño del tablero cuadrado necesario para la longitud
+        this.boardSize = (int) Math.ceil(Math.sqrt(length)) + 2;
+
+        // Dibujar el tablero cuadrado con camino espiral
+        dibujarTableroConEspiral();
+
+        // Crear barra de progreso
+        progressBar = new ProgressBar(50, 800, 400, 30);
+        if (visible) {
+            progressBar.makeVisible();
+        }
+    }
+
+    /**
+     * NUEVO: Dibujar el tablero cuadrado con líneas de cuadrícula y camino espiral
+     */
+    private void dibujarTableroConEspiral() {
+        // Dibujar borde del tablero
+        Rectangle borde = new Rectangle();
+        borde.changeSize(boardSize * cellSize, boardSize * cellSize);
+        borde.moveHorizontal(boardX);
+        borde.moveVertical(boardY);
+        borde.changeColor("black");
+        if (visible) {
+            borde.makeVisible();
+        }
+
+        // Dibujar cuadrícula
+        for (int i = 0; i <= boardSize; i++) {
+            // Líneas horizontales
+            Rectangle lineaH = new Rectangle();
+            lineaH.changeSize(boardSize * cellSize, 2);
+            lineaH.moveHorizontal(boardX);
+            lineaH.moveVertical(boardY + i * cellSize);
+            lineaH.changeColor("lightGray");
+            if (visible) lineaH.makeVisible();
+
+            // Líneas verticales
+            Rectangle lineaV = new Rectangle();
+            lineaV.changeSize(2, boardSize * cellSize);
+            lineaV.moveHorizontal(boardX + i * cellSize);
+            lineaV.moveVertical(boardY);
+            lineaV.changeColor("lightGray");
+            if (visible) lineaV.makeVisible();
+        }
+
+        // Marcar el camino espiral en color
+        marcarCaminoEspiral();
+    }
+
+    /**
+     * NUEVO: Marcar visualmente el camino espiral en el tablero
+     */
+    private void marcarCaminoEspiral() {
+        for (int i = 0; i < Math.min(length, boardSize * boardSize); i++) {
+            int x = boardSize / 2 + SpiralLayout.x(i);
+            int y = boardSize / 2 + SpiralLayout.y(i);
+
+            Rectangle celda = new Rectangle();
+            celda.changeSize(cellSize - 4, cellSize - 4);
+            celda.moveHorizontal(boardX + x * cellSize + 2);
+            celda.moveVertical(boardY + y * cellSize + 2);
+            celda.changeColor("yellow");
+            if (visible) celda.makeVisible();
+        }
+    }
+
+    /**
+     * MODIFICADO: Calcular posición X en píxeles para una ubicación en la espiral
+     * O(1) y sin reservar memoria (ver SpiralLayout)
+     * @param location Ubicación en la ruta
+     * @return Posición X en píxeles
+     */
+    public int calculateSpiralX(int location) {
+        return boardX + (boardSize / 2 + SpiralLayout.x(location)) * cellSize + cellSize / 2;
+    }
+
+    /**
+     * MODIFICADO: Calcular posición Y en píxeles para una ubicación en la espiral
+     * O(1) y sin reservar memoria (ver SpiralLayout)
+     * @param location Ubicación en la ruta
+     * @return Posición Y en píxeles
+     */
+    public int calculateSpiralY(int location) {
+        return boardY + (boardSize / 2 + SpiralLayout.y(location)) * cellSize + cellSize / 2;
+    }
+
+    /**
+     * NUEVO: Ubicación de la ruta que se dibuja en un punto del canvas (para clics)
+     * @param pixelX Posición X en píxeles
+     * @param pixelY Posición Y en píxeles
+     * @return Ubicación en la ruta, o -1 si el punto no cae sobre el camino
+     */
+    public int getLocationAt(int pixelX, int pixelY) {
+        if (pixelX < boardX || pixelY < boardY) {
+            return -1;
+        }
+        int column = (pixelX - boardX) / cellSize;
+        int row = (pixelY - boardY) / cellSize;
+        if (column >= boardSize || row >= boardSize) {
+            return -1;
+        }
+        int location = SpiralLayout.indexOf(column - boardSize / 2, row - boardSize / 2);
+        return location < length ? location : -1;
+    }
+
+    /**
+     * Forma de cada tipo de robot: triángulo, círculo, cuadrado grande o cuadrado
+     */
+    private static Shape createShape(Robot robot) {
+        if (robot instanceof NeverbackRobot) {
+            return new Triangle();
+        }
+        if (robot instanceof TenderRobot) {
+            Circle circulo = new Circle();
+            circulo.changeSize(18);
+            return circulo;
+        }
+        Rectangle rectangulo = new Rectangle();
+        if (robot instanceof ScoutRobot) {
+            rectangulo.changeSize(22, 22);
+        }
+        return rectangulo;
+    }
+
+    /**
+     * Forma de cada tipo de tienda: triángulo, cuadrado, círculo chico o círculo
+     */
+    private static Shape createShape(Store store) {
+        if (store instanceof AutonomousStore) {
+            Triangle triangulo = new Triangle();
+            triangulo.changeSize(35, 35);
+            return triangulo;
+        }
+        if (store instanceof FighterStore) {
+            Rectangle rectangulo = new Rectangle();
+            rectangulo.changeSize(25, 25);
+            return rectangulo;
+        }
+        Circle circulo = new Circle();
+        if (store instanceof SpeedStore) {
+            circulo.changeSize(20);
+        }
+        return circulo;
+    }
+
+    /**
+     * Figura de un robot, creada en su ubicación actual si todavía no tiene
+     */
+    private Figure figureOf(Robot robot) {
+        Figure figure = robotFigures.get(robot);
+        if (figure == null) {
+            figure = new Figure(createShape(robot), calculateSpiralX(robot.getLocation()),
+                                calculateSpiralY(robot.getLocation()), robot.getColor());
+            robotFigures.put(robot, figure);
+        }
+        return figure;
+    }
+
+    /**
+     * Figura de una tienda, creada en su ubicación si todavía no tiene
+     */
+    private Figure figureOf(Store store) {
+        Figure figure = storeFigures.get(store);
+        if (figure == null) {
+            figure = new Figure(createShape(store), calculateSpiralX(store.getLocation()),
+                                calculateSpiralY(store.getLocation()), store.getColor());
+            storeFigures.put(store, figure);
+        }
+        return figure;
+    }
+
+    /**
+     * Hace parpadear la figura de un robot
+     * @param robot Robot a resaltar
+     */
+    public void parpadear(Robot robot) {
+        Shape shape = figureOf(robot).shape;
+        for (int i = 0; i < 6; i++) {
+            shape.makeInvisible();
+            canvas.wait(50);
+            shape.makeVisible();
+            canvas.wait(50);
+        }
+    }
+
+    @Override
+    public void storePlaced(Store store) {
+        // Una tienda autónoma escoge su propia ubicación: se dibuja donde quedó
+        Figure figure = figureOf(store);
+        if (visible) {
+            figure.shape.makeVisible();
+        }
+    }
+
+    @Override
+    public void storeRemoved(Store store) {
+        Figure figure = storeFigures.remove(store);
+        if (figure != null) {
+            figure.shape.makeInvisible();
+        }
+    }
+
+    @Override
+    public void storeChanged(Store store) {
+        Figure figure = storeFigures.get(store);
+        if (figure != null) {
+            figure.paint(store.getColor());
+        }
+    }
+
+    @Override
+    public void robotPlaced(Robot robot) {
+        Figure figure = figureOf(robot);
+        if (visible) {
+            figure.shape.makeVisible();
+        }
+    }
+
+    @Override
+    public void robotMoved(Robot robot, int from) {
+        figureOf(robot).moveTo(calculateSpiralX(robot.getLocation()), calculateSpiralY(robot.getLocation()));
+    }
+
+    /**
+     * Mueve todas las figuras del lote, repinta las tiendas robadas y actualiza la barra
+     * con un solo repintado
+     */
+    @Override
+    public void robotsMoved(Robot[] robots, int[] from, Store[] robbed, int totalProfit) {
+        canvas.beginBatch();
+        try {
+            for (int i = 0; i < robots.length; i++) {
+                robotMoved(robots[i], from[i]);
+            }
+            for (int i = 0; i < robbed.length; i++) {
+                if (robbed[i] != null) {
+                    storeChanged(robbed[i]);
+                }
+            }
+            profitChanged(totalProfit);
+        } finally {
+            canvas.endBatch();
+        }
+    }
+
+    @Override
+    public void robotRemoved(Robot robot) {
+        Figure figure = robotFigures.remove(robot);
+        if (figure != null) {
+            figure.shape.makeInvisible();
+        }
+    }
+
+    @Override
+    public void profitChanged(int totalProfit) {
+        if (progressBar != null && visible) {
+            int progress = (int) ((double) totalProfit / 1000 * 100); // Ajusta según tu lógica
+            progressBar.setCurrentValue(progress);
+        }
+    }
+
+    /**
+     * Hace visible la simulación completa (canvas, barra de progreso, robots y tiendas)
+     */
+    @Override
+    public void madeVisible(SilkRoad road) {
+        this.visible = true;
+        if (canvas != null) {
+            canvas.setVisible(true);
+        }
+        if (progressBar != null) {
+            progressBar.makeVisible();
+        }
+        List<Robot> robots = road.getRobots();
+        for (int i = 0; i < robots.size(); i++) {
+            Figure figure = figureOf(robots.get(i));
+            figure.paint(robots.get(i).getColor());
+            figure.shape.makeVisible();
+        }
+        List<Store> stores = road.getStores();
+        for (int i = 0; i < stores.size(); i++) {
+            Figure figure = figureOf(stores.get(i));
+            figure.paint(stores.get(i).getColor());
+            figure.shape.makeVisible();
+        }
+    }
+
+    /**
+     * Oculta robots, tiendas y barra de progreso al terminar
+     */
+    @Override
+    public void finished(SilkRoad road) {
+        for (Figure figure : robotFigures.values()) {
+            figure.shape.makeInvisible();
+        }
+        for (Figure figure : storeFigures.values()) {
+            figure.shape.makeInvisible();
+        }
+        if (progressBar != null) {
+            progressBar.makeInvisible();
+        }
+        this.visible = false;
+    }
+}
@@ -0,0 +1,95 @@
+package silkRoad;
+
+/**
+ * Fórmula cerrada de la espiral del tablero: derecha 1, abajo 1, izquierda 2, arriba 2,
+ * derecha 3, ... desde el centro. Las coordenadas son desplazamientos respecto al centro
+ * (y crece hacia abajo, como en el canvas).
+ *
+ * Después de los tramos de largo 1, 1, 2, 2, ..., m, m la espiral está en la posición
+ * m(m+1), en la diagonal (c, c) con c = (m+1)/2 si m es impar y -m/2 si es par. Desde ahí
+ * sigue el par de tramos de largo m+1. Así cada consulta es O(1) y no reserva memoria, y
+ * la inversa (celda -> posición) sirve para saber qué ubicación hay bajo el mouse.
+ */
+public final class SpiralLayout {
+
+    private SpiralLayout() {
+    }
+
+    /**
+     * Desplazamiento horizontal de una posición de la espiral
+     * @param position Posición en la espiral (0 = centro; las negativas quedan en el centro)
+     * @return Columnas a la derecha del centro (negativo = a la izquierda)
+     */
+    public static int x(int position) {
+        if (position <= 0) {
+            return 0;
+        }
+        int m = completedPairs(position);
+        int t = position - m * (m + 1);
+        int sign = m % 2 == 0 ? 1 : -1;
+        return corner(m) + sign * Math.min(t, m + 1);
+    }
+
+    /**
+     * Desplazamiento vertical de una posición de la espiral
+     * @param position Posición en la espiral (0 = centro; las negativas quedan en el centro)
+     * @return Filas debajo del centro (negativo = arriba)
+     */
+    public static int y(int position) {
+        if (position <= 0) {
+            return 0;
+        }
+        int m = completedPairs(position);
+        int t = position - m * (m + 1);
+        int sign = m % 2 == 0 ? 1 : -1;
+        return corner(m) + sign * Math.max(0, t - (m + 1));
+    }
+
+    /**
+     * Inversa: posición de la espiral que pasa por una celda
+     * @param x Columnas a la derecha del centro
+     * @param y Filas debajo del centro
+     * @return Posición en la espiral
+     */
+    public static int indexOf(int x, int y) {
+        if (y <= 0 && y <= x && x <= 1 - y) {
+            // Tramo hacia la derecha del par 2j+1, en la fila -j
+            int j = -y;
+            return 2 * j * (2 * j + 1) + x + j;
+        }
+        if (x >= 1 && 1 - x <= y && y <= x) {
+            // Tramo hacia abajo del par 2j+1, en la columna j+1
+            int j = x - 1;
+            return 2 * j * (2 * j + 1) + 2 * j + 1 + y + j;
+        }
+        if (y >= 1 && -y <= x && x <= y) {
+            // Tramo hacia la izquierda del par 2j, en la fila j
+            int j = y;
+            return (2 * j - 1) * 2 * j + j - x;
+        }
+        // Tramo hacia arriba del par 2j, en la columna -j
+        int j = -x;
+        return (2 * j - 1) * 2 * j + 2 * j + j - y;
+    }
+
+    /**
+     * Mayor m con m(m+1) <= position: pares de tramos completos antes de la posición
+     */
+    private static int completedPairs(int position) {
+        int m = (int) ((Math.sqrt(4.0 * position + 1) - 1) / 2);
+        while ((long) (m + 1) * (m + 2) <= position) {
+            m++;
+        }
+        while ((long) m * (m + 1) > position) {
+            m--;
+        }
+        return m;
+    }
+
+    /**
+     * Coordenada (igual en x e y) de la esquina a la que se llega tras m pares de tramos
+     */
+    private static int corner(int m) {
+        return m % 2 == 0 ? -m / 2 : (m + 1) / 2;
+    }
+}
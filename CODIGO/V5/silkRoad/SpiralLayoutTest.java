@@ -0,0 +1,46 @@
+package silkRoad;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+public class SpiralLayoutTest {
+
+    @Test
+    public void testFormulaCoincideConRecorrerLaEspiral() {
+        // Recorrido original: derecha, abajo, izquierda, arriba, alargando cada dos giros
+        int x = 0;
+        int y = 0;
+        int steps = 1;
+        int stepCount = 0;
+        int direction = 0;
+        int[] dx = {1, 0, -1, 0};
+        int[] dy = {0, 1, 0, -1};
+        for (int position = 0; position < 100000; position++) {
+            assertEquals(x, SpiralLayout.x(position), "X distinta en la posición " + position);
+            assertEquals(y, SpiralLayout.y(position), "Y distinta en la posición " + position);
+            assertEquals(position, SpiralLayout.indexOf(x, y), "Inversa distinta en (" + x + ", " + y + ")");
+            x += dx[direction];
+            y += dy[direction];
+            stepCount++;
+            if (stepCount == steps) {
+                stepCount = 0;
+                direction = (direction + 1) % 4;
+                if (direction % 2 == 0) {
+                    steps++;
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testPrimerasPosicionesYExtremos() {
+        int[][] expected = {{0, 0}, {1, 0}, {1, 1}, {0, 1}, {-1, 1}, {-1, 0}, {-1, -1}, {0, -1}, {1, -1}, {2, -1}};
+        for (int position = 0; position < expected.length; position++) {
+            assertArrayEquals(expected[position], new int[]{SpiralLayout.x(position), SpiralLayout.y(position)});
+        }
+        assertEquals(0, SpiralLayout.x(-5), "Las posiciones negativas quedan en el centro");
+        assertEquals(0, SpiralLayout.y(-5), "Las posiciones negativas quedan en el centro");
+        int last = Integer.MAX_VALUE;
+        assertEquals(last, SpiralLayout.indexOf(SpiralLayout.x(last), SpiralLayout.y(last)));
+    }
+}
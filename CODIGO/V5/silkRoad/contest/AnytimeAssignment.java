@@ -0,0 +1,232 @@
+package silkRoad.contest;
+
+import java.util.Arrays;
+
+/**
+ * Asignación "anytime": entrega la mejor respuesta encontrada dentro de un tiempo límite,
+ * junto con una cota superior que prueba qué tan lejos puede estar del óptimo.
+ *
+ * Trabaja por fases sobre los pares candidatos, revisando el reloj entre pasos:
+ * 1. Semilla voraz: pares de mayor ganancia primero, si robot y tienda están libres.
+ * 2. Búsqueda local: mover un robot a una tienda libre mejor, o intercambiar tiendas con
+ *    otro robot (o quitársela, si el robot estaba libre) cuando eso sube el total.
+ * 3. Método primal-dual exacto robot por robot: tras agregar k robots su asignación es
+ *    óptima para ellos, así que óptimo(k) + la mejor ganancia de cada robot restante acota
+ *    el óptimo total. Si termina, la respuesta es exacta y la brecha es 0.
+ *
+ * La cota inicial es la menor entre la suma del máximo de cada robot y la de cada tienda.
+ * Generar los pares y la semilla cuesta O(E) y siempre se completa, así que en tableros
+ * con millones de pares el tiempo real puede pasar del límite pedido.
+ */
+public class AnytimeAssignment {
+    private static final int NONE = -1;
+    // Mayor ganancia con la que se ordena por conteo en vez de comparar
+    private static final int MAX_COUNTING_PROFIT = 1 << 22;
+
+    private final int[] storeOf;
+    private final long profit;
+    private final long upperBound;
+    private final long elapsedNanos;
+
+    private AnytimeAssignment(int[] storeOf, long profit, long upperBound, long elapsedNanos) {
+        this.storeOf = storeOf;
+        this.profit = profit;
+        this.upperBound = upperBound;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Busca la mejor asignación posible dentro del tiempo indicado
+     * @param entities Robots y tiendas en la ruta
+     * @param timeBudgetNanos Tiempo disponible en nanosegundos
+     * @return Mejor asignación encontrada con su cota superior
+     */
+    public static AnytimeAssignment solve(RoadEntities entities, long timeBudgetNanos) {
+        long started = System.nanoTime();
+        return solve(CandidatePairs.build(entities), started, started + timeBudgetNanos);
+    }
+
+    /**
+     * Busca la mejor asignación posible sobre pares candidatos dentro del tiempo indicado
+     * @param pairs Pares robot-tienda con ganancia positiva
+     * @param timeBudgetNanos Tiempo disponible en nanosegundos
+     * @return Mejor asignación encontrada con su cota superior
+     */
+    public static AnytimeAssignment solve(CandidatePairs pairs, long timeBudgetNanos) {
+        long started = System.nanoTime();
+        return solve(pairs, started, started + timeBudgetNanos);
+    }
+
+    private static AnytimeAssignment solve(CandidatePairs pairs, long started, long deadline) {
+        int numRobots = pairs.getRobotCount();
+        int numStores = pairs.getStoreCount();
+        int[] robotMate = new int[numRobots];
+        int[] storeMate = new int[numStores];
+        long[] robotProfit = new long[numRobots];
+        Arrays.fill(robotMate, NONE);
+        Arrays.fill(storeMate, NONE);
+
+        // Fase 1: semilla voraz, de mayor a menor ganancia
+        int[] order = byProfitDescending(pairs);
+        long total = 0;
+        for (int i = 0; i < order.length; i++) {
+            int pair = order[i];
+            int r = pairs.getRobot(pair);
+            int s = pairs.getStore(pair);
+            if (robotMate[r] == NONE && storeMate[s] == NONE) {
+                robotMate[r] = s;
+                storeMate[s] = r;
+                robotProfit[r] = pairs.getProfit(pair);
+                total += robotProfit[r];
+            }
+        }
+
+        long[] robotMax = new long[numRobots];
+        long[] storeMax = new long[numStores];
+        for (int p = 0; p < pairs.size(); p++) {
+            robotMax[pairs.getRobot(p)] = Math.max(robotMax[pairs.getRobot(p)], pairs.getProfit(p));
+            storeMax[pairs.getStore(p)] = Math.max(storeMax[pairs.getStore(p)], pairs.getProfit(p));
+        }
+        long[] suffixRobotMax = new long[numRobots + 1];
+        for (int r = numRobots - 1; r >= 0; r--) {
+            suffixRobotMax[r] = suffixRobotMax[r + 1] + robotMax[r];
+        }
+        long storeMaxSum = 0;
+        for (int s = 0; s < numStores; s++) {
+            storeMaxSum += storeMax[s];
+        }
+        long upperBound = Math.min(suffixRobotMax[0], storeMaxSum);
+
+        // Fase 2: búsqueda local hasta que ningún movimiento mejore o se acabe el tiempo
+        int[] start = pairs.robotStart();
+        int[] grouped = pairs.robotPairs();
+        boolean improved = total < upperBound;
+        search:
+        while (improved) {
+            improved = false;
+            for (int r = 0; r < numRobots; r++) {
+                if (System.nanoTime() >= deadline) break search;
+                for (int k = start[r]; k < start[r + 1]; k++) {
+                    int pair = grouped[k];
+                    int s = pairs.getStore(pair);
+                    int current = robotMate[r];
+                    if (s == current) continue;
+                    int other = storeMate[s];
+                    long gain = pairs.getProfit(pair) - robotProfit[r];
+                    long otherProfit = 0;
+                    if (other != NONE) {
+                        // El otro robot se queda con la tienda actual de r (o libre)
+                        otherProfit = current == NONE ? 0 : profitOf(pairs, start, grouped, other, current);
+                        gain += otherProfit - robotProfit[other];
+                    }
+                    if (gain <= 0) continue;
+                    if (current != NONE) {
+                        storeMate[current] = other;
+                    }
+                    if (other != NONE) {
+                        robotMate[other] = otherProfit > 0 ? current : NONE;
+                        if (otherProfit == 0 && current != NONE) storeMate[current] = NONE;
+                        robotProfit[other] = otherProfit;
+                    }
+                    robotMate[r] = s;
+                    storeMate[s] = r;
+                    robotProfit[r] = pairs.getProfit(pair);
+                    total += gain;
+                    improved = true;
+                }
+            }
+        }
+
+        // Fase 3: primal-dual exacto, robot por robot, afinando la cota
+        if (total < upperBound) {
+            SparseMatching matching = new SparseMatching(pairs);
+            int added = 0;
+            while (added < numRobots && System.nanoTime() < deadline) {
+                matching.addRobot(added);
+                added++;
+                upperBound = Math.min(upperBound, matching.getTotalProfit() + suffixRobotMax[added]);
+            }
+            if (added == numRobots) {
+                total = matching.getTotalProfit();
+                upperBound = total;
+                robotMate = matching.getAssignment();
+            }
+        }
+        return new AnytimeAssignment(robotMate, total, upperBound, System.nanoTime() - started);
+    }
+
+    /**
+     * Índices de los pares ordenados de mayor a menor ganancia. Las ganancias están acotadas
+     * por los tenges, así que casi siempre alcanza un ordenamiento por conteo en O(E + máximo)
+     */
+    private static int[] byProfitDescending(CandidatePairs pairs) {
+        int size = pairs.size();
+        int maxProfit = 0;
+        for (int p = 0; p < size; p++) {
+            maxProfit = Math.max(maxProfit, pairs.getProfit(p));
+        }
+        int[] order = new int[size];
+        if (maxProfit <= MAX_COUNTING_PROFIT) {
+            int[] next = new int[maxProfit + 2];
+            for (int p = 0; p < size; p++) {
+                next[maxProfit - pairs.getProfit(p) + 1]++;
+            }
+            for (int v = 1; v < next.length; v++) {
+                next[v] += next[v - 1];
+            }
+            for (int p = 0; p < size; p++) {
+                order[next[maxProfit - pairs.getProfit(p)]++] = p;
+            }
+            return order;
+        }
+        // Ganancia en los 32 bits altos e índice del par en los bajos
+        long[] packed = new long[size];
+        for (int p = 0; p < size; p++) {
+            packed[p] = ((long) pairs.getProfit(p) << 32) | p;
+        }
+        Arrays.sort(packed);
+        for (int i = 0; i < size; i++) {
+            order[i] = (int) packed[size - 1 - i];
+        }
+        return order;
+    }
+
+    /**
+     * Ganancia del par (robot, tienda), o 0 si no es candidato
+     */
+    private static long profitOf(CandidatePairs pairs, int[] start, int[] grouped, int robot, int store) {
+        for (int k = start[robot]; k < start[robot + 1]; k++) {
+            if (pairs.getStore(grouped[k]) == store) {
+                return pairs.getProfit(grouped[k]);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Ganancia total de la mejor asignación encontrada
+     * @return Ganancia (cota inferior del óptimo)
+     */
+    public int getProfit() { return (int) profit; }
+
+    /**
+     * Cota superior probada del óptimo
+     * @return Ninguna asignación puede superar este valor
+     */
+    public int getUpperBound() { return (int) upperBound; }
+
+    /**
+     * Brecha probada hasta el óptimo
+     * @return Cota superior menos ganancia encontrada
+     */
+    public int getGap() { return (int) (upperBound - profit); }
+
+    public boolean isOptimal() { return profit == upperBound; }
+    public long getElapsedNanos() { return elapsedNanos; }
+
+    /**
+     * Tienda asignada a cada robot
+     * @return Índice de tienda por robot, o AssignmentSolver.UNASSIGNED si el robot no roba
+     */
+    public int[] getAssignment() { return storeOf.clone(); }
+}
@@ -0,0 +1,136 @@
+package silkRoad.contest;
+
+/**
+ * Motor intercambiable para resolver la asignación robot-tienda del problema de la maratón.
+ * Cada tienda puede ser robada por a lo sumo un robot y cada robot roba a lo sumo una tienda.
+ *
+ * Las implementaciones reciben la matriz de ganancias [robot][tienda] (valores >= 0,
+ * donde 0 equivale a no asignar) y devuelven la máxima ganancia total. Los motores que
+ * pueden trabajar directamente con las ubicaciones sobreescriben la versión por entidades.
+ */
+public abstract class AssignmentSolver {
+
+    // Valor de la asignación para un robot que no roba ninguna tienda
+    public static final int UNASSIGNED = -1;
+
+    /**
+     * Calcula la máxima ganancia total a partir de las ubicaciones de robots y tiendas.
+     * Por defecto construye la matriz de ganancias y resuelve sobre ella.
+     * @param robotLocations Ubicaciones de los robots
+     * @param storeLocations Ubicaciones de las tiendas
+     * @param storeTenges Tenges de cada tienda
+     * @return Máxima ganancia total
+     */
+    public int maxProfit(int[] robotLocations, int[] storeLocations, int[] storeTenges) {
+        return maxProfit(RoadEntities.wrap(robotLocations, storeLocations, storeTenges));
+    }
+
+    /**
+     * Calcula la máxima ganancia total leyendo las columnas de robots y tiendas.
+     * Por defecto construye la matriz de ganancias y resuelve sobre ella.
+     * @param entities Robots y tiendas en la ruta
+     * @return Máxima ganancia total
+     */
+    public int maxProfit(RoadEntities entities) {
+        if (entities.getRobotCount() == 0 || entities.getStoreCount() == 0) {
+            return 0;
+        }
+        return maxProfit(buildProfitMatrix(entities));
+    }
+
+    /**
+     * Calcula la máxima ganancia total a partir de los pares candidatos (forma dispersa).
+     * Por defecto arma la matriz densa; los motores dispersos lo sobreescriben.
+     * @param pairs Pares robot-tienda con ganancia positiva
+     * @return Máxima ganancia total
+     */
+    public int maxProfit(CandidatePairs pairs) {
+        if (pairs.getRobotCount() == 0 || pairs.getStoreCount() == 0) {
+            return 0;
+        }
+        return maxProfit(pairs.toProfitMatrix());
+    }
+
+    /**
+     * Calcula la máxima ganancia total de la asignación
+     * @param profitMatrix Matriz de ganancias [robot][store], sin valores negativos
+     * @return Máxima ganancia total
+     */
+    public abstract int maxProfit(int[][] profitMatrix);
+
+    /**
+     * Calcula la máxima ganancia total sobre una matriz plana reutilizable.
+     * Por defecto la copia al formato anidado; los motores densos lo sobreescriben.
+     * @param matrix Matriz de ganancias plana
+     * @return Máxima ganancia total
+     */
+    public int maxProfit(ProfitMatrix matrix) {
+        if (matrix.getRobotCount() == 0 || matrix.getStoreCount() == 0) {
+            return 0;
+        }
+        return maxProfit(matrix.toArray());
+    }
+
+    /**
+     * Reconstruye una asignación óptima: la tienda que roba cada robot.
+     * Por defecto construye la matriz de ganancias y reconstruye sobre ella.
+     * @param entities Robots y tiendas en la ruta
+     * @return Índice de tienda por robot, o UNASSIGNED si el robot no roba
+     */
+    public int[] assign(RoadEntities entities) {
+        return assign(buildProfitMatrix(entities));
+    }
+
+    /**
+     * Reconstruye una asignación óptima a partir de la matriz de ganancias.
+     * Por defecto resuelve con el método húngaro disperso, que deja el emparejamiento
+     * armado; solo se emparejan pares con ganancia positiva.
+     * @param profitMatrix Matriz de ganancias [robot][store]
+     * @return Índice de tienda por robot, o UNASSIGNED si el robot no roba
+     */
+    public int[] assign(int[][] profitMatrix) {
+        SparseMatching matching = new SparseMatching(CandidatePairs.fromProfitMatrix(profitMatrix));
+        matching.solve();
+        return matching.getAssignment();
+    }
+
+    /**
+     * Nombre del motor, usado en reportes y comparaciones
+     * @return Nombre del motor
+     */
+    public abstract String getName();
+
+    /**
+     * Construye la matriz de ganancias: tenges - distancia, sin bajar de 0
+     * @param robotLocations Ubicaciones de los robots
+     * @param storeLocations Ubicaciones de las tiendas
+     * @param storeTenges Tenges de cada tienda
+     * @return Matriz de ganancias [robot][store]
+     */
+    public static int[][] buildProfitMatrix(int[] robotLocations, int[] storeLocations, int[] storeTenges) {
+        return buildProfitMatrix(RoadEntities.wrap(robotLocations, storeLocations, storeTenges));
+    }
+
+    /**
+     * Construye la matriz de ganancias recorriendo las columnas contiguas de la ruta
+     * @param entities Robots y tiendas en la ruta
+     * @return Matriz de ganancias [robot][store]
+     */
+    public static int[][] buildProfitMatrix(RoadEntities entities) {
+        int numRobots = entities.getRobotCount();
+        int numStores = entities.getStoreCount();
+        int[] robotLocations = entities.robotLocations();
+        int[] storeLocations = entities.storeLocations();
+        int[] storeTenges = entities.storeTenges();
+        int[][] profitMatrix = new int[numRobots][numStores];
+        for (int r = 0; r < numRobots; r++) {
+            ProfitMatrix.fillRow(robotLocations[r], storeLocations, storeTenges, numStores, profitMatrix[r], 0);
+        }
+        return profitMatrix;
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
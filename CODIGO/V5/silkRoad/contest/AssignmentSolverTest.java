@@ -0,0 +1,573 @@
+package silkRoad.contest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+import silkRoad.robots.*;
+import silkRoad.stores.*;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class AssignmentSolverTest {
+
+    @Test
+    public void testHungarianCoincideConBitmask() {
+        Random random = new Random(2025);
+        AssignmentSolver reference = new BitmaskSolver();
+        AssignmentSolver hungarian = new HungarianSolver();
+        for (int round = 0; round < 300; round++) {
+            int numRobots = 1 + random.nextInt(7);
+            int numStores = 1 + random.nextInt(7);
+            int[][] profitMatrix = new int[numRobots][numStores];
+            for (int r = 0; r < numRobots; r++) {
+                for (int s = 0; s < numStores; s++) {
+                    profitMatrix[r][s] = Math.max(0, random.nextInt(60) - 20);
+                }
+            }
+            assertEquals(reference.maxProfit(profitMatrix), hungarian.maxProfit(profitMatrix),
+                "Húngaro difiere del bitmask en la ronda " + round);
+        }
+    }
+
+    @Test
+    public void testHungarianMatrizRectangular() {
+        int[][] moreRobots = {
+            {5, 0},
+            {7, 1},
+            {0, 9}
+        };
+        assertEquals(16, new HungarianSolver().maxProfit(moreRobots), "Más robots que tiendas falló");
+
+        int[][] moreStores = {
+            {5, 7, 0},
+            {0, 1, 9}
+        };
+        assertEquals(16, new HungarianSolver().maxProfit(moreStores), "Más tiendas que robots falló");
+    }
+
+    @Test
+    public void testHungarianEscalaAMuchasTiendas() {
+        int size = 300;
+        int[][] profitMatrix = new int[size][size];
+        for (int r = 0; r < size; r++) {
+            profitMatrix[r][r] = 10;
+        }
+        assertEquals(size * 10, new HungarianSolver().maxProfit(profitMatrix), "Diagonal grande falló");
+    }
+
+    @Test
+    public void testLineSweepCoincideConHungaro() {
+        Random random = new Random(7);
+        AssignmentSolver hungarian = new HungarianSolver();
+        AssignmentSolver lineSweep = new LineSweepSolver();
+        for (int round = 0; round < 500; round++) {
+            int[] robots = new int[random.nextInt(30)];
+            int[] storeLocations = new int[random.nextInt(30)];
+            int[] storeTenges = new int[storeLocations.length];
+            for (int r = 0; r < robots.length; r++) {
+                robots[r] = random.nextInt(200) - 50;
+            }
+            for (int s = 0; s < storeLocations.length; s++) {
+                storeLocations[s] = random.nextInt(200) - 50;
+                storeTenges[s] = random.nextInt(80);
+            }
+            assertEquals(hungarian.maxProfit(robots, storeLocations, storeTenges),
+                lineSweep.maxProfit(robots, storeLocations, storeTenges),
+                "Barrido en línea difiere del húngaro en la ronda " + round);
+        }
+    }
+
+    @Test
+    public void testLineSweepEntradaGrande() {
+        int size = 200000;
+        int[] robots = new int[size / 2];
+        int[] storeLocations = new int[size / 2];
+        int[] storeTenges = new int[size / 2];
+        for (int i = 0; i < size / 2; i++) {
+            robots[i] = 2 * i;
+            storeLocations[i] = 2 * i + 1;
+            storeTenges[i] = 3;
+        }
+        assertEquals(size, new LineSweepSolver().maxProfit(robots, storeLocations, storeTenges),
+            "Cada robot debe tomar la tienda vecina con ganancia 2");
+    }
+
+    @Test
+    public void testIncrementalCoincideConBarridoCadaDia() {
+        Random random = new Random(11);
+        for (int round = 0; round < 300; round++) {
+            IncrementalSolver incremental = new IncrementalSolver(2);
+            int numDays = 1 + random.nextInt(25);
+            int[] robots = new int[0];
+            int[] storeLocations = new int[0];
+            int[] storeTenges = new int[0];
+            for (int day = 0; day < numDays; day++) {
+                if (random.nextBoolean()) {
+                    int location = random.nextInt(60);
+                    robots = Arrays.copyOf(robots, robots.length + 1);
+                    robots[robots.length - 1] = location;
+                    incremental.addRobot(location);
+                } else {
+                    int location = random.nextInt(60);
+                    int tenges = random.nextInt(40);
+                    storeLocations = Arrays.copyOf(storeLocations, storeLocations.length + 1);
+                    storeTenges = Arrays.copyOf(storeTenges, storeTenges.length + 1);
+                    storeLocations[storeLocations.length - 1] = location;
+                    storeTenges[storeTenges.length - 1] = tenges;
+                    incremental.addStore(location, tenges);
+                }
+                assertEquals(new LineSweepSolver().maxProfit(robots, storeLocations, storeTenges),
+                    incremental.getMaxProfit(), "Incremental difiere en la ronda " + round + ", día " + day);
+            }
+        }
+    }
+
+    @Test
+    public void testLineaIncrementalCoincideConIncremental() {
+        Random random = new Random(23);
+        for (int round = 0; round < 300; round++) {
+            ContestDays days = new ContestDays(1);
+            IncrementalSolver incremental = new IncrementalSolver(2);
+            int numDays = 1 + random.nextInt(round < 280 ? 30 : 1500);
+            int span = 1 + random.nextInt(round < 280 ? 60 : 5000);
+            int[] expected = new int[numDays];
+            for (int day = 0; day < numDays; day++) {
+                int type = random.nextInt(8) == 0 ? 3 + random.nextInt(2) : 1 + random.nextInt(2);
+                int location = random.nextInt(span);
+                int tenges = random.nextInt(2 * span);
+                days.add(type, location, type == ContestDays.STORE ? tenges : 0);
+                incremental.add(type, location, tenges);
+                expected[day] = incremental.getMaxProfit();
+            }
+            assertArrayEquals(expected, new IncrementalLineSolver(days).solve(),
+                "Línea incremental difiere del motor incremental en la ronda " + round);
+        }
+    }
+
+    @Test
+    public void testLineaIncrementalEscalaACienMilEventos() {
+        Random random = new Random(29);
+        int numDays = 100000;
+        ContestDays days = new ContestDays(numDays);
+        for (int day = 0; day < numDays; day++) {
+            if (random.nextBoolean()) {
+                days.add(ContestDays.ROBOT, random.nextInt(10000000), 0);
+            } else {
+                days.add(ContestDays.STORE, random.nextInt(10000000), random.nextInt(100000));
+            }
+        }
+        int[] maxProfits = new IncrementalLineSolver(days).solve();
+        // Algunos prefijos se comprueban con un barrido completo de ese día
+        for (int checked = numDays / 10 - 1; checked < numDays; checked += numDays / 10) {
+            RoadEntities prefix = new RoadEntities(checked + 1);
+            for (int day = 0; day <= checked; day++) {
+                prefix.add(days.getType(day), days.getLocation(day), days.getTenges(day));
+            }
+            assertEquals(new LineSweepSolver().maxProfit(prefix), maxProfits[checked],
+                "Línea incremental difiere del barrido el día " + checked);
+        }
+    }
+
+    @Test
+    public void testLineaIncrementalDoscientosMilEventosEnTiempo() {
+        // Robots de alcance local (tenges chicos frente a la ruta), el caso que el motor cubre;
+        // con alcance amplio cada camino invierte cientos de tramos (ver IncrementalLineSolver)
+        Random random = new Random(31);
+        int numDays = 200000;
+        ContestDays days = new ContestDays(numDays);
+        RoadEntities all = new RoadEntities(numDays);
+        for (int day = 0; day < numDays; day++) {
+            if (random.nextBoolean()) {
+                days.add(ContestDays.ROBOT, random.nextInt(100000000), 0);
+            } else {
+                days.add(ContestDays.STORE, random.nextInt(100000000), random.nextInt(10000));
+            }
+            all.add(days.getType(day), days.getLocation(day), days.getTenges(day));
+        }
+        int[] maxProfits = assertTimeout(Duration.ofSeconds(6), () -> new IncrementalLineSolver(days).solve(),
+            "200 000 eventos deben resolverse en pocos segundos");
+        assertEquals(new LineSweepSolver().maxProfit(all), maxProfits[numDays - 1],
+            "Línea incremental difiere del barrido el último día");
+    }
+
+    @Test
+    public void testParesCandidatosSoloGananciaPositiva() {
+        int[] robots = {0, 10, 50};
+        int[] storeLocations = {5, 48, 200};
+        int[] storeTenges = {8, 3, 100};
+        CandidatePairs pairs = CandidatePairs.build(robots, storeLocations, storeTenges);
+        assertEquals(3, pairs.size(), "Solo (0,5), (10,5) y (50,48) dejan ganancia");
+        assertEquals(4, new HungarianSolver().maxProfit(pairs), "Húngaro disperso falló");
+        assertEquals(4, new BitmaskSolver().maxProfit(pairs), "Bitmask sobre pares falló");
+    }
+
+    @Test
+    public void testHungaroDispersoCoincideConDenso() {
+        Random random = new Random(3);
+        for (int round = 0; round < 300; round++) {
+            int[] robots = new int[random.nextInt(40)];
+            int[] storeLocations = new int[random.nextInt(40)];
+            int[] storeTenges = new int[storeLocations.length];
+            for (int r = 0; r < robots.length; r++) {
+                robots[r] = random.nextInt(300) - 100;
+            }
+            for (int s = 0; s < storeLocations.length; s++) {
+                storeLocations[s] = random.nextInt(300) - 100;
+                storeTenges[s] = random.nextInt(100) - 5;
+            }
+            int[][] profitMatrix = AssignmentSolver.buildProfitMatrix(robots, storeLocations, storeTenges);
+            assertEquals(new HungarianSolver().maxProfit(profitMatrix),
+                new HungarianSolver().maxProfit(CandidatePairs.build(robots, storeLocations, storeTenges)),
+                "Húngaro disperso difiere del denso en la ronda " + round);
+        }
+    }
+
+    @Test
+    public void testColumnasReutilizadasEntreDias() {
+        Random random = new Random(5);
+        RoadEntities entities = new RoadEntities(1);
+        AssignmentSolver lineSweep = new LineSweepSolver();
+        AssignmentSolver hungarian = new HungarianSolver();
+        for (int day = 0; day < 400; day++) {
+            entities.add(1 + random.nextInt(2), random.nextInt(500), random.nextInt(80));
+            int[][] profitMatrix = AssignmentSolver.buildProfitMatrix(entities);
+            assertEquals(hungarian.maxProfit(profitMatrix), lineSweep.maxProfit(entities),
+                "Barrido con buffers reutilizados difiere el día " + day);
+            assertEquals(hungarian.maxProfit(profitMatrix), hungarian.maxProfit(entities),
+                "Húngaro disperso sobre columnas difiere el día " + day);
+        }
+    }
+
+    @Test
+    public void testAsignacionReconstruidaEsOptima() {
+        Random random = new Random(9);
+        AssignmentSolver[] solvers = {new BitmaskSolver(), new HungarianSolver(), new LineSweepSolver()};
+        for (int round = 0; round < 200; round++) {
+            RoadEntities entities = new RoadEntities();
+            int numDays = random.nextInt(16);
+            for (int day = 0; day < numDays; day++) {
+                entities.add(1 + random.nextInt(2), random.nextInt(50), random.nextInt(30));
+            }
+            int expected = new HungarianSolver().maxProfit(entities);
+            for (AssignmentSolver solver : solvers) {
+                int[] storeOf = solver.assign(entities);
+                assertEquals(entities.getRobotCount(), storeOf.length, solver + ": un valor por robot");
+                boolean[] robbed = new boolean[entities.getStoreCount()];
+                int total = 0;
+                for (int r = 0; r < storeOf.length; r++) {
+                    int s = storeOf[r];
+                    if (s == AssignmentSolver.UNASSIGNED) continue;
+                    assertFalse(robbed[s], solver + ": tienda " + s + " asignada dos veces");
+                    robbed[s] = true;
+                    int profit = entities.getStoreTenges(s)
+                        - Math.abs(entities.getStoreLocation(s) - entities.getRobotLocation(r));
+                    assertTrue(profit > 0, solver + ": par sin ganancia en la asignación");
+                    total += profit;
+                }
+                assertEquals(expected, total, solver + ": la asignación no es óptima en la ronda " + round);
+            }
+        }
+    }
+
+    @Test
+    public void testKernelTipadoCoincideConReglasDeSilkRoad() {
+        Random random = new Random(13);
+        for (int round = 0; round < 150; round++) {
+            List<Robot> robots = new ArrayList<Robot>();
+            List<Store> stores = new ArrayList<Store>();
+            int numRobots = random.nextInt(7);
+            int numStores = random.nextInt(7);
+            for (int r = 0; r < numRobots; r++) {
+                int location = random.nextInt(40);
+                int type = random.nextInt(3);
+                Robot robot = type == 0 ? new Robot(location, 0, 0)
+                            : type == 1 ? new NeverbackRobot(location, 0, 0) : new TenderRobot(location, 0, 0);
+                robot.addGanancia(random.nextInt(30));
+                robots.add(robot);
+            }
+            for (int s = 0; s < numStores; s++) {
+                int location = random.nextInt(40);
+                int tenges = random.nextInt(40);
+                int type = random.nextInt(3);
+                stores.add(type == 0 ? new Store(location, tenges, 0, 0)
+                         : type == 1 ? new FighterStore(location, tenges, 0, 0) : new SpeedStore(location, tenges, 0, 0));
+            }
+            // Referencia: las reglas de SilkRoad.moveRobot llamadas par por par
+            int[][] profitMatrix = new int[numRobots][numStores];
+            for (int r = 0; r < numRobots; r++) {
+                Robot robot = robots.get(r);
+                for (int s = 0; s < numStores; s++) {
+                    Store store = stores.get(s);
+                    int distance = Math.abs(store.getLocation() - robot.getLocation());
+                    if (robot.canMoveTo(store.getLocation()) && store.canBeRobbedBy(robot.getGanancia())) {
+                        int gained = Math.min(robot.calculateTakeAmount(store.getTenges()), store.getTenges());
+                        profitMatrix[r][s] = Math.max(0, gained - store.getMovementCost(distance));
+                    }
+                }
+            }
+            TypedProfitKernel kernel = new TypedProfitKernel(robots, stores);
+            for (int r = 0; r < numRobots; r++) {
+                for (int s = 0; s < numStores; s++) {
+                    assertEquals(profitMatrix[r][s], kernel.profit(r, s), "Par (" + r + ", " + s + ") en la ronda " + round);
+                }
+            }
+            assertEquals(new BitmaskSolver().maxProfit(profitMatrix), kernel.maxProfit(),
+                "Kernel tipado difiere en la ronda " + round);
+        }
+    }
+
+    @Test
+    public void testRutasConVariasParadas() {
+        Random random = new Random(17);
+        for (int round = 0; round < 500; round++) {
+            RoadEntities entities = new RoadEntities();
+            int numRobots = random.nextInt(4);
+            int numStores = random.nextInt(6);
+            for (int r = 0; r < numRobots; r++) {
+                entities.addRobot(random.nextInt(30));
+            }
+            for (int s = 0; s < numStores; s++) {
+                entities.addStore(random.nextInt(30), random.nextInt(25));
+            }
+            RoutePlan plan = RoutePlan.build(entities);
+            assertEquals(bruteForceRoutes(entities), plan.getTotalProfit(), "Ruta no óptima en la ronda " + round);
+
+            // Ejecutar los movimientos debe dar exactamente la ganancia del plan
+            int[] robotAt = new int[numRobots];
+            for (int r = 0; r < numRobots; r++) {
+                robotAt[r] = entities.getRobotLocation(r);
+            }
+            boolean[] robbed = new boolean[numStores];
+            int replayed = 0;
+            for (int r = 0; r < numRobots; r++) {
+                int[] route = plan.getRoute(r);
+                for (int k = 0; k < route.length; k++) {
+                    assertFalse(robbed[route[k]], "Tienda visitada dos veces en la ronda " + round);
+                    robbed[route[k]] = true;
+                    replayed += entities.getStoreTenges(route[k])
+                        - Math.abs(entities.getStoreLocation(route[k]) - robotAt[r]);
+                    robotAt[r] = entities.getStoreLocation(route[k]);
+                }
+            }
+            assertEquals(plan.getTotalProfit(), replayed, "Los movimientos no reproducen el plan en la ronda " + round);
+            int walked = 0;
+            int[][] moves = plan.getMoves();
+            for (int m = 0; m < moves.length; m++) {
+                walked += Math.abs(moves[m][1]);
+            }
+            int robbedTenges = 0;
+            for (int s = 0; s < numStores; s++) {
+                if (robbed[s]) robbedTenges += entities.getStoreTenges(s);
+            }
+            assertEquals(plan.getTotalProfit(), robbedTenges - walked, "Lista de movimientos inconsistente");
+        }
+    }
+
+    /**
+     * Prueba todas las formas de repartir las tiendas entre robots (o dejarlas)
+     */
+    private static int bruteForceRoutes(RoadEntities entities) {
+        int numRobots = entities.getRobotCount();
+        int numStores = entities.getStoreCount();
+        int options = 1;
+        for (int s = 0; s < numStores; s++) options *= numRobots + 1;
+        int best = 0;
+        for (int code = 0; code < options; code++) {
+            int total = 0;
+            for (int r = 0; r < numRobots; r++) {
+                int x = entities.getRobotLocation(r);
+                int left = x;
+                int right = x;
+                int rest = code;
+                for (int s = 0; s < numStores; s++) {
+                    if (rest % (numRobots + 1) == r + 1) {
+                        total += entities.getStoreTenges(s);
+                        left = Math.min(left, entities.getStoreLocation(s));
+                        right = Math.max(right, entities.getStoreLocation(s));
+                    }
+                    rest /= numRobots + 1;
+                }
+                total -= (right - left) + Math.min(x - left, right - x);
+            }
+            best = Math.max(best, total);
+        }
+        return best;
+    }
+
+    @Test
+    public void testPlanificadorRespetaPresupuesto() {
+        SolverPlanner planner = new SolverPlanner(64L << 20);
+        RoadEntities tiny = RoadEntities.wrap(new int[]{3}, new int[]{5}, new int[]{9});
+        assertEquals(7, planner.maxProfit(tiny), "Caso diminuto falló");
+        assertEquals("bitmask", planner.getLastChoice().getName(), "Lo diminuto debe ir al bitmask");
+
+        Random random = new Random(19);
+        RoadEntities large = new RoadEntities();
+        for (int i = 0; i < 5000; i++) {
+            large.addRobot(random.nextInt(100000));
+            large.addStore(random.nextInt(100000), random.nextInt(300));
+        }
+        int expected = new HungarianSolver().maxProfit(large);
+        assertEquals(expected, planner.maxProfit(large), "Caso grande falló");
+        assertEquals("line-sweep", planner.getLastChoice().getName(), "Lo grande debe ir al barrido");
+        int[] storeOf = planner.assign(large);
+        assertEquals("hungarian", planner.getLastChoice().getName(), "La asignación grande debe ir al húngaro disperso");
+        assertEquals(large.getRobotCount(), storeOf.length, "Un valor por robot");
+
+        // 20 tiendas: el bitmask pediría ~100 MB y no cabe en 1 MB
+        RoadEntities medium = new RoadEntities();
+        for (int i = 0; i < 20; i++) {
+            medium.addRobot(i * 3);
+            medium.addStore(i * 3 + 1, 5);
+        }
+        SolverPlanner small = new SolverPlanner(1L << 20);
+        assertEquals(new HungarianSolver().maxProfit(medium), small.maxProfit(AssignmentSolver.buildProfitMatrix(medium)),
+            "Matriz mediana falló");
+        assertEquals("hungarian", small.getLastChoice().getName(), "El bitmask no cabe en el presupuesto");
+        assertThrows(IllegalStateException.class, () -> new SolverPlanner(16).maxProfit(large),
+            "Sin memoria suficiente debe avisar en vez de reservar");
+    }
+
+    @Test
+    public void testAnytimeAcotaElOptimo() {
+        Random random = new Random(23);
+        for (int round = 0; round < 200; round++) {
+            RoadEntities entities = new RoadEntities();
+            int numDays = random.nextInt(60);
+            for (int day = 0; day < numDays; day++) {
+                entities.add(1 + random.nextInt(2), random.nextInt(100), random.nextInt(50));
+            }
+            int optimum = new HungarianSolver().maxProfit(entities);
+            AnytimeAssignment rushed = AnytimeAssignment.solve(entities, 0);
+            assertTrue(rushed.getProfit() <= optimum && optimum <= rushed.getUpperBound(),
+                "Las cotas no encierran el óptimo en la ronda " + round);
+            int total = 0;
+            boolean[] robbed = new boolean[entities.getStoreCount()];
+            int[] storeOf = rushed.getAssignment();
+            for (int r = 0; r < storeOf.length; r++) {
+                if (storeOf[r] == AssignmentSolver.UNASSIGNED) continue;
+                assertFalse(robbed[storeOf[r]], "Tienda asignada dos veces en la ronda " + round);
+                robbed[storeOf[r]] = true;
+                total += entities.getStoreTenges(storeOf[r])
+                    - Math.abs(entities.getStoreLocation(storeOf[r]) - entities.getRobotLocation(r));
+            }
+            assertEquals(rushed.getProfit(), total, "La ganancia no corresponde a la asignación");
+
+            AnytimeAssignment patient = AnytimeAssignment.solve(entities, 1000000000L);
+            assertTrue(patient.isOptimal(), "Con tiempo de sobra debe probar el óptimo");
+            assertEquals(optimum, patient.getProfit(), "Óptimo incorrecto en la ronda " + round);
+            assertEquals(0, patient.getGap(), "La brecha debe cerrarse");
+        }
+    }
+
+    @Test
+    public void testEliminacionesReparanSinRecalcular() {
+        Random random = new Random(29);
+        for (int round = 0; round < 200; round++) {
+            IncrementalSolver dynamic = new IncrementalSolver(1);
+            RoadEntities entities = new RoadEntities(1);
+            int numDays = 1 + random.nextInt(80);
+            for (int day = 0; day < numDays; day++) {
+                // Ubicaciones en un rango corto para que las eliminaciones encuentren a quién quitar
+                int type = 1 + random.nextInt(4);
+                int location = random.nextInt(30);
+                int tenges = random.nextInt(40);
+                dynamic.add(type, location, tenges);
+                entities.add(type, location, tenges);
+                assertEquals(entities.getRobotCount(), dynamic.getRobotCount(), "Robots distintos en la ronda " + round);
+                assertEquals(entities.getStoreCount(), dynamic.getStoreCount(), "Tiendas distintas en la ronda " + round);
+                assertEquals(new HungarianSolver().maxProfit(entities), dynamic.getMaxProfit(),
+                    "Motor dinámico difiere del húngaro en la ronda " + round + ", día " + day);
+            }
+        }
+    }
+
+    @Test
+    public void testConstruccionEnBloqueContinuaIgual() {
+        Random random = new Random(37);
+        for (int round = 0; round < 200; round++) {
+            IncrementalSolver dynamic = new IncrementalSolver(1);
+            RoadEntities entities = new RoadEntities(1);
+            int numDays = 1 + random.nextInt(80);
+            int split = random.nextInt(numDays + 1);
+            IncrementalSolver bulk = null;
+            for (int day = 0; day < numDays; day++) {
+                if (day == split) {
+                    bulk = IncrementalSolver.build(entities);
+                    assertEquals(dynamic.getMaxProfit(), bulk.getMaxProfit(), "Construcción en bloque difiere en la ronda " + round);
+                }
+                int type = 1 + random.nextInt(4);
+                int location = random.nextInt(30);
+                int tenges = random.nextInt(40);
+                dynamic.add(type, location, tenges);
+                entities.add(type, location, tenges);
+                if (bulk != null) {
+                    bulk.add(type, location, tenges);
+                    assertEquals(dynamic.getMaxProfit(), bulk.getMaxProfit(),
+                        "Motor construido en bloque difiere en la ronda " + round + ", día " + day);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testValorMarginalCoincideConAgregar() {
+        Random random = new Random(31);
+        for (int round = 0; round < 300; round++) {
+            IncrementalSolver solver = new IncrementalSolver(1);
+            int numDays = random.nextInt(40);
+            for (int day = 0; day < numDays; day++) {
+                solver.add(1 + random.nextInt(2), random.nextInt(50), random.nextInt(30));
+            }
+            MarginalValues whatIf = new MarginalValues(solver);
+            for (int query = 0; query < 10; query++) {
+                int location = random.nextInt(60) - 5;
+                int tenges = random.nextInt(40);
+                IncrementalSolver withStore = solver.copy();
+                withStore.addStore(location, tenges);
+                assertEquals(withStore.getMaxProfit() - solver.getMaxProfit(), whatIf.storeValue(location, tenges),
+                    "Valor de una tienda nueva incorrecto en la ronda " + round);
+                IncrementalSolver withRobot = solver.copy();
+                withRobot.addRobot(location);
+                assertEquals(withRobot.getMaxProfit() - solver.getMaxProfit(), whatIf.robotValue(location),
+                    "Valor de un robot nuevo incorrecto en la ronda " + round);
+            }
+        }
+    }
+
+    @Test
+    public void testMatrizPlanaCoincideConAnidada() {
+        Random random = new Random(37);
+        ProfitMatrix vector = new ProfitMatrix(true);
+        ProfitMatrix scalar = new ProfitMatrix(false);
+        assertFalse(scalar.isVectorized(), "El kernel escalar no debe usar SIMD");
+        AssignmentSolver hungarian = new HungarianSolver();
+        for (int round = 0; round < 200; round++) {
+            // Tamaños que no son múltiplo del ancho de los registros, y valores extremos
+            RoadEntities entities = new RoadEntities(1);
+            int numDays = 1 + random.nextInt(90);
+            for (int day = 0; day < numDays; day++) {
+                int location = round % 10 == 0 ? random.nextInt() : random.nextInt(200);
+                entities.add(1 + random.nextInt(2), location, random.nextInt(round % 10 == 0 ? Integer.MAX_VALUE : 80));
+            }
+            vector.fill(entities);
+            scalar.fill(entities);
+            int[][] nested = AssignmentSolver.buildProfitMatrix(entities);
+            for (int r = 0; r < entities.getRobotCount(); r++) {
+                for (int s = 0; s < entities.getStoreCount(); s++) {
+                    int expected = Math.max(0, entities.getStoreTenges(s)
+                        - Math.abs(entities.getRobotLocation(r) - entities.getStoreLocation(s)));
+                    assertEquals(expected, scalar.get(r, s), "Kernel escalar incorrecto en la ronda " + round);
+                    assertEquals(expected, vector.get(r, s), "Kernel vectorial incorrecto en la ronda " + round);
+                    assertEquals(expected, nested[r][s], "Matriz anidada incorrecta en la ronda " + round);
+                }
+            }
+            if (round % 10 != 0) {
+                assertEquals(hungarian.maxProfit(nested), hungarian.maxProfit(vector),
+                    "Húngaro sobre la matriz plana difiere en la ronda " + round);
+            }
+        }
+    }
+}
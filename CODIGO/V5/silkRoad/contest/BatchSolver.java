@@ -0,0 +1,105 @@
+package silkRoad.contest;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Resuelve muchos casos independientes (cada uno un arreglo days) en paralelo sobre un
+ * ForkJoinPool con robo de trabajo. Los resultados siempre se entregan en el orden de entrada.
+ */
+public class BatchSolver {
+    // Casos en vuelo por hilo en el modo streaming: acota la memoria sin dejar hilos ociosos
+    private static final int IN_FLIGHT_PER_THREAD = 4;
+
+    private final ForkJoinPool pool;
+    private final Function<int[][], int[]> caseSolver;
+
+    /**
+     * Crea un resolvedor por lotes
+     * @param parallelism Máximo número de hilos a usar
+     * @param caseSolver Función que resuelve un caso (por ejemplo SilkRoadContest::solve)
+     */
+    public BatchSolver(int parallelism, Function<int[][], int[]> caseSolver) {
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+        this.caseSolver = caseSolver;
+    }
+
+    /**
+     * Resuelve todos los casos repartiéndolos entre los hilos
+     * @param cases Casos a resolver
+     * @return Resultado de cada caso, en el mismo orden
+     */
+    public int[][] solveAll(int[][][] cases) {
+        int[][] results = new int[cases.length][];
+        if (cases.length > 0) {
+            pool.invoke(new CaseRange(cases, results, 0, cases.length));
+        }
+        return results;
+    }
+
+    /**
+     * Resuelve un flujo de casos manteniendo a lo sumo unos pocos casos por hilo en memoria
+     * @param cases Casos a resolver, leídos a medida que hay hilos libres
+     * @param sink Recibe cada resultado en el orden de entrada
+     */
+    public void solveAll(Iterator<int[][]> cases, Consumer<int[]> sink) {
+        int window = pool.getParallelism() * IN_FLIGHT_PER_THREAD;
+        ArrayDeque<ForkJoinTask<int[]>> inFlight = new ArrayDeque<ForkJoinTask<int[]>>();
+        while (cases.hasNext()) {
+            if (inFlight.size() == window) {
+                sink.accept(inFlight.removeFirst().join());
+            }
+            final int[][] days = cases.next();
+            inFlight.addLast(pool.submit(() -> caseSolver.apply(days)));
+        }
+        while (!inFlight.isEmpty()) {
+            sink.accept(inFlight.removeFirst().join());
+        }
+    }
+
+    /**
+     * Libera los hilos del resolvedor
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Rango de casos que se divide a la mitad hasta quedar en un solo caso
+     */
+    private class CaseRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int[][][] cases;
+        private final int[][] results;
+        private final int from;
+        private final int to;
+
+        CaseRange(int[][][] cases, int[][] results, int from, int to) {
+            this.cases = cases;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                results[from] = caseSolver.apply(cases[from]);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new CaseRange(cases, results, from, middle),
+                      new CaseRange(cases, results, middle, to));
+        }
+    }
+}
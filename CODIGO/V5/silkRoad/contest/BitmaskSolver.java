@@ -0,0 +1,114 @@
+package silkRoad.contest;
+
+import java.util.Arrays;
+
+/**
+ * Motor exacto original: programación dinámica con bitmask sobre las tiendas.
+ * Usa O(R * 2^S) memoria, por lo que solo sirve para pocas tiendas (~20),
+ * pero se conserva como referencia para validar los demás motores.
+ */
+public class BitmaskSolver extends AssignmentSolver {
+
+    /**
+     * Encuentra la asignación óptima de robots a tiendas usando DP con bitmask
+     * @param profitMatrix Matriz de ganancias [robot][store]
+     * @return Máxima ganancia total
+     */
+    @Override
+    public int maxProfit(int[][] profitMatrix) {
+        if (profitMatrix.length == 0 || profitMatrix[0].length == 0) {
+            return 0;
+        }
+        int[][] dp = fillTable(profitMatrix);
+        return dp[profitMatrix.length][bestMask(dp[profitMatrix.length])];
+    }
+
+    /**
+     * Reconstruye la asignación recorriendo la misma tabla hacia atrás: en cada robot se
+     * busca la transición que produjo el valor, así que no hace falta otra tabla de 2^S
+     * @param profitMatrix Matriz de ganancias [robot][store]
+     * @return Índice de tienda por robot, o UNASSIGNED si el robot no roba
+     */
+    @Override
+    public int[] assign(int[][] profitMatrix) {
+        int numRobots = profitMatrix.length;
+        int[] storeOf = new int[numRobots];
+        Arrays.fill(storeOf, UNASSIGNED);
+        if (numRobots == 0 || profitMatrix[0].length == 0) {
+            return storeOf;
+        }
+        int numStores = profitMatrix[0].length;
+        int[][] dp = fillTable(profitMatrix);
+        int mask = bestMask(dp[numRobots]);
+        for (int r = numRobots - 1; r >= 0; r--) {
+            int value = dp[r + 1][mask];
+            if (dp[r][mask] == value) {
+                continue;
+            }
+            for (int s = 0; s < numStores; s++) {
+                int bit = 1 << s;
+                if ((mask & bit) != 0 && dp[r][mask ^ bit] >= 0
+                        && dp[r][mask ^ bit] + profitMatrix[r][s] == value) {
+                    mask ^= bit;
+                    // Las tiendas con ganancia 0 equivalen a no robar
+                    storeOf[r] = profitMatrix[r][s] > 0 ? s : UNASSIGNED;
+                    break;
+                }
+            }
+        }
+        return storeOf;
+    }
+
+    /**
+     * Llena la tabla dp[r][mask]: mejor ganancia de los primeros r robots usando las tiendas de mask
+     */
+    private static int[][] fillTable(int[][] profitMatrix) {
+        int numRobots = profitMatrix.length;
+        int numStores = profitMatrix[0].length;
+
+        int maxMask = 1 << numStores;
+        int[][] dp = new int[numRobots + 1][maxMask];
+
+        for (int i = 0; i <= numRobots; i++) {
+            for (int mask = 0; mask < maxMask; mask++) {
+                dp[i][mask] = -1;
+            }
+        }
+        dp[0][0] = 0;
+
+        for (int r = 0; r < numRobots; r++) {
+            for (int mask = 0; mask < maxMask; mask++) {
+                if (dp[r][mask] < 0) continue;
+
+                dp[r + 1][mask] = Math.max(dp[r + 1][mask], dp[r][mask]);
+
+                for (int s = 0; s < numStores; s++) {
+                    if ((mask & (1 << s)) == 0) {
+                        int newMask = mask | (1 << s);
+                        int newProfit = dp[r][mask] + profitMatrix[r][s];
+                        dp[r + 1][newMask] = Math.max(dp[r + 1][newMask], newProfit);
+                    }
+                }
+            }
+        }
+        return dp;
+    }
+
+    /**
+     * Máscara con la mayor ganancia en la última fila de la tabla
+     */
+    private static int bestMask(int[] lastRow) {
+        int best = 0;
+        for (int mask = 1; mask < lastRow.length; mask++) {
+            if (lastRow[mask] > lastRow[best]) {
+                best = mask;
+            }
+        }
+        return best;
+    }
+
+    @Override
+    public String getName() {
+        return "bitmask";
+    }
+}
@@ -0,0 +1,216 @@
+package silkRoad.contest;
+
+import java.util.Arrays;
+
+/**
+ * Forma dispersa del problema: solo los pares robot-tienda con ganancia positiva.
+ *
+ * Una tienda con t tenges en la ubicación y solo deja ganancia a robots con |x - y| < t,
+ * así que con los robots ordenados por ubicación basta una búsqueda binaria por tienda
+ * para recorrer su ventana de alcance (y - t, y + t). La memoria crece con los pares
+ * útiles y no con R x S.
+ */
+public class CandidatePairs {
+    private final int robotCount;
+    private final int storeCount;
+    private int size;
+    private int[] pairRobot;
+    private int[] pairStore;
+    private int[] pairProfit;
+
+    // Índices por robot y por tienda (formato CSR), construidos al pedirlos
+    private int[] robotStart;
+    private int[] robotPairs;
+    private int[] storeStart;
+    private int[] storePairs;
+
+    /**
+     * Crea un conjunto vacío de pares candidatos
+     * @param robotCount Número de robots del problema
+     * @param storeCount Número de tiendas del problema
+     */
+    public CandidatePairs(int robotCount, int storeCount) {
+        this.robotCount = robotCount;
+        this.storeCount = storeCount;
+        this.size = 0;
+        this.pairRobot = new int[16];
+        this.pairStore = new int[16];
+        this.pairProfit = new int[16];
+    }
+
+    /**
+     * Genera los pares con ganancia positiva usando las ventanas de alcance de cada tienda
+     * @param robotLocations Ubicaciones de los robots
+     * @param storeLocations Ubicaciones de las tiendas
+     * @param storeTenges Tenges de cada tienda
+     * @return Pares candidatos
+     */
+    public static CandidatePairs build(int[] robotLocations, int[] storeLocations, int[] storeTenges) {
+        return build(RoadEntities.wrap(robotLocations, storeLocations, storeTenges));
+    }
+
+    /**
+     * Genera los pares con ganancia positiva leyendo las columnas de la ruta
+     * @param entities Robots y tiendas en la ruta
+     * @return Pares candidatos
+     */
+    public static CandidatePairs build(RoadEntities entities) {
+        int numRobots = entities.getRobotCount();
+        int numStores = entities.getStoreCount();
+        int[] robotLocations = entities.robotLocations();
+        int[] storeLocations = entities.storeLocations();
+        int[] storeTenges = entities.storeTenges();
+        CandidatePairs pairs = new CandidatePairs(numRobots, numStores);
+
+        // Ubicación en los 32 bits altos e índice en los bajos
+        long[] sortedRobots = new long[numRobots];
+        for (int r = 0; r < numRobots; r++) {
+            sortedRobots[r] = ((long) robotLocations[r] << 32) | r;
+        }
+        Arrays.sort(sortedRobots);
+
+        for (int s = 0; s < numStores; s++) {
+            long tenges = storeTenges[s];
+            if (tenges <= 0) continue;
+            long storeLoc = storeLocations[s];
+            long from = storeLoc - tenges + 1;
+            int i = lowerBound(sortedRobots, from);
+            while (i < numRobots) {
+                long robotLoc = sortedRobots[i] >> 32;
+                long profit = tenges - Math.abs(robotLoc - storeLoc);
+                if (robotLoc > storeLoc && profit <= 0) break;
+                if (profit > 0) {
+                    pairs.add((int) sortedRobots[i], s, (int) profit);
+                }
+                i++;
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Toma de una matriz densa solo las entradas con ganancia positiva
+     * @param profitMatrix Matriz de ganancias [robot][store]
+     * @return Pares candidatos
+     */
+    public static CandidatePairs fromProfitMatrix(int[][] profitMatrix) {
+        int numRobots = profitMatrix.length;
+        int numStores = numRobots == 0 ? 0 : profitMatrix[0].length;
+        CandidatePairs pairs = new CandidatePairs(numRobots, numStores);
+        for (int r = 0; r < numRobots; r++) {
+            for (int s = 0; s < numStores; s++) {
+                if (profitMatrix[r][s] > 0) {
+                    pairs.add(r, s, profitMatrix[r][s]);
+                }
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Primer índice cuyo robot está en una ubicación >= location
+     */
+    private static int lowerBound(long[] sortedRobots, long location) {
+        int low = 0;
+        int high = sortedRobots.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if ((sortedRobots[mid] >> 32) < location) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Agrega un par candidato
+     * @param robot Índice del robot
+     * @param store Índice de la tienda
+     * @param profit Ganancia del par (positiva)
+     */
+    public void add(int robot, int store, int profit) {
+        if (size == pairRobot.length) {
+            int capacity = size * 2;
+            pairRobot = Arrays.copyOf(pairRobot, capacity);
+            pairStore = Arrays.copyOf(pairStore, capacity);
+            pairProfit = Arrays.copyOf(pairProfit, capacity);
+        }
+        pairRobot[size] = robot;
+        pairStore[size] = store;
+        pairProfit[size] = profit;
+        size++;
+        robotStart = null;
+        storeStart = null;
+    }
+
+    /**
+     * Convierte los pares en la matriz densa (para motores que solo trabajan con matriz)
+     * @return Matriz de ganancias [robot][store]
+     */
+    public int[][] toProfitMatrix() {
+        int[][] profitMatrix = new int[robotCount][storeCount];
+        for (int i = 0; i < size; i++) {
+            profitMatrix[pairRobot[i]][pairStore[i]] = pairProfit[i];
+        }
+        return profitMatrix;
+    }
+
+    public int getRobotCount() { return robotCount; }
+    public int getStoreCount() { return storeCount; }
+    public int size() { return size; }
+    public int getRobot(int pair) { return pairRobot[pair]; }
+    public int getStore(int pair) { return pairStore[pair]; }
+    public int getProfit(int pair) { return pairProfit[pair]; }
+
+    /**
+     * Pares de cada robot: los del robot r están en robotPairs()[robotStart()[r] .. robotStart()[r + 1])
+     */
+    int[] robotStart() {
+        if (robotStart == null) {
+            robotStart = new int[robotCount + 1];
+            robotPairs = groupBy(pairRobot, robotCount, robotStart);
+        }
+        return robotStart;
+    }
+
+    int[] robotPairs() {
+        robotStart();
+        return robotPairs;
+    }
+
+    /**
+     * Pares de cada tienda: los de la tienda s están en storePairs()[storeStart()[s] .. storeStart()[s + 1])
+     */
+    int[] storeStart() {
+        if (storeStart == null) {
+            storeStart = new int[storeCount + 1];
+            storePairs = groupBy(pairStore, storeCount, storeStart);
+        }
+        return storeStart;
+    }
+
+    int[] storePairs() {
+        storeStart();
+        return storePairs;
+    }
+
+    /**
+     * Ordenamiento por conteo de los pares según el vértice indicado
+     */
+    private int[] groupBy(int[] vertexOfPair, int vertexCount, int[] start) {
+        for (int i = 0; i < size; i++) {
+            start[vertexOfPair[i] + 1]++;
+        }
+        for (int v = 0; v < vertexCount; v++) {
+            start[v + 1] += start[v];
+        }
+        int[] next = Arrays.copyOf(start, vertexCount);
+        int[] grouped = new int[size];
+        for (int i = 0; i < size; i++) {
+            grouped[next[vertexOfPair[i]]++] = i;
+        }
+        return grouped;
+    }
+}
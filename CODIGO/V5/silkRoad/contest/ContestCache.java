@@ -0,0 +1,209 @@
+package silkRoad.contest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * Caché acotado de resultados de la maratón, indexado por un hash acumulado de los días.
+ *
+ * La respuesta de un día solo depende de los días anteriores, así que un caso que empieza
+ * igual que otro ya resuelto puede retomar desde el estado guardado del motor incremental.
+ * Se guarda el estado al final de cada caso y en las longitudes potencia de 2, de modo que
+ * un prefijo compartido nunca pierde más de la mitad del trabajo. Cada entrada guarda solo
+ * sus propios días y resultados y se cobra en días equivalentes por todo lo que retiene
+ * (días, resultados y la copia del motor); cuando el total pasa del presupuesto se
+ * descartan las entradas usadas hace más tiempo (LRU).
+ *
+ * Cada entrada guarda también sus días para confirmar el acierto, así que una colisión
+ * del hash nunca devuelve un resultado equivocado. Se puede compartir entre hilos.
+ */
+public class ContestCache {
+    private static final long MULTIPLIER = 0x100000001B3L;
+    // Bytes de un día guardado: tipo, ubicación y tenges más su resultado
+    private static final long DAY_BYTES = 16;
+
+    private final long maxDays;
+    private final LinkedHashMap<Long, Entry> entries;
+    private long cachedDays;
+    private long hits;
+    private long misses;
+
+    /**
+     * Estado guardado después de resolver los primeros length días de un caso
+     */
+    private static class Entry {
+        final ContestDays days;
+        final int length;
+        final int[] results;
+        final IncrementalSolver solver;
+        // Días equivalentes que retiene la entrada, motor incluido
+        final long cost;
+
+        Entry(ContestDays days, int length, int[] results, IncrementalSolver solver) {
+            this.days = days;
+            this.length = length;
+            this.results = results;
+            this.solver = solver;
+            this.cost = length + (solver.memoryBytes() + DAY_BYTES - 1) / DAY_BYTES;
+        }
+    }
+
+    /**
+     * Crea un caché vacío
+     * @param maxDays Máximo de días equivalentes guardados entre todas las entradas
+     *        (un día equivale a 16 bytes: el día y su resultado)
+     */
+    public ContestCache(long maxDays) {
+        this.maxDays = Math.max(1, maxDays);
+        this.entries = new LinkedHashMap<Long, Entry>(16, 0.75f, true);
+    }
+
+    /**
+     * Resuelve un caso usando el prefijo guardado más largo que coincida con él
+     * @param days Días del caso (tipo, ubicación, tenges)
+     * @return Máxima utilidad de cada día, igual que SilkRoadContest.solve
+     */
+    public int[] solve(ContestDays days) {
+        int numDays = days.size();
+        int[] maxProfits = new int[numDays];
+        if (numDays == 0) {
+            return maxProfits;
+        }
+        long[] hashes = prefixHashes(days);
+
+        Entry cached = lookup(days, hashes);
+        int start = 0;
+        IncrementalSolver solver;
+        if (cached == null) {
+            solver = new IncrementalSolver();
+        } else {
+            System.arraycopy(cached.results, 0, maxProfits, 0, cached.length);
+            if (cached.length == numDays) {
+                return maxProfits;
+            }
+            solver = cached.solver.copy();
+            start = cached.length;
+        }
+
+        ArrayList<Integer> checkpoints = new ArrayList<Integer>();
+        ArrayList<IncrementalSolver> states = new ArrayList<IncrementalSolver>();
+        for (int day = start; day < numDays; day++) {
+            solver.add(days.getType(day), days.getLocation(day), days.getTenges(day));
+            maxProfits[day] = solver.getMaxProfit();
+            int length = day + 1;
+            if (length < numDays && (length & (length - 1)) == 0) {
+                checkpoints.add(Integer.valueOf(length));
+                states.add(solver.copy());
+            }
+        }
+        checkpoints.add(Integer.valueOf(numDays));
+        states.add(solver);
+
+        // Copias propias y recortadas: quien llama puede modificar lo que pasó o recibe, y
+        // una entrada corta no debe retener los días ni los resultados del caso completo
+        Entry[] created = new Entry[checkpoints.size()];
+        for (int i = 0; i < created.length; i++) {
+            int length = checkpoints.get(i).intValue();
+            created[i] = new Entry(copyPrefix(days, length), length,
+                Arrays.copyOf(maxProfits, length), states.get(i));
+        }
+        synchronized (this) {
+            for (Entry entry : created) {
+                store(hashes[entry.length], entry);
+            }
+        }
+        return maxProfits;
+    }
+
+    private static ContestDays copyPrefix(ContestDays days, int length) {
+        ContestDays prefix = new ContestDays(length);
+        for (int day = 0; day < length; day++) {
+            prefix.add(days.getType(day), days.getLocation(day), days.getTenges(day));
+        }
+        return prefix;
+    }
+
+    /**
+     * Busca el prefijo guardado más largo del caso
+     */
+    private synchronized Entry lookup(ContestDays days, long[] hashes) {
+        for (int length = days.size(); length > 0; length--) {
+            Entry entry = entries.get(Long.valueOf(hashes[length]));
+            if (entry != null && entry.length == length && samePrefix(entry.days, days, length)) {
+                hits++;
+                return entry;
+            }
+        }
+        misses++;
+        return null;
+    }
+
+    /**
+     * Guarda una entrada y descarta las menos usadas mientras se pase del presupuesto
+     */
+    private void store(long hash, Entry entry) {
+        if (entry.cost > maxDays) {
+            return;
+        }
+        Entry previous = entries.put(Long.valueOf(hash), entry);
+        if (previous != null) {
+            cachedDays -= previous.cost;
+        }
+        cachedDays += entry.cost;
+        Iterator<Entry> eldest = entries.values().iterator();
+        while (cachedDays > maxDays && eldest.hasNext()) {
+            cachedDays -= eldest.next().cost;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * hashes[i] resume los primeros i días; cada día cambia todos los hashes siguientes
+     */
+    private static long[] prefixHashes(ContestDays days) {
+        long[] hashes = new long[days.size() + 1];
+        long hash = 0;
+        for (int day = 0; day < days.size(); day++) {
+            long event = ((long) days.getLocation(day) << 32) ^ (days.getTenges(day) & 0xFFFFFFFFL);
+            hash = (hash + mix(event ^ days.getType(day) * 0x9E3779B97F4A7C15L)) * MULTIPLIER;
+            hashes[day + 1] = hash;
+        }
+        return hashes;
+    }
+
+    /**
+     * Mezcla de bits (finalizador de SplitMix64)
+     */
+    private static long mix(long value) {
+        long z = value;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    private static boolean samePrefix(ContestDays cached, ContestDays days, int length) {
+        for (int day = 0; day < length; day++) {
+            if (cached.getType(day) != days.getType(day)
+                    || cached.getLocation(day) != days.getLocation(day)
+                    || cached.getTenges(day) != days.getTenges(day)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Vacía el caché
+     */
+    public synchronized void clear() {
+        entries.clear();
+        cachedDays = 0;
+    }
+
+    public synchronized int size() { return entries.size(); }
+    public synchronized long getCachedDays() { return cachedDays; }
+    public synchronized long getHits() { return hits; }
+    public synchronized long getMisses() { return misses; }
+}
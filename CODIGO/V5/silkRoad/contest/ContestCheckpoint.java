@@ -0,0 +1,190 @@
+package silkRoad.contest;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Punto de control de una resolución larga: el estado del motor incremental (asignación y
+ * potenciales), el próximo día a procesar y las posiciones en bytes de la entrada y la
+ * salida en ese momento. Con las posiciones, retomar no vuelve a leer ni a resolver los
+ * días ya procesados: su costo depende del tamaño del estado, O(R + S).
+ *
+ * Para no retomar con otros archivos guarda una huella de tamaño fijo de cada uno: el
+ * tamaño de la entrada, y el CRC32 del comienzo y de los bytes justo antes de cada
+ * posición (a lo sumo 64 KB por tramo). Comprobarla cuesta lo mismo sin importar cuántos
+ * días se procesaron; un cambio fuera de esos tramos con el mismo tamaño no se detecta.
+ *
+ * Se escribe con FileChannel en un archivo temporal, se fuerza a disco y se renombra
+ * sobre el anterior, así que un corte a mitad de escritura deja intacto el último punto
+ * de control. Un CRC32 al final detecta archivos dañados.
+ */
+public class ContestCheckpoint {
+    // "SRCK" en ASCII
+    private static final int MAGIC = 0x5352434B;
+    private static final int VERSION = 3;
+    // Magia, versión, día, y posición, tamaño y huella de la entrada y de la salida
+    private static final int HEADER_BYTES = 4 + 4 + 8 + 8 + 8 + 8 + 8 + 8;
+    // Bytes de cada tramo de la huella
+    private static final int WINDOW_SIZE = 1 << 16;
+
+    private final long day;
+    private final long inputOffset;
+    private final long inputSize;
+    private final long inputFingerprint;
+    private final long outputOffset;
+    private final long outputFingerprint;
+    private final IncrementalSolver solver;
+
+    private ContestCheckpoint(long day, long inputOffset, long inputSize, long inputFingerprint,
+                              long outputOffset, long outputFingerprint, IncrementalSolver solver) {
+        this.day = day;
+        this.inputOffset = inputOffset;
+        this.inputSize = inputSize;
+        this.inputFingerprint = inputFingerprint;
+        this.outputOffset = outputOffset;
+        this.outputFingerprint = outputFingerprint;
+        this.solver = solver;
+    }
+
+    /**
+     * Crea un punto de control con la huella de la entrada y de la salida en este momento
+     * @param day Próximo día a procesar
+     * @param input Canal de la entrada
+     * @param inputOffset Byte de la entrada donde empieza ese día
+     * @param output Canal de la salida, abierto también para lectura, ya escrito hasta outputOffset
+     * @param outputOffset Bytes de salida ya escritos hasta ese día
+     * @param solver Motor con el estado después de los días procesados
+     * @return Punto de control listo para guardar
+     * @throws IOException si no se pueden leer los archivos
+     */
+    public static ContestCheckpoint capture(long day, FileChannel input, long inputOffset,
+                                            FileChannel output, long outputOffset,
+                                            IncrementalSolver solver) throws IOException {
+        return new ContestCheckpoint(day, inputOffset, input.size(), fingerprint(input, inputOffset),
+                                     outputOffset, fingerprint(output, outputOffset), solver);
+    }
+
+    /**
+     * Comprueba que la entrada y la salida son las mismas que cuando se guardó el punto de control
+     * @param input Canal de la entrada
+     * @param output Canal de la salida, abierto también para lectura
+     * @throws IOException si alguno cambió, la salida es más corta, o no se pueden leer
+     */
+    public void verify(FileChannel input, FileChannel output) throws IOException {
+        if (input.size() != inputSize || fingerprint(input, inputOffset) != inputFingerprint) {
+            throw new IOException("El punto de control no corresponde a la entrada");
+        }
+        if (output.size() < outputOffset || fingerprint(output, outputOffset) != outputFingerprint) {
+            throw new IOException("El punto de control no corresponde a la salida");
+        }
+    }
+
+    /**
+     * CRC32 del comienzo del archivo y de los bytes justo antes de offset, a lo sumo
+     * WINDOW_SIZE de cada tramo, leídos sin mover la posición del canal
+     */
+    private static long fingerprint(FileChannel channel, long offset) throws IOException {
+        CRC32 crc = new CRC32();
+        ByteBuffer chunk = ByteBuffer.allocate(WINDOW_SIZE);
+        update(crc, chunk, channel, 0, Math.min(WINDOW_SIZE, offset));
+        update(crc, chunk, channel, Math.max(WINDOW_SIZE, offset - WINDOW_SIZE), offset);
+        return crc.getValue();
+    }
+
+    /**
+     * Agrega al CRC los bytes [from, to) del archivo; un archivo más corto deja el CRC incompleto
+     */
+    private static void update(CRC32 crc, ByteBuffer chunk, FileChannel channel, long from, long to) throws IOException {
+        while (from < to) {
+            chunk.clear();
+            chunk.limit((int) Math.min(chunk.capacity(), to - from));
+            int count = channel.read(chunk, from);
+            if (count <= 0) {
+                return;
+            }
+            crc.update(chunk.array(), 0, count);
+            from += count;
+        }
+    }
+
+    /**
+     * Escribe el punto de control de forma atómica
+     * @param file Archivo del punto de control
+     * @throws IOException si falla la escritura
+     */
+    public void save(Path file) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + solver.stateBytes() + 8);
+        buffer.putInt(MAGIC).putInt(VERSION).putLong(day).putLong(inputOffset).putLong(inputSize).putLong(inputFingerprint)
+              .putLong(outputOffset).putLong(outputFingerprint);
+        solver.writeState(buffer);
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putLong(crc.getValue());
+        buffer.flip();
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Lee el último punto de control
+     * @param file Archivo del punto de control
+     * @return Punto de control, o null si el archivo no existe
+     * @throws IOException si el archivo está dañado o no se puede leer
+     */
+    public static ContestCheckpoint load(Path file) throws IOException {
+        if (!Files.exists(file)) {
+            return null;
+        }
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Lee hasta llenar el buffer
+            }
+        }
+        buffer.flip();
+        if (buffer.remaining() < HEADER_BYTES + 8 || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Punto de control inválido: " + file);
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.limit() - 8);
+        if (crc.getValue() != buffer.getLong(buffer.limit() - 8)) {
+            throw new IOException("Punto de control dañado (CRC): " + file);
+        }
+        buffer.position(8);
+        long day = buffer.getLong();
+        long inputOffset = buffer.getLong();
+        long inputSize = buffer.getLong();
+        long inputFingerprint = buffer.getLong();
+        long outputOffset = buffer.getLong();
+        long outputFingerprint = buffer.getLong();
+        return new ContestCheckpoint(day, inputOffset, inputSize, inputFingerprint,
+                                     outputOffset, outputFingerprint, IncrementalSolver.readState(buffer));
+    }
+
+    public long getDay() { return day; }
+    public long getInputOffset() { return inputOffset; }
+    public long getOutputOffset() { return outputOffset; }
+
+    /**
+     * Motor con el estado guardado, listo para seguir agregando días
+     * @return Motor incremental
+     */
+    public IncrementalSolver getSolver() {
+        return solver;
+    }
+}
@@ -0,0 +1,85 @@
+package silkRoad.contest;
+
+import java.util.Arrays;
+
+/**
+ * Días de un caso de la maratón guardados en columnas primitivas
+ * (tipo, ubicación y tenges), sin un arreglo pequeño por cada día.
+ */
+public class ContestDays {
+    public static final int ROBOT = 1;
+    public static final int STORE = 2;
+    // Días que retiran el primer robot o la primera tienda de una ubicación
+    public static final int REMOVE_ROBOT = 3;
+    public static final int REMOVE_STORE = 4;
+
+    private int size;
+    private int[] types;
+    private int[] locations;
+    private int[] tenges;
+
+    /**
+     * Crea un caso vacío
+     * @param capacity Número de días esperado
+     */
+    public ContestDays(int capacity) {
+        int initial = Math.max(1, capacity);
+        size = 0;
+        types = new int[initial];
+        locations = new int[initial];
+        tenges = new int[initial];
+    }
+
+    /**
+     * Convierte el formato days[i] = {tipo, ubicación, tenges} a columnas
+     * @param days Matriz con datos de cada día
+     * @return Días en columnas
+     */
+    public static ContestDays of(int[][] days) {
+        ContestDays columns = new ContestDays(days.length);
+        for (int day = 0; day < days.length; day++) {
+            int type = days[day][0];
+            int location = days[day][1];
+            columns.add(type, location, type == STORE ? days[day][2] : 0);
+        }
+        return columns;
+    }
+
+    /**
+     * Agrega un día al final
+     * @param type Tipo (1 = robot, 2 = tienda, 3 = quitar robot, 4 = quitar tienda)
+     * @param location Ubicación
+     * @param amount Tenges (solo para tiendas)
+     */
+    public void add(int type, int location, int amount) {
+        if (size == types.length) {
+            int capacity = size * 2;
+            types = Arrays.copyOf(types, capacity);
+            locations = Arrays.copyOf(locations, capacity);
+            tenges = Arrays.copyOf(tenges, capacity);
+        }
+        types[size] = type;
+        locations[size] = location;
+        tenges[size] = amount;
+        size++;
+    }
+
+    /**
+     * Convierte las columnas al formato days[i] = {tipo, ubicación[, tenges]}
+     * @return Matriz con datos de cada día
+     */
+    public int[][] toArray() {
+        int[][] days = new int[size][];
+        for (int day = 0; day < size; day++) {
+            days[day] = types[day] == STORE
+                ? new int[]{types[day], locations[day], tenges[day]}
+                : new int[]{types[day], locations[day]};
+        }
+        return days;
+    }
+
+    public int size() { return size; }
+    public int getType(int day) { return types[day]; }
+    public int getLocation(int day) { return locations[day]; }
+    public int getTenges(int day) { return tenges[day]; }
+}
@@ -0,0 +1,184 @@
+package silkRoad.contest;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Lector del formato de la maratón a nivel de bytes:
+ * <pre>
+ * n
+ * tipo ubicación [tenges]     (n líneas; tenges solo si tipo == 2)
+ * </pre>
+ * Los tipos 3 y 4 (solo ubicación) quitan el primer robot o la primera tienda de ese lugar.
+ * Lee directo de un InputStream con un buffer reutilizable, o de un archivo mapeado en
+ * memoria por ventanas (así no importa si pasa de 2 GB), y convierte los números sin
+ * crear String ni Integer por cada token.
+ */
+public class ContestReader {
+    private static final int BUFFER_SIZE = 1 << 16;
+    // Bytes mapeados a la vez al leer un archivo
+    private static final int WINDOW_SIZE = 1 << 26;
+    // Días reservados al empezar: no se confía en el encabezado hasta leer los días
+    private static final int INITIAL_DAYS = 1 << 16;
+
+    private final InputStream in;
+    private final FileChannel channel;
+    private ByteBuffer buffer;
+    // Byte de la entrada donde empieza el buffer actual
+    private long start;
+
+    /**
+     * Crea un lector sobre un flujo de entrada
+     * @param in Flujo con el caso en formato ICPC
+     */
+    public ContestReader(InputStream in) {
+        this.in = in;
+        this.channel = null;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.buffer.limit(0);
+    }
+
+    /**
+     * Crea un lector sobre bytes ya cargados (por ejemplo un archivo mapeado)
+     * @param data Bytes con el caso en formato ICPC
+     */
+    public ContestReader(ByteBuffer data) {
+        this.in = null;
+        this.channel = null;
+        this.buffer = data;
+    }
+
+    /**
+     * Crea un lector sobre un archivo, mapeado en memoria por ventanas a medida que se lee
+     * @param channel Canal abierto para lectura con el caso en formato ICPC
+     * @param offset Byte desde el que se empieza a leer
+     */
+    public ContestReader(FileChannel channel, long offset) {
+        this.in = null;
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(0);
+        this.start = offset;
+    }
+
+    /**
+     * Lee el caso completo de un archivo mapeado en memoria
+     * @param file Archivo con el caso en formato ICPC
+     * @return Días del caso en columnas
+     * @throws IOException si el archivo no se puede leer o está incompleto
+     */
+    public static ContestDays readFile(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return new ContestReader(channel, 0).readDays();
+        }
+    }
+
+    /**
+     * Posición en bytes del próximo byte a leer, contada desde el inicio de la entrada
+     * @return Bytes consumidos
+     */
+    public long position() {
+        return start + buffer.position();
+    }
+
+    /**
+     * Lee un caso completo: el número de días y luego cada día
+     * @return Días del caso en columnas
+     * @throws IOException si la entrada termina antes de tiempo o el número de días es negativo
+     */
+    public ContestDays readDays() throws IOException {
+        int numDays = readDayCount();
+        ContestDays days = new ContestDays(Math.min(numDays, INITIAL_DAYS));
+        for (int day = 0; day < numDays; day++) {
+            int type = nextInt();
+            int location = nextInt();
+            int tenges = type == ContestDays.STORE ? nextInt() : 0;
+            days.add(type, location, tenges);
+        }
+        return days;
+    }
+
+    /**
+     * Lee el encabezado del caso: el número de días
+     * @return Número de días, mayor o igual que 0
+     * @throws IOException si falta el número o es negativo
+     */
+    public int readDayCount() throws IOException {
+        int numDays = nextInt();
+        if (numDays < 0) {
+            throw new IOException("Entrada inválida: número de días negativo (" + numDays + ")");
+        }
+        return numDays;
+    }
+
+    /**
+     * Lee el siguiente entero, saltando espacios y saltos de línea
+     * @return Entero leído
+     * @throws IOException si la entrada termina antes del número, el token no es un número
+     *         o no cabe en un int
+     */
+    public int nextInt() throws IOException {
+        int c = read();
+        while (c >= 0 && c <= ' ') {
+            c = read();
+        }
+        if (c < 0) {
+            throw new EOFException("Entrada incompleta: se esperaba un número");
+        }
+        boolean negative = c == '-';
+        if (negative) {
+            c = read();
+        }
+        if (c < '0' || c > '9') {
+            throw new IOException("Entrada inválida: se esperaba un número");
+        }
+        // Se acumula en negativo para aceptar Integer.MIN_VALUE
+        int limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        int value = 0;
+        while (c >= '0' && c <= '9') {
+            int digit = c - '0';
+            if (value < (limit + digit) / 10) {
+                throw new IOException("Entrada inválida: el número no cabe en un int");
+            }
+            value = value * 10 - digit;
+            c = read();
+        }
+        if (c > ' ') {
+            throw new IOException("Entrada inválida: carácter inesperado después de un número");
+        }
+        return negative ? value : -value;
+    }
+
+    /**
+     * Siguiente byte de la entrada, o -1 al final
+     */
+    private int read() throws IOException {
+        if (!buffer.hasRemaining()) {
+            if (channel != null) {
+                long next = start + buffer.limit();
+                long size = Math.min(WINDOW_SIZE, channel.size() - next);
+                if (size <= 0) {
+                    return -1;
+                }
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, next, size);
+                start = next;
+            } else {
+                if (in == null) {
+                    return -1;
+                }
+                int count = in.read(buffer.array(), 0, buffer.capacity());
+                if (count <= 0) {
+                    return -1;
+                }
+                start += buffer.limit();
+                buffer.position(0);
+                buffer.limit(count);
+            }
+        }
+        return buffer.get() & 0xFF;
+    }
+}
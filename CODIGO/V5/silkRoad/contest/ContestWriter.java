@@ -0,0 +1,83 @@
+package silkRoad.contest;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Escritor de enteros con buffer propio: convierte cada número a dígitos ASCII
+ * directamente en un arreglo de bytes, sin String intermedios.
+ */
+public class ContestWriter {
+    private static final int BUFFER_SIZE = 1 << 16;
+    // Espacio máximo de un int en texto: signo + 10 dígitos + salto de línea
+    private static final int MAX_INT_CHARS = 12;
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private int position;
+
+    /**
+     * Crea un escritor sobre un flujo de salida
+     * @param out Flujo donde se escriben las respuestas
+     */
+    public ContestWriter(OutputStream out) {
+        this.out = out;
+        this.buffer = new byte[BUFFER_SIZE];
+        this.position = 0;
+    }
+
+    /**
+     * Escribe un entero seguido de un salto de línea
+     * @param value Entero a escribir
+     * @throws IOException si falla la escritura
+     */
+    public void writeLine(int value) throws IOException {
+        if (position + MAX_INT_CHARS > buffer.length) {
+            flushBuffer();
+        }
+        long remaining = value;
+        if (remaining < 0) {
+            buffer[position++] = '-';
+            remaining = -remaining;
+        }
+        int start = position;
+        do {
+            buffer[position++] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining > 0);
+        // Los dígitos quedaron al revés
+        for (int i = start, j = position - 1; i < j; i++, j--) {
+            byte digit = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = digit;
+        }
+        buffer[position++] = '\n';
+    }
+
+    /**
+     * Escribe cada respuesta en su propia línea
+     * @param results Respuestas a escribir
+     * @throws IOException si falla la escritura
+     */
+    public void writeLines(int[] results) throws IOException {
+        for (int i = 0; i < results.length; i++) {
+            writeLine(results[i]);
+        }
+    }
+
+    /**
+     * Envía al flujo todo lo que quede en el buffer
+     * @throws IOException si falla la escritura
+     */
+    public void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
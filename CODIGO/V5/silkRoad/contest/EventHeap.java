@@ -0,0 +1,78 @@
+package silkRoad.contest;
+
+import java.util.Arrays;
+
+/**
+ * Montículo mínimo de eventos (tiempo long, vértice int) para las búsquedas tipo Dijkstra.
+ */
+class EventHeap {
+    private long[] keys;
+    private int[] values;
+    private int size;
+
+    EventHeap(int capacity) {
+        keys = new long[Math.max(1, capacity)];
+        values = new int[Math.max(1, capacity)];
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    long peekKey() {
+        return keys[0];
+    }
+
+    int peekValue() {
+        return values[0];
+    }
+
+    /**
+     * Agrega un evento
+     * @param key Tiempo del evento
+     * @param value Vértice asociado
+     */
+    void push(long key, int value) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            values = Arrays.copyOf(values, size * 2);
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) break;
+            keys[i] = keys[parent];
+            values[i] = values[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        values[i] = value;
+    }
+
+    /**
+     * Elimina el evento de menor tiempo (leer antes con peekKey/peekValue)
+     */
+    void pop() {
+        long lastKey = keys[--size];
+        int lastValue = values[size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && keys[child + 1] < keys[child]) {
+                child++;
+            }
+            if (lastKey <= keys[child]) break;
+            keys[i] = keys[child];
+            values[i] = values[child];
+            i = child;
+        }
+        keys[i] = lastKey;
+        values[i] = lastValue;
+    }
+}
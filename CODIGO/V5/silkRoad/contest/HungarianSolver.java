@@ -0,0 +1,153 @@
+package silkRoad.contest;
+
+/**
+ * Motor exacto basado en el método húngaro (potenciales + caminos de aumento).
+ * Trabaja en O(n^2 * m) tiempo y O(n + m) memoria extra, con n = min(R, S) y m = max(R, S).
+ *
+ * Como las ganancias no son negativas, asignar un robot a una tienda con ganancia 0
+ * equivale a dejarlo sin asignar, así que basta con resolver la asignación completa
+ * del lado más pequeño de la matriz.
+ *
+ * Con ubicaciones o pares candidatos trabaja en forma dispersa: cada paso de aumento es
+ * un Dijkstra sobre los pares con ganancia positiva, sin armar la matriz R x S.
+ *
+ * Las matrices anidadas se copian a un arreglo plano que se reutiliza entre llamadas, así
+ * que una instancia no debe compartirse entre hilos.
+ */
+public class HungarianSolver extends AssignmentSolver {
+
+    private static final long INF = Long.MAX_VALUE / 4;
+
+    private final ProfitMatrix flat = new ProfitMatrix(false);
+
+    /**
+     * Genera los pares candidatos y resuelve en forma dispersa
+     * @param entities Robots y tiendas en la ruta
+     * @return Máxima ganancia total
+     */
+    @Override
+    public int maxProfit(RoadEntities entities) {
+        return maxProfit(CandidatePairs.build(entities));
+    }
+
+    /**
+     * Reconstruye la asignación sobre los pares candidatos, sin armar la matriz
+     * @param entities Robots y tiendas en la ruta
+     * @return Índice de tienda por robot, o UNASSIGNED si el robot no roba
+     */
+    @Override
+    public int[] assign(RoadEntities entities) {
+        SparseMatching matching = new SparseMatching(CandidatePairs.build(entities));
+        matching.solve();
+        return matching.getAssignment();
+    }
+
+    /**
+     * Método húngaro sobre los pares candidatos, con Dijkstra en cada paso de aumento
+     * @param pairs Pares robot-tienda con ganancia positiva
+     * @return Máxima ganancia total
+     */
+    @Override
+    public int maxProfit(CandidatePairs pairs) {
+        return (int) new SparseMatching(pairs).solve();
+    }
+
+    /**
+     * Calcula la máxima ganancia total con el método húngaro
+     * @param profitMatrix Matriz de ganancias [robot][store]
+     * @return Máxima ganancia total
+     */
+    @Override
+    public int maxProfit(int[][] profitMatrix) {
+        if (profitMatrix.length == 0 || profitMatrix[0].length == 0) {
+            return 0;
+        }
+        flat.load(profitMatrix);
+        return maxProfit(flat);
+    }
+
+    /**
+     * Método húngaro denso leyendo directo el arreglo plano de la matriz
+     * @param matrix Matriz de ganancias plana
+     * @return Máxima ganancia total
+     */
+    @Override
+    public int maxProfit(ProfitMatrix matrix) {
+        int rows = matrix.getRobotCount();
+        int columns = matrix.getStoreCount();
+        if (rows == 0 || columns == 0) {
+            return 0;
+        }
+        int[] values = matrix.values();
+        boolean transposed = rows > columns;
+        int n = transposed ? columns : rows;
+        int m = transposed ? rows : columns;
+        // Paso entre filas y entre columnas del problema n x m dentro del arreglo plano
+        int rowStep = transposed ? 1 : columns;
+        int columnStep = transposed ? columns : 1;
+
+        // Índices desde 1; la columna 0 es ficticia (convención del algoritmo)
+        long[] u = new long[n + 1];
+        long[] v = new long[m + 1];
+        int[] matchOfColumn = new int[m + 1];
+        int[] way = new int[m + 1];
+        long[] minv = new long[m + 1];
+        boolean[] used = new boolean[m + 1];
+
+        for (int i = 1; i <= n; i++) {
+            matchOfColumn[0] = i;
+            int j0 = 0;
+            for (int j = 0; j <= m; j++) {
+                minv[j] = INF;
+                used[j] = false;
+            }
+            do {
+                used[j0] = true;
+                int i0 = matchOfColumn[j0];
+                int rowStart = (i0 - 1) * rowStep;
+                long delta = INF;
+                int j1 = 0;
+                for (int j = 1; j <= m; j++) {
+                    if (used[j]) continue;
+                    long cost = -values[rowStart + (j - 1) * columnStep];
+                    long cur = cost - u[i0] - v[j];
+                    if (cur < minv[j]) {
+                        minv[j] = cur;
+                        way[j] = j0;
+                    }
+                    if (minv[j] < delta) {
+                        delta = minv[j];
+                        j1 = j;
+                    }
+                }
+                for (int j = 0; j <= m; j++) {
+                    if (used[j]) {
+                        u[matchOfColumn[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (matchOfColumn[j0] != 0);
+            do {
+                int j1 = way[j0];
+                matchOfColumn[j0] = matchOfColumn[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+
+        long total = 0;
+        for (int j = 1; j <= m; j++) {
+            if (matchOfColumn[j] != 0) {
+                total += values[(matchOfColumn[j] - 1) * rowStep + (j - 1) * columnStep];
+            }
+        }
+        return (int) total;
+    }
+
+    @Override
+    public String getName() {
+        return "hungarian";
+    }
+}
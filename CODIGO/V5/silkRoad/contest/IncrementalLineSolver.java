@@ -0,0 +1,665 @@
+package silkRoad.contest;
+
+import java.util.Arrays;
+
+/**
+ * Versión incremental del barrido sobre la línea: resuelve todos los días de un caso
+ * sin volver a barrer la ruta completa cada día.
+ *
+ * La asignación se ve como un flujo de costo mínimo sobre la línea: cada tramo entre dos
+ * ubicaciones consecutivas guarda cuántos robots lo cruzan (positivo hacia la derecha).
+ * En el grafo residual cruzar un tramo cuesta su largo, salvo que ya lo crucen robots en
+ * sentido contrario, en cuyo caso deshacer uno de esos cruces lo descuenta. Como el flujo
+ * de cada día es óptimo, agregar o quitar un robot o una tienda se repara con un único
+ * camino de aumento desde su ubicación:
+ * - robot nuevo: hasta una tienda libre (gana sus tenges) o hasta un robot asignado que cede su tienda
+ * - tienda nueva: desde un robot libre o desde una tienda asignada que se abandona
+ * - quitar un robot o una tienda asignados: el mismo camino desde o hacia su ubicación
+ *
+ * Un árbol de segmentos sobre las ubicaciones (comprimidas de antemano a partir de todos
+ * los días) guarda el mejor extremo de camino hacia cada lado, así que cada día cuesta
+ * O(log n) para encontrar el camino. Actualizar sus tramos cuesta O(log n) más O(log n)
+ * por cada tramo que cambia de sentido de costo (su flujo pasa por 0); los demás reciben
+ * el flujo de forma diferida. Ese segundo término no está acotado: un camino puede
+ * invertir O(n) tramos, así que el peor caso es O(n) por día y O(n²) por caso.
+ *
+ * Medido con 200 000 eventos al azar (mitad robots, mitad tiendas): unos 2 s si los
+ * robots solo alcanzan tiendas cercanas, pero unos 8 s si alcanzan cualquier tienda,
+ * porque cada camino invierte en promedio unos 200 tramos. No es entonces un modo para
+ * las restricciones completas de la maratón, solo evita volver a barrer la ruta cada día
+ * como LineSweepSolver.
+ *
+ * En una misma ubicación los robots son intercambiables y las tiendas asignadas son
+ * siempre las de más tenges, así que basta contar robots libres/asignados y cuántas de
+ * las tiendas presentes (ordenadas por tenges) están asignadas.
+ */
+public class IncrementalLineSolver {
+
+    private static final long NEG = Long.MIN_VALUE / 4;
+
+    private final ContestDays days;
+    private final int[] coordinates;
+    private final int nodeCount;
+    private final int size;
+
+    // Por ubicación: flujo del tramo que la une con la anterior y conteo de robots y tiendas
+    private final int[] flow;
+    private final int[] freeRobots;
+    private final int[] usedRobots;
+    private final int[] usedStores;
+    private final int[] presentStores;
+    private final long[] outValues;
+    private final long[] inValues;
+
+    // Tiendas en ranuras ordenadas por (ubicación, tenges de mayor a menor)
+    private final int[] storeStart;
+    private final int[] slotTenges;
+    private final int[] arrivalSlots;
+    private final int[] arrived;
+    private final int[] removed;
+    private final int[] aliveTree;
+
+    // Árbol de segmentos con cada nodo contiguo en memoria, para que bajar hasta un tramo
+    // invertido lea un registro por nodo en vez de catorce arreglos:
+    // - tree: costo de cruzar el nodo hacia cada lado y mejor extremo de camino hacia cada lado
+    // - info: ubicación de cada mejor extremo (mismo desplazamiento que su valor en tree),
+    //   flujo pendiente y, para saber si aplicarlo cambia algún costo, cuántos tramos tienen
+    //   flujo 0, el menor flujo positivo y el mayor negativo
+    private static final int SUM_RIGHT = 0;
+    private static final int SUM_LEFT = 1;
+    private static final int OUT_RIGHT = 2;
+    private static final int OUT_LEFT = 3;
+    private static final int IN_RIGHT = 4;
+    private static final int IN_LEFT = 5;
+    private static final int TREE_STRIDE = 6;
+    private static final int PENDING = 0;
+    private static final int ZEROS = 1;
+    private static final int MIN_POSITIVE = 6;
+    private static final int MAX_NEGATIVE = 7;
+    private static final int INFO_STRIDE = 8;
+    private final long[] tree;
+    private final int[] info;
+    private final int levels;
+
+    private long foldBest;
+    private int foldArg;
+    private long totalProfit;
+
+    /**
+     * Prepara el motor para los días de un caso: comprime las ubicaciones y ordena las tiendas
+     * @param days Días del caso (tipo, ubicación, tenges)
+     */
+    public IncrementalLineSolver(ContestDays days) {
+        this.days = days;
+        int numDays = days.size();
+        int[] locations = new int[numDays];
+        int count = 0;
+        for (int day = 0; day < numDays; day++) {
+            int type = days.getType(day);
+            if (type == ContestDays.ROBOT || type == ContestDays.STORE) {
+                locations[count++] = days.getLocation(day);
+            }
+        }
+        Arrays.sort(locations, 0, count);
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique == 0 || locations[unique - 1] != locations[i]) {
+                locations[unique++] = locations[i];
+            }
+        }
+        coordinates = Arrays.copyOf(locations, unique);
+        nodeCount = unique;
+        int leaves = 1;
+        while (leaves < Math.max(1, nodeCount)) {
+            leaves <<= 1;
+        }
+        size = leaves;
+        levels = Integer.numberOfTrailingZeros(leaves);
+
+        flow = new int[nodeCount];
+        freeRobots = new int[nodeCount];
+        usedRobots = new int[nodeCount];
+        usedStores = new int[nodeCount];
+        presentStores = new int[nodeCount];
+        outValues = new long[nodeCount];
+        inValues = new long[nodeCount];
+        Arrays.fill(outValues, NEG);
+        Arrays.fill(inValues, NEG);
+
+        // Ranuras de tiendas: agrupadas por ubicación y, dentro de cada una, por tenges descendente
+        storeStart = new int[nodeCount + 1];
+        int numStores = 0;
+        for (int day = 0; day < numDays; day++) {
+            if (days.getType(day) == ContestDays.STORE) {
+                storeStart[nodeOf(days.getLocation(day)) + 1]++;
+                numStores++;
+            }
+        }
+        for (int node = 0; node < nodeCount; node++) {
+            storeStart[node + 1] += storeStart[node];
+        }
+        long[] keys = new long[numStores];
+        arrived = new int[nodeCount];
+        for (int day = 0; day < numDays; day++) {
+            if (days.getType(day) == ContestDays.STORE) {
+                int node = nodeOf(days.getLocation(day));
+                int arrival = arrived[node]++;
+                keys[storeStart[node] + arrival] = ((long) days.getTenges(day) << 32) | arrival;
+            }
+        }
+        slotTenges = new int[numStores];
+        arrivalSlots = new int[numStores];
+        for (int node = 0; node < nodeCount; node++) {
+            int start = storeStart[node];
+            int end = storeStart[node + 1];
+            Arrays.sort(keys, start, end);
+            for (int i = start; i < end; i++) {
+                int slot = end - 1 - (i - start);
+                slotTenges[slot] = (int) (keys[i] >> 32);
+                arrivalSlots[start + (int) keys[i]] = slot;
+            }
+        }
+        Arrays.fill(arrived, 0);
+        removed = new int[nodeCount];
+        aliveTree = new int[numStores + 1];
+
+        tree = new long[2 * size * TREE_STRIDE];
+        info = new int[2 * size * INFO_STRIDE];
+        for (int leaf = 0; leaf < size; leaf++) {
+            setLeaf(leaf);
+        }
+        for (int i = size - 1; i > 0; i--) {
+            pull(i);
+        }
+    }
+
+    /**
+     * Resuelve todos los días del caso en orden
+     * @return Array con la máxima utilidad obtenible para cada día
+     */
+    public int[] solve() {
+        int numDays = days.size();
+        int[] maxProfits = new int[numDays];
+        for (int day = 0; day < numDays; day++) {
+            int type = days.getType(day);
+            int node = nodeOf(days.getLocation(day));
+            if (type == ContestDays.ROBOT) {
+                addRobot(node);
+            } else if (type == ContestDays.STORE) {
+                addStore(node);
+            } else if (type == ContestDays.REMOVE_ROBOT && node >= 0) {
+                removeRobot(node);
+            } else if (type == ContestDays.REMOVE_STORE && node >= 0) {
+                removeStore(node);
+            }
+            maxProfits[day] = (int) totalProfit;
+        }
+        return maxProfits;
+    }
+
+    /**
+     * Robot nuevo: aumenta por el mejor camino que sale de su ubicación, si gana algo
+     */
+    private void addRobot(int node) {
+        long gain = bestOut(node);
+        if (gain > 0) {
+            int to = foldArg;
+            takeOut(to);
+            usedRobots[node]++;
+            revalue(node);
+            push(node, to);
+            totalProfit += gain;
+        } else {
+            freeRobots[node]++;
+            revalue(node);
+            refreshLeaf(node);
+        }
+    }
+
+    /**
+     * Tienda nueva: aumenta por el mejor camino que llega a su ubicación, si gana algo
+     */
+    private void addStore(int node) {
+        int slot = arrivalSlots[storeStart[node] + arrived[node]++];
+        long gain = slotTenges[slot] + bestIn(node);
+        if (gain > 0) {
+            int from = foldArg;
+            takeIn(from);
+            setAlive(node, slot, 1);
+            usedStores[node]++;
+            revalue(node);
+            push(from, node);
+            totalProfit += gain;
+        } else {
+            setAlive(node, slot, 1);
+            revalue(node);
+            refreshLeaf(node);
+        }
+    }
+
+    /**
+     * Quitar un robot: si estaba asignado, otro camino debe llegar a su ubicación
+     */
+    private void removeRobot(int node) {
+        if (freeRobots[node] > 0) {
+            freeRobots[node]--;
+            revalue(node);
+            refreshLeaf(node);
+            return;
+        }
+        if (usedRobots[node] == 0) {
+            return;
+        }
+        usedRobots[node]--;
+        revalue(node);
+        refreshLeaf(node);
+        long gain = bestIn(node);
+        int from = foldArg;
+        takeIn(from);
+        push(from, node);
+        totalProfit += gain;
+    }
+
+    /**
+     * Quitar la primera tienda que llegó a una ubicación: si estaba asignada, el robot que
+     * la robaba sigue por el mejor camino que sale de su ubicación
+     */
+    private void removeStore(int node) {
+        if (removed[node] == arrived[node]) {
+            return;
+        }
+        int slot = arrivalSlots[storeStart[node] + removed[node]++];
+        boolean used = aliveBefore(slot) - aliveBefore(storeStart[node]) < usedStores[node];
+        setAlive(node, slot, -1);
+        if (used) {
+            usedStores[node]--;
+            totalProfit -= slotTenges[slot];
+        }
+        revalue(node);
+        refreshLeaf(node);
+        if (!used) {
+            return;
+        }
+        long gain = bestOut(node);
+        int to = foldArg;
+        takeOut(to);
+        push(node, to);
+        totalProfit += gain;
+    }
+
+    /**
+     * Aplica el extremo de un camino que sale: una tienda libre pasa a asignada o un robot
+     * asignado queda libre
+     */
+    private void takeOut(int node) {
+        if (freeStoreTenges(node) >= (usedRobots[node] > 0 ? 0 : NEG)) {
+            usedStores[node]++;
+        } else {
+            usedRobots[node]--;
+            freeRobots[node]++;
+        }
+        revalue(node);
+    }
+
+    /**
+     * Aplica el extremo de un camino que llega: un robot libre pasa a asignado o una tienda
+     * asignada queda libre
+     */
+    private void takeIn(int node) {
+        if ((freeRobots[node] > 0 ? 0 : NEG) >= abandonedStoreValue(node)) {
+            freeRobots[node]--;
+            usedRobots[node]++;
+        } else {
+            usedStores[node]--;
+        }
+        revalue(node);
+    }
+
+    /**
+     * Mejor ganancia de un camino que sale de node; deja su destino en foldArg
+     */
+    private long bestOut(int node) {
+        long best = outValues[node];
+        int arg = node;
+        if (node + 1 < nodeCount) {
+            foldForward(SUM_RIGHT, OUT_RIGHT, node + 1, nodeCount - 1);
+            if (foldBest > best) {
+                best = foldBest;
+                arg = foldArg;
+            }
+        }
+        if (node > 0) {
+            foldBackward(SUM_LEFT, OUT_LEFT, 0, node - 1);
+            long candidate = foldBest - tree[(size + node) * TREE_STRIDE + SUM_LEFT];
+            if (candidate > best) {
+                best = candidate;
+                arg = foldArg;
+            }
+        }
+        foldArg = arg;
+        return best;
+    }
+
+    /**
+     * Mejor ganancia de un camino que llega a node; deja su origen en foldArg
+     */
+    private long bestIn(int node) {
+        long best = inValues[node];
+        int arg = node;
+        if (node > 0) {
+            foldBackward(SUM_RIGHT, IN_LEFT, 0, node - 1);
+            long candidate = foldBest - tree[(size + node) * TREE_STRIDE + SUM_RIGHT];
+            if (candidate > best) {
+                best = candidate;
+                arg = foldArg;
+            }
+        }
+        if (node + 1 < nodeCount) {
+            foldForward(SUM_LEFT, IN_RIGHT, node + 1, nodeCount - 1);
+            if (foldBest > best) {
+                best = foldBest;
+                arg = foldArg;
+            }
+        }
+        foldArg = arg;
+        return best;
+    }
+
+    /**
+     * Manda una unidad de flujo por los tramos entre from y to y actualiza el árbol
+     */
+    private void push(int from, int to) {
+        if (from < to) {
+            addFlow(1, 0, size - 1, from + 1, to, 1);
+        } else if (to < from) {
+            addFlow(1, 0, size - 1, to + 1, from, -1);
+        }
+        refreshLeaf(from);
+        refreshLeaf(to);
+    }
+
+    /**
+     * Suma delta al flujo de los tramos first..last. Un nodo cubierto cuyos tramos no cambian
+     * de signo conserva sus costos, así que solo se anota el flujo pendiente; solo se baja
+     * hasta las hojas donde un tramo pasa por 0.
+     */
+    private void addFlow(int i, int low, int high, int first, int last, int delta) {
+        if (last < low || high < first) {
+            return;
+        }
+        if (first <= low && high <= last && !changesCost(i, delta)) {
+            applyPending(i, delta);
+            return;
+        }
+        if (i >= size) {
+            flow[i - size] += delta;
+            setLeaf(i - size);
+            return;
+        }
+        pushDown(i);
+        int mid = (low + high) >>> 1;
+        addFlow(2 * i, low, mid, first, last, delta);
+        addFlow(2 * i + 1, mid + 1, high, first, last, delta);
+        pull(i);
+    }
+
+    /**
+     * Sumar +1 cambia el costo de los tramos con flujo -1 o 0; sumar -1, el de los tramos con 0 o 1
+     */
+    private boolean changesCost(int i, int delta) {
+        int at = i * INFO_STRIDE;
+        return info[at + ZEROS] > 0
+            || (delta > 0 ? info[at + MAX_NEGATIVE] == -1 : info[at + MIN_POSITIVE] == 1);
+    }
+
+    private void applyPending(int i, int delta) {
+        int at = i * INFO_STRIDE;
+        if (i >= size) {
+            flow[i - size] += delta;
+        } else {
+            info[at + PENDING] += delta;
+        }
+        if (info[at + MIN_POSITIVE] != Integer.MAX_VALUE) {
+            info[at + MIN_POSITIVE] += delta;
+        }
+        if (info[at + MAX_NEGATIVE] != Integer.MIN_VALUE) {
+            info[at + MAX_NEGATIVE] += delta;
+        }
+    }
+
+    private void pushDown(int i) {
+        int pending = info[i * INFO_STRIDE + PENDING];
+        if (pending != 0) {
+            applyPending(2 * i, pending);
+            applyPending(2 * i + 1, pending);
+            info[i * INFO_STRIDE + PENDING] = 0;
+        }
+    }
+
+    /**
+     * Recalcula los valores de extremo de una ubicación después de cambiar sus conteos:
+     * - un camino que sale puede terminar en la mejor tienda libre (sus tenges) o en un
+     *   robot asignado que cede su tienda (0)
+     * - un camino que llega puede empezar en un robot libre (0) o en la peor tienda
+     *   asignada, que se abandona (menos sus tenges)
+     */
+    private void revalue(int node) {
+        outValues[node] = Math.max(freeStoreTenges(node), usedRobots[node] > 0 ? 0 : NEG);
+        inValues[node] = Math.max(freeRobots[node] > 0 ? 0 : NEG, abandonedStoreValue(node));
+    }
+
+    private long freeStoreTenges(int node) {
+        return presentStores[node] > usedStores[node] ? slotTenges[kthAlive(node, usedStores[node] + 1)] : NEG;
+    }
+
+    private long abandonedStoreValue(int node) {
+        return usedStores[node] > 0 ? -(long) slotTenges[kthAlive(node, usedStores[node])] : NEG;
+    }
+
+    private int nodeOf(int location) {
+        int node = Arrays.binarySearch(coordinates, location);
+        return node >= 0 ? node : -1;
+    }
+
+    /**
+     * Recalcula una hoja y sus ancestros, bajando antes el flujo pendiente hasta ella
+     */
+    private void refreshLeaf(int leaf) {
+        int i = leaf + size;
+        for (int shift = levels; shift > 0; shift--) {
+            pushDown(i >> shift);
+        }
+        setLeaf(leaf);
+        for (i >>= 1; i > 0; i >>= 1) {
+            pull(i);
+        }
+    }
+
+    private void setLeaf(int leaf) {
+        int i = leaf + size;
+        int t = i * TREE_STRIDE;
+        int at = i * INFO_STRIDE;
+        int f = leaf < nodeCount ? flow[leaf] : 0;
+        info[at + MIN_POSITIVE] = f > 0 ? f : Integer.MAX_VALUE;
+        info[at + MAX_NEGATIVE] = f < 0 ? f : Integer.MIN_VALUE;
+        info[at + ZEROS] = f == 0 && leaf < nodeCount ? 1 : 0;
+        if (leaf >= nodeCount) {
+            tree[t + SUM_RIGHT] = 0;
+            tree[t + SUM_LEFT] = 0;
+            tree[t + OUT_RIGHT] = NEG;
+            tree[t + OUT_LEFT] = NEG;
+            tree[t + IN_RIGHT] = NEG;
+            tree[t + IN_LEFT] = NEG;
+            return;
+        }
+        long length = leaf == 0 ? 0 : (long) coordinates[leaf] - coordinates[leaf - 1];
+        long right = f >= 0 ? length : -length;
+        long left = f <= 0 ? length : -length;
+        long out = outValues[leaf];
+        long in = inValues[leaf];
+        tree[t + SUM_RIGHT] = right;
+        tree[t + SUM_LEFT] = left;
+        tree[t + OUT_RIGHT] = out - right;
+        tree[t + OUT_LEFT] = out;
+        tree[t + IN_RIGHT] = in - left;
+        tree[t + IN_LEFT] = in;
+        info[at + OUT_RIGHT] = leaf;
+        info[at + OUT_LEFT] = leaf;
+        info[at + IN_RIGHT] = leaf;
+        info[at + IN_LEFT] = leaf;
+    }
+
+    private void pull(int i) {
+        int t = i * TREE_STRIDE;
+        int l = 2 * t;
+        int r = l + TREE_STRIDE;
+        int at = i * INFO_STRIDE;
+        int la = 2 * at;
+        int ra = la + INFO_STRIDE;
+        long leftRight = tree[l + SUM_RIGHT];
+        long leftLeft = tree[l + SUM_LEFT];
+        long rightRight = tree[r + SUM_RIGHT];
+        long rightLeft = tree[r + SUM_LEFT];
+        tree[t + SUM_RIGHT] = leftRight + rightRight;
+        tree[t + SUM_LEFT] = leftLeft + rightLeft;
+        info[at + MIN_POSITIVE] = Math.min(info[la + MIN_POSITIVE], info[ra + MIN_POSITIVE]);
+        info[at + MAX_NEGATIVE] = Math.max(info[la + MAX_NEGATIVE], info[ra + MAX_NEGATIVE]);
+        info[at + ZEROS] = info[la + ZEROS] + info[ra + ZEROS];
+        // Hacia la derecha el costo se acumula desde el inicio del nodo
+        pullBest(t + OUT_RIGHT, l + OUT_RIGHT, r + OUT_RIGHT, leftRight, at + OUT_RIGHT, la + OUT_RIGHT, ra + OUT_RIGHT);
+        pullBest(t + IN_RIGHT, l + IN_RIGHT, r + IN_RIGHT, leftLeft, at + IN_RIGHT, la + IN_RIGHT, ra + IN_RIGHT);
+        // Hacia la izquierda el costo se acumula desde el final del nodo
+        pullBest(t + OUT_LEFT, r + OUT_LEFT, l + OUT_LEFT, rightLeft, at + OUT_LEFT, ra + OUT_LEFT, la + OUT_LEFT);
+        pullBest(t + IN_LEFT, r + IN_LEFT, l + IN_LEFT, rightRight, at + IN_LEFT, ra + IN_LEFT, la + IN_LEFT);
+    }
+
+    /**
+     * Mejor extremo de un nodo entre el hijo cercano y el lejano, al que se le descuenta el
+     * costo de cruzar el cercano; en empate gana el cercano
+     */
+    private void pullBest(int target, int near, int far, long nearCost, int targetArg, int nearArg, int farArg) {
+        long farBest = tree[far] - nearCost;
+        if (tree[near] >= farBest) {
+            tree[target] = tree[near];
+            info[targetArg] = info[nearArg];
+        } else {
+            tree[target] = farBest;
+            info[targetArg] = info[farArg];
+        }
+    }
+
+    /**
+     * Mejor extremo en las hojas from..to cuando el costo se acumula de izquierda a derecha
+     */
+    private void foldForward(int sum, int best, int from, int to) {
+        long leftSum = 0;
+        long leftBest = NEG;
+        int leftArg = -1;
+        long rightBest = NEG;
+        int rightArg = -1;
+        for (int l = from + size, r = to + size + 1; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                long candidate = tree[l * TREE_STRIDE + best] - leftSum;
+                if (candidate > leftBest) {
+                    leftBest = candidate;
+                    leftArg = info[l * INFO_STRIDE + best];
+                }
+                leftSum += tree[l * TREE_STRIDE + sum];
+                l++;
+            }
+            if ((r & 1) == 1) {
+                r--;
+                long candidate = tree[r * TREE_STRIDE + best];
+                if (candidate >= rightBest - tree[r * TREE_STRIDE + sum]) {
+                    rightBest = candidate;
+                    rightArg = info[r * INFO_STRIDE + best];
+                } else {
+                    rightBest -= tree[r * TREE_STRIDE + sum];
+                }
+            }
+        }
+        if (rightBest - leftSum > leftBest) {
+            foldBest = rightBest - leftSum;
+            foldArg = rightArg;
+        } else {
+            foldBest = leftBest;
+            foldArg = leftArg;
+        }
+    }
+
+    /**
+     * Mejor extremo en las hojas from..to cuando el costo se acumula de derecha a izquierda
+     */
+    private void foldBackward(int sum, int best, int from, int to) {
+        long leftBest = NEG;
+        int leftArg = -1;
+        long rightSum = 0;
+        long rightBest = NEG;
+        int rightArg = -1;
+        for (int l = from + size, r = to + size + 1; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                long candidate = tree[l * TREE_STRIDE + best];
+                if (candidate >= leftBest - tree[l * TREE_STRIDE + sum]) {
+                    leftBest = candidate;
+                    leftArg = info[l * INFO_STRIDE + best];
+                } else {
+                    leftBest -= tree[l * TREE_STRIDE + sum];
+                }
+                l++;
+            }
+            if ((r & 1) == 1) {
+                r--;
+                long candidate = tree[r * TREE_STRIDE + best] - rightSum;
+                if (candidate > rightBest) {
+                    rightBest = candidate;
+                    rightArg = info[r * INFO_STRIDE + best];
+                }
+                rightSum += tree[r * TREE_STRIDE + sum];
+            }
+        }
+        if (leftBest - rightSum > rightBest) {
+            foldBest = leftBest - rightSum;
+            foldArg = leftArg;
+        } else {
+            foldBest = rightBest;
+            foldArg = rightArg;
+        }
+    }
+
+    /**
+     * Marca una ranura de tienda como presente (+1) o quitada (-1)
+     */
+    private void setAlive(int node, int slot, int delta) {
+        presentStores[node] += delta;
+        for (int i = slot + 1; i < aliveTree.length; i += i & -i) {
+            aliveTree[i] += delta;
+        }
+    }
+
+    /**
+     * Tiendas presentes en las ranuras anteriores a slot
+     */
+    private int aliveBefore(int slot) {
+        int count = 0;
+        for (int i = slot; i > 0; i -= i & -i) {
+            count += aliveTree[i];
+        }
+        return count;
+    }
+
+    /**
+     * Ranura de la k-ésima tienda presente (k desde 1) de una ubicación
+     */
+    private int kthAlive(int node, int k) {
+        int target = aliveBefore(storeStart[node]) + k;
+        int position = 0;
+        for (int step = Integer.highestOneBit(Math.max(1, aliveTree.length - 1)); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next < aliveTree.length && aliveTree[next] < target) {
+                position = next;
+                target -= aliveTree[next];
+            }
+        }
+        return position;
+    }
+}
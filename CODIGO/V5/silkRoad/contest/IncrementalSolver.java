@@ -0,0 +1,555 @@
+package silkRoad.contest;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Motor incremental para resolver la maratón día a día.
+ *
+ * Conserva entre días la asignación óptima y los potenciales duales de cada robot y tienda
+ * (u[robot] + p[tienda] >= ganancia para todo par, ambos >= 0, parejas ajustadas y
+ * vértices libres en 0). Al llegar un robot o una tienda nuevos solo ese vértice puede
+ * violar las condiciones de holgura complementaria, así que basta un único paso del método
+ * húngaro desde él (árbol alternante + ajuste de potenciales) para recuperar el óptimo.
+ * Al quitar un robot o una tienda los potenciales siguen siendo factibles y solo su pareja
+ * queda libre con potencial posiblemente positivo, así que el mismo paso desde la pareja
+ * repara la asignación. Cada día cuesta O(R * S) en vez de reconstruir todo el problema.
+ */
+public class IncrementalSolver {
+
+    private static final long INF = Long.MAX_VALUE / 4;
+    private static final int NONE = -1;
+
+    private int robotCount;
+    private int[] robotLocation;
+    private int[] robotMate;
+    private long[] robotDual;
+
+    private int storeCount;
+    private int[] storeLocation;
+    private int[] storeTenges;
+    private int[] storeMate;
+    private long[] storeDual;
+
+    private long totalProfit;
+
+    // Memoria de trabajo del árbol alternante, reutilizada entre días
+    private int stamp;
+    private int[] robotStamp;
+    private long[] robotSlack;
+    private int[] robotSlackFrom;
+    private int[] storeStamp;
+    private long[] storeSlack;
+    private int[] storeSlackFrom;
+    private int[] treeList;
+
+    /**
+     * Crea un motor incremental vacío
+     */
+    public IncrementalSolver() {
+        this(16);
+    }
+
+    /**
+     * Crea un motor incremental con capacidad inicial para robots y tiendas
+     * @param capacity Capacidad inicial de cada lado
+     */
+    public IncrementalSolver(int capacity) {
+        int size = Math.max(1, capacity);
+        robotLocation = new int[size];
+        robotMate = new int[size];
+        robotDual = new long[size];
+        robotStamp = new int[size];
+        robotSlack = new long[size];
+        robotSlackFrom = new int[size];
+        storeLocation = new int[size];
+        storeTenges = new int[size];
+        storeMate = new int[size];
+        storeDual = new long[size];
+        storeStamp = new int[size];
+        storeSlack = new long[size];
+        storeSlackFrom = new int[size];
+        treeList = new int[size];
+    }
+
+    /**
+     * Construcción en bloque: resuelve de una vez la ruta con el método húngaro disperso
+     * (O(E log V) por robot, sin recorrer la matriz R x S) y toma su asignación y sus
+     * potenciales, que cumplen las mismas condiciones que los de este motor. Equivale a
+     * agregar los robots y tiendas uno por uno, pero mucho más rápido para prefijos largos.
+     * @param entities Robots y tiendas presentes, en orden de llegada
+     * @return Motor listo para seguir agregando días
+     */
+    public static IncrementalSolver build(RoadEntities entities) {
+        int numRobots = entities.getRobotCount();
+        int numStores = entities.getStoreCount();
+        SparseMatching matching = new SparseMatching(CandidatePairs.build(entities));
+        matching.solve();
+        IncrementalSolver solver = new IncrementalSolver(Math.max(numRobots, numStores));
+        solver.robotCount = numRobots;
+        solver.storeCount = numStores;
+        for (int s = 0; s < numStores; s++) {
+            solver.storeLocation[s] = entities.getStoreLocation(s);
+            solver.storeTenges[s] = entities.getStoreTenges(s);
+            solver.storeMate[s] = NONE;
+            solver.storeDual[s] = matching.getStoreDual(s);
+        }
+        for (int r = 0; r < numRobots; r++) {
+            int store = matching.getStoreOf(r);
+            solver.robotLocation[r] = entities.getRobotLocation(r);
+            solver.robotMate[r] = store;
+            solver.robotDual[r] = matching.getRobotDual(r);
+            if (store != NONE) {
+                solver.storeMate[store] = r;
+            }
+        }
+        solver.totalProfit = matching.getTotalProfit();
+        return solver;
+    }
+
+    /**
+     * Copia independiente del estado actual (asignación y potenciales), para poder
+     * seguir agregando días desde aquí sin modificar este motor
+     * @return Motor con el mismo estado
+     */
+    public IncrementalSolver copy() {
+        IncrementalSolver copy = new IncrementalSolver(Math.max(robotCount, storeCount));
+        copy.robotCount = robotCount;
+        System.arraycopy(robotLocation, 0, copy.robotLocation, 0, robotCount);
+        System.arraycopy(robotMate, 0, copy.robotMate, 0, robotCount);
+        System.arraycopy(robotDual, 0, copy.robotDual, 0, robotCount);
+        copy.storeCount = storeCount;
+        System.arraycopy(storeLocation, 0, copy.storeLocation, 0, storeCount);
+        System.arraycopy(storeTenges, 0, copy.storeTenges, 0, storeCount);
+        System.arraycopy(storeMate, 0, copy.storeMate, 0, storeCount);
+        System.arraycopy(storeDual, 0, copy.storeDual, 0, storeCount);
+        copy.totalProfit = totalProfit;
+        return copy;
+    }
+
+    /**
+     * Bytes aproximados que ocupa el motor en memoria según la capacidad reservada: las
+     * columnas de cada lado más su memoria de trabajo del árbol alternante
+     */
+    long memoryBytes() {
+        return (long) robotLocation.length * 32 + (long) storeLocation.length * 36 + (long) treeList.length * 4;
+    }
+
+    /**
+     * Bytes que ocupa el estado serializado: dos contadores, las columnas de robots
+     * (ubicación, pareja, potencial), las de tiendas (ubicación, tenges, pareja, potencial)
+     * y la ganancia total
+     */
+    int stateBytes() {
+        return 8 + robotCount * 16 + storeCount * 20 + 8;
+    }
+
+    /**
+     * Escribe la asignación y los potenciales, suficientes para seguir agregando días
+     * @param out Buffer con al menos stateBytes() bytes libres
+     */
+    void writeState(ByteBuffer out) {
+        out.putInt(robotCount);
+        out.putInt(storeCount);
+        for (int r = 0; r < robotCount; r++) {
+            out.putInt(robotLocation[r]).putInt(robotMate[r]).putLong(robotDual[r]);
+        }
+        for (int s = 0; s < storeCount; s++) {
+            out.putInt(storeLocation[s]).putInt(storeTenges[s]).putInt(storeMate[s]).putLong(storeDual[s]);
+        }
+        out.putLong(totalProfit);
+    }
+
+    /**
+     * Reconstruye un motor desde el estado escrito por writeState
+     * @param in Buffer posicionado al inicio del estado
+     * @return Motor con el mismo estado
+     */
+    static IncrementalSolver readState(ByteBuffer in) {
+        int robots = in.getInt();
+        int stores = in.getInt();
+        IncrementalSolver solver = new IncrementalSolver(Math.max(robots, stores));
+        solver.robotCount = robots;
+        for (int r = 0; r < robots; r++) {
+            solver.robotLocation[r] = in.getInt();
+            solver.robotMate[r] = in.getInt();
+            solver.robotDual[r] = in.getLong();
+        }
+        solver.storeCount = stores;
+        for (int s = 0; s < stores; s++) {
+            solver.storeLocation[s] = in.getInt();
+            solver.storeTenges[s] = in.getInt();
+            solver.storeMate[s] = in.getInt();
+            solver.storeDual[s] = in.getLong();
+        }
+        solver.totalProfit = in.getLong();
+        return solver;
+    }
+
+    /**
+     * Agrega el evento de un día según su código de tipo
+     * @param type Tipo (ContestDays.ROBOT, STORE, REMOVE_ROBOT o REMOVE_STORE)
+     * @param location Ubicación
+     * @param tenges Tenges (solo para tiendas)
+     */
+    public void add(int type, int location, int tenges) {
+        if (type == ContestDays.ROBOT) {
+            addRobot(location);
+        } else if (type == ContestDays.STORE) {
+            addStore(location, tenges);
+        } else if (type == ContestDays.REMOVE_ROBOT) {
+            removeRobotAt(location);
+        } else if (type == ContestDays.REMOVE_STORE) {
+            removeStoreAt(location);
+        }
+    }
+
+    /**
+     * Agrega un robot y recupera la asignación óptima con un solo paso de aumento
+     * @param location Ubicación del robot
+     * @return Índice del robot agregado
+     */
+    public int addRobot(int location) {
+        ensureRobotCapacity(robotCount + 1);
+        int robot = robotCount++;
+        robotLocation[robot] = location;
+        robotMate[robot] = NONE;
+        robotStamp[robot] = 0;
+
+        long dual = 0;
+        for (int s = 0; s < storeCount; s++) {
+            dual = Math.max(dual, weight(robot, s) - storeDual[s]);
+        }
+        robotDual[robot] = dual;
+        if (dual > 0) {
+            repair(true, robot);
+        }
+        return robot;
+    }
+
+    /**
+     * Agrega una tienda y recupera la asignación óptima con un solo paso de aumento
+     * @param location Ubicación de la tienda
+     * @param tenges Tenges de la tienda
+     * @return Índice de la tienda agregada
+     */
+    public int addStore(int location, int tenges) {
+        ensureStoreCapacity(storeCount + 1);
+        int store = storeCount++;
+        storeLocation[store] = location;
+        storeTenges[store] = tenges;
+        storeMate[store] = NONE;
+        storeStamp[store] = 0;
+
+        long dual = 0;
+        for (int r = 0; r < robotCount; r++) {
+            dual = Math.max(dual, weight(r, store) - robotDual[r]);
+        }
+        storeDual[store] = dual;
+        if (dual > 0) {
+            repair(false, store);
+        }
+        return store;
+    }
+
+    /**
+     * Quita el primer robot (en orden de llegada) que está en una ubicación
+     * @param location Ubicación del robot
+     * @return true si había un robot en esa ubicación
+     */
+    public boolean removeRobotAt(int location) {
+        for (int r = 0; r < robotCount; r++) {
+            if (robotLocation[r] == location) {
+                removeRobot(r);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Quita la primera tienda (en orden de llegada) que está en una ubicación
+     * @param location Ubicación de la tienda
+     * @return true si había una tienda en esa ubicación
+     */
+    public boolean removeStoreAt(int location) {
+        for (int s = 0; s < storeCount; s++) {
+            if (storeLocation[s] == location) {
+                removeStore(s);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Quita un robot y recupera la asignación óptima con un solo paso desde su tienda.
+     * Los robots siguientes bajan un índice, como en ArrayList.remove.
+     * @param robot Índice del robot
+     */
+    public void removeRobot(int robot) {
+        int mate = robotMate[robot];
+        if (mate != NONE) {
+            totalProfit -= weight(robot, mate);
+            storeMate[mate] = NONE;
+        }
+        int tail = robotCount - robot - 1;
+        System.arraycopy(robotLocation, robot + 1, robotLocation, robot, tail);
+        System.arraycopy(robotMate, robot + 1, robotMate, robot, tail);
+        System.arraycopy(robotDual, robot + 1, robotDual, robot, tail);
+        robotCount--;
+        for (int s = 0; s < storeCount; s++) {
+            if (storeMate[s] > robot) {
+                storeMate[s]--;
+            }
+        }
+        if (mate != NONE && storeDual[mate] > 0) {
+            repair(false, mate);
+        }
+    }
+
+    /**
+     * Quita una tienda y recupera la asignación óptima con un solo paso desde su robot.
+     * Las tiendas siguientes bajan un índice, como en ArrayList.remove.
+     * @param store Índice de la tienda
+     */
+    public void removeStore(int store) {
+        int mate = storeMate[store];
+        if (mate != NONE) {
+            totalProfit -= weight(mate, store);
+            robotMate[mate] = NONE;
+        }
+        int tail = storeCount - store - 1;
+        System.arraycopy(storeLocation, store + 1, storeLocation, store, tail);
+        System.arraycopy(storeTenges, store + 1, storeTenges, store, tail);
+        System.arraycopy(storeMate, store + 1, storeMate, store, tail);
+        System.arraycopy(storeDual, store + 1, storeDual, store, tail);
+        storeCount--;
+        for (int r = 0; r < robotCount; r++) {
+            if (robotMate[r] > store) {
+                robotMate[r]--;
+            }
+        }
+        if (mate != NONE && robotDual[mate] > 0) {
+            repair(true, mate);
+        }
+    }
+
+    /**
+     * Ganancia de un par robot-tienda: tenges - distancia, sin bajar de 0
+     */
+    private long weight(int robot, int store) {
+        long profit = (long) storeTenges[store] - Math.abs((long) robotLocation[robot] - storeLocation[store]);
+        return profit > 0 ? profit : 0;
+    }
+
+    private long weight(boolean rootIsRobot, int a, int b) {
+        return rootIsRobot ? weight(a, b) : weight(b, a);
+    }
+
+    /**
+     * Paso del método húngaro desde un vértice libre con potencial positivo.
+     * Crece un árbol alternante por aristas ajustadas bajando los potenciales del lado
+     * de la raíz y subiendo los del otro lado, hasta que un vértice del árbol llega a
+     * potencial 0 (queda libre) o aparece una arista ajustada hacia un vértice libre (aumento).
+     * @param rootIsRobot true si la raíz es un robot, false si es una tienda
+     * @param root Índice de la raíz
+     */
+    private void repair(boolean rootIsRobot, int root) {
+        long[] dualA = rootIsRobot ? robotDual : storeDual;
+        long[] dualB = rootIsRobot ? storeDual : robotDual;
+        int[] mateA = rootIsRobot ? robotMate : storeMate;
+        int[] mateB = rootIsRobot ? storeMate : robotMate;
+        int[] stampA = rootIsRobot ? robotStamp : storeStamp;
+        int[] stampB = rootIsRobot ? storeStamp : robotStamp;
+        long[] slackB = rootIsRobot ? storeSlack : robotSlack;
+        int[] slackFromB = rootIsRobot ? storeSlackFrom : robotSlackFrom;
+        int countB = rootIsRobot ? storeCount : robotCount;
+
+        stamp++;
+        int treeSize = 0;
+        treeList[treeSize++] = root;
+        stampA[root] = stamp;
+        for (int b = 0; b < countB; b++) {
+            slackB[b] = INF;
+        }
+        relax(rootIsRobot, root, dualA, dualB, stampB, slackB, slackFromB, countB);
+
+        while (true) {
+            long zeroDelta = INF;
+            int zeroVertex = NONE;
+            for (int i = 0; i < treeSize; i++) {
+                int a = treeList[i];
+                if (dualA[a] < zeroDelta) {
+                    zeroDelta = dualA[a];
+                    zeroVertex = a;
+                }
+            }
+            long edgeDelta = INF;
+            int edgeVertex = NONE;
+            for (int b = 0; b < countB; b++) {
+                if (stampB[b] != stamp && slackB[b] < edgeDelta) {
+                    edgeDelta = slackB[b];
+                    edgeVertex = b;
+                }
+            }
+
+            long delta = Math.min(zeroDelta, edgeDelta);
+            for (int i = 0; i < treeSize; i++) {
+                int a = treeList[i];
+                dualA[a] -= delta;
+                if (a != root) {
+                    dualB[mateA[a]] += delta;
+                }
+            }
+            for (int b = 0; b < countB; b++) {
+                if (stampB[b] != stamp && slackB[b] < INF) {
+                    slackB[b] -= delta;
+                }
+            }
+
+            if (zeroDelta <= edgeDelta) {
+                // zeroVertex llega a potencial 0: la raíz toma su lugar y él queda libre
+                flipPath(rootIsRobot, root, zeroVertex, NONE, mateA, mateB, slackFromB);
+                return;
+            }
+            int mate = mateB[edgeVertex];
+            if (mate == NONE) {
+                flipPath(rootIsRobot, root, slackFromB[edgeVertex], edgeVertex, mateA, mateB, slackFromB);
+                return;
+            }
+            // Tienda (o robot) ya asignado: entra al árbol junto con su pareja
+            stampB[edgeVertex] = stamp;
+            stampA[mate] = stamp;
+            treeList[treeSize++] = mate;
+            relax(rootIsRobot, mate, dualA, dualB, stampB, slackB, slackFromB, countB);
+        }
+    }
+
+    /**
+     * Actualiza la holgura mínima de cada vértice fuera del árbol con las aristas de a
+     */
+    private void relax(boolean rootIsRobot, int a, long[] dualA, long[] dualB,
+                       int[] stampB, long[] slackB, int[] slackFromB, int countB) {
+        for (int b = 0; b < countB; b++) {
+            if (stampB[b] == stamp) continue;
+            long w = weight(rootIsRobot, a, b);
+            if (w <= 0) continue;
+            long slack = dualA[a] + dualB[b] - w;
+            if (slack < slackB[b]) {
+                slackB[b] = slack;
+                slackFromB[b] = a;
+            }
+        }
+    }
+
+    /**
+     * Invierte el camino alternante desde a hasta la raíz del árbol.
+     * a toma a newB (o queda libre si newB es NONE), su pareja anterior pasa al vértice
+     * del árbol desde el que se alcanzó, y así sucesivamente hasta la raíz.
+     * @param a Vértice del lado de la raíz donde termina el camino
+     * @param newB Vértice libre del otro lado con el que se aumenta, o NONE si a queda libre
+     */
+    private void flipPath(boolean rootIsRobot, int root, int a, int newB,
+                          int[] mateA, int[] mateB, int[] slackFromB) {
+        while (true) {
+            int oldB = a == root ? NONE : mateA[a];
+            if (oldB != NONE) {
+                totalProfit -= weight(rootIsRobot, a, oldB);
+            }
+            if (newB != NONE) {
+                mateA[a] = newB;
+                mateB[newB] = a;
+                totalProfit += weight(rootIsRobot, a, newB);
+            } else {
+                mateA[a] = NONE;
+            }
+            if (oldB == NONE) {
+                return;
+            }
+            newB = oldB;
+            a = slackFromB[oldB];
+        }
+    }
+
+    /**
+     * Máxima ganancia total con los robots y tiendas agregados hasta ahora
+     * @return Máxima ganancia total
+     */
+    public int getMaxProfit() {
+        return (int) totalProfit;
+    }
+
+    public int getRobotCount() {
+        return robotCount;
+    }
+
+    public int getStoreCount() {
+        return storeCount;
+    }
+
+    /**
+     * Tienda asignada a un robot en la asignación óptima actual
+     * @param robot Índice del robot
+     * @return Índice de la tienda, o -1 si el robot no roba
+     */
+    public int getStoreOf(int robot) {
+        return robotMate[robot];
+    }
+
+    /**
+     * Robot asignado a una tienda en la asignación óptima actual
+     * @param store Índice de la tienda
+     * @return Índice del robot, o -1 si nadie la roba
+     */
+    public int getRobotOf(int store) {
+        return storeMate[store];
+    }
+
+    public int getRobotLocation(int robot) { return robotLocation[robot]; }
+    public int getStoreLocation(int store) { return storeLocation[store]; }
+    public int getStoreTenges(int store) { return storeTenges[store]; }
+
+    /**
+     * Potencial dual de un robot (cota de lo que el robot aporta a la ganancia)
+     * @param robot Índice del robot
+     * @return Potencial del robot
+     */
+    public long getRobotPotential(int robot) {
+        return robotDual[robot];
+    }
+
+    /**
+     * Potencial dual de una tienda
+     * @param store Índice de la tienda
+     * @return Potencial de la tienda
+     */
+    public long getStorePotential(int store) {
+        return storeDual[store];
+    }
+
+    private void ensureRobotCapacity(int capacity) {
+        if (capacity <= robotLocation.length) return;
+        int size = Math.max(capacity, robotLocation.length * 2);
+        robotLocation = Arrays.copyOf(robotLocation, size);
+        robotMate = Arrays.copyOf(robotMate, size);
+        robotDual = Arrays.copyOf(robotDual, size);
+        robotStamp = Arrays.copyOf(robotStamp, size);
+        robotSlack = Arrays.copyOf(robotSlack, size);
+        robotSlackFrom = Arrays.copyOf(robotSlackFrom, size);
+        if (treeList.length < size) treeList = new int[size];
+    }
+
+    private void ensureStoreCapacity(int capacity) {
+        if (capacity <= storeLocation.length) return;
+        int size = Math.max(capacity, storeLocation.length * 2);
+        storeLocation = Arrays.copyOf(storeLocation, size);
+        storeTenges = Arrays.copyOf(storeTenges, size);
+        storeMate = Arrays.copyOf(storeMate, size);
+        storeDual = Arrays.copyOf(storeDual, size);
+        storeStamp = Arrays.copyOf(storeStamp, size);
+        storeSlack = Arrays.copyOf(storeSlack, size);
+        storeSlackFrom = Arrays.copyOf(storeSlackFrom, size);
+        if (treeList.length < size) treeList = new int[size];
+    }
+}
@@ -0,0 +1,131 @@
+package silkRoad.contest;
+
+import java.util.Arrays;
+
+/**
+ * Motor exacto que aprovecha que robots y tiendas están sobre una línea y que el costo
+ * es |robotLoc - storeLoc|. En vez de la matriz de ganancias hace un barrido ordenado
+ * por ubicación con dos montículos de "arrepentimiento" (simulación de flujo de costo mínimo):
+ * - robotsHeap: robots a la izquierda que aún pueden ir a una tienda de la derecha
+ * - storesHeap: tiendas a la izquierda que aún pueden recibir un robot de la derecha
+ *
+ * Cada emparejamiento deja en los montículos la opción de deshacerlo, así un punto nuevo
+ * puede "robar" la pareja de otro si eso mejora el total. Trabaja en O((R+S) log(R+S))
+ * por día y O(R+S) memoria, sin construir nunca la matriz densa. Para resolver todos los
+ * días de un caso sin volver a barrer la ruta cada día se usa IncrementalLineSolver.
+ *
+ * Los arreglos de trabajo y los montículos se reutilizan entre llamadas, así que una
+ * instancia no debe compartirse entre hilos.
+ */
+public class LineSweepSolver extends AssignmentSolver {
+
+    private final AssignmentSolver matrixFallback = new HungarianSolver();
+    private int[] robots = new int[16];
+    private long[] stores = new long[16];
+    private final LongMinHeap robotsHeap = new LongMinHeap(32);
+    private final LongMinHeap storesHeap = new LongMinHeap(32);
+
+    /**
+     * Calcula la máxima ganancia total barriendo la línea de izquierda a derecha
+     * @param entities Robots y tiendas en la ruta
+     * @return Máxima ganancia total
+     */
+    @Override
+    public int maxProfit(RoadEntities entities) {
+        int numRobots = entities.getRobotCount();
+        int numStores = entities.getStoreCount();
+        if (numRobots == 0 || numStores == 0) {
+            return 0;
+        }
+
+        if (robots.length < numRobots) {
+            robots = new int[Math.max(numRobots, robots.length * 2)];
+        }
+        System.arraycopy(entities.robotLocations(), 0, robots, 0, numRobots);
+        Arrays.sort(robots, 0, numRobots);
+        if (stores.length < numStores) {
+            stores = new long[Math.max(numStores, stores.length * 2)];
+        }
+        int[] storeLocations = entities.storeLocations();
+        int[] storeTenges = entities.storeTenges();
+        // Ubicación en los 32 bits altos y tenges en los bajos: ordenar los long ordena por ubicación
+        for (int s = 0; s < numStores; s++) {
+            stores[s] = ((long) storeLocations[s] << 32) | (storeTenges[s] & 0xFFFFFFFFL);
+        }
+        Arrays.sort(stores, 0, numStores);
+
+        robotsHeap.clear();
+        storesHeap.clear();
+        // Se minimiza el costo |x - y| - tenges; la ganancia es su negativo
+        long cost = 0;
+        int r = 0;
+        int s = 0;
+        while (r < numRobots || s < numStores) {
+            boolean takeStore = r == numRobots
+                || (s < numStores && (int) (stores[s] >> 32) <= robots[r]);
+            if (takeStore) {
+                long y = stores[s] >> 32;
+                long tenges = (int) stores[s];
+                s++;
+                if (!robotsHeap.isEmpty() && y - tenges + robotsHeap.peek() < 0) {
+                    long delta = y - tenges + robotsHeap.pop();
+                    cost += delta;
+                    // El robot puede seguir de largo hacia una tienda más a la derecha
+                    robotsHeap.push(tenges - y);
+                    // Un robot de la derecha puede quitarle esta tienda al robot actual
+                    storesHeap.push(-y - tenges - delta);
+                } else {
+                    storesHeap.push(-y - tenges);
+                }
+            } else {
+                long x = robots[r];
+                r++;
+                if (!storesHeap.isEmpty() && x + storesHeap.peek() < 0) {
+                    long delta = x + storesHeap.pop();
+                    cost += delta;
+                    // El robot puede cambiar su tienda por una que aparezca a la derecha
+                    robotsHeap.push(-x - delta);
+                } else {
+                    robotsHeap.push(-x);
+                }
+            }
+        }
+        return (int) -cost;
+    }
+
+    /**
+     * El barrido solo conserva costos en los montículos, no las parejas, así que la
+     * reconstrucción se delega al método húngaro disperso
+     * @param entities Robots y tiendas en la ruta
+     * @return Índice de tienda por robot, o UNASSIGNED si el robot no roba
+     */
+    @Override
+    public int[] assign(RoadEntities entities) {
+        return matrixFallback.assign(entities);
+    }
+
+    /**
+     * Una matriz arbitraria no tiene estructura de línea, así que se delega al método húngaro
+     * @param profitMatrix Matriz de ganancias [robot][store]
+     * @return Máxima ganancia total
+     */
+    @Override
+    public int maxProfit(int[][] profitMatrix) {
+        return matrixFallback.maxProfit(profitMatrix);
+    }
+
+    /**
+     * Los pares candidatos no conservan las ubicaciones, así que se delega al método húngaro disperso
+     * @param pairs Pares robot-tienda con ganancia positiva
+     * @return Máxima ganancia total
+     */
+    @Override
+    public int maxProfit(CandidatePairs pairs) {
+        return matrixFallback.maxProfit(pairs);
+    }
+
+    @Override
+    public String getName() {
+        return "line-sweep";
+    }
+}
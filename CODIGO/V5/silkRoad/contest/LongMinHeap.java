@@ -0,0 +1,76 @@
+package silkRoad.contest;
+
+/**
+ * Montículo mínimo de valores long sin objetos intermedios (evita el boxing de PriorityQueue).
+ */
+class LongMinHeap {
+    private long[] values;
+    private int size;
+
+    /**
+     * Crea un montículo con la capacidad inicial indicada
+     * @param capacity Capacidad inicial
+     */
+    LongMinHeap(int capacity) {
+        values = new long[Math.max(1, capacity)];
+        size = 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long peek() {
+        return values[0];
+    }
+
+    void clear() {
+        size = 0;
+    }
+
+    /**
+     * Agrega un valor al montículo
+     * @param value Valor a agregar
+     */
+    void push(long value) {
+        if (size == values.length) {
+            long[] bigger = new long[values.length * 2];
+            System.arraycopy(values, 0, bigger, 0, size);
+            values = bigger;
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (values[parent] <= value) break;
+            values[i] = values[parent];
+            i = parent;
+        }
+        values[i] = value;
+    }
+
+    /**
+     * Extrae el menor valor del montículo
+     * @return Menor valor
+     */
+    long pop() {
+        long top = values[0];
+        long last = values[--size];
+        int i = 0;
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && values[child + 1] < values[child]) {
+                child++;
+            }
+            if (last <= values[child]) break;
+            values[i] = values[child];
+            i = child;
+        }
+        values[i] = last;
+        return top;
+    }
+}
@@ -0,0 +1,234 @@
+package silkRoad.contest;
+
+import java.util.Arrays;
+
+/**
+ * Consultas "qué pasaría si" sobre un estado ya resuelto: cuánto sube la ganancia máxima
+ * si se abre una tienda con T tenges en x, o si llega un robot a x.
+ *
+ * Si la tienda nueva se queda con el robot r, los demás se reparten como sin r, así que
+ * la subida es max(0, max_r (ganancia(r, tienda) - aporte(r))), con aporte(r) = óptimo -
+ * óptimo sin r. En el juego de asignación ese aporte es el potencial de r en la solución
+ * dual que más favorece a los robots, que se obtiene de los potenciales del motor
+ * incremental bajando los de las tiendas con un Dijkstra sobre las holguras, en O(S^2 + R*S).
+ * Como la ganancia es T - |x - y|, la subida queda T - min_r(|x - y_r| + aporte(r)), y
+ * con mínimos por prefijo y sufijo sobre los robots ordenados cada consulta cuesta
+ * O(log R). Con los robots es simétrico, usando el aporte de cada tienda.
+ */
+public class MarginalValues {
+    private static final long INF = Long.MAX_VALUE / 4;
+    private static final int NONE = -1;
+
+    // Robots ordenados por ubicación, con min(aporte - y) por prefijo y min(aporte + y) por sufijo
+    private final int[] robotLocations;
+    private final long[] robotPrefix;
+    private final long[] robotSuffix;
+    // Tiendas ordenadas por ubicación, con max(tenges - aporte + z) por prefijo y max(tenges - aporte - z) por sufijo
+    private final int[] storeLocations;
+    private final long[] storePrefix;
+    private final long[] storeSuffix;
+    private final long maxProfit;
+
+    /**
+     * Prepara las consultas sobre el estado actual de un motor incremental
+     * @param solver Motor con la asignación óptima y sus potenciales
+     */
+    public MarginalValues(IncrementalSolver solver) {
+        maxProfit = solver.getMaxProfit();
+        int numRobots = solver.getRobotCount();
+        int numStores = solver.getStoreCount();
+
+        long[] robotShare = contributions(solver, true);
+        long[] robotKeys = new long[numRobots];
+        for (int r = 0; r < numRobots; r++) {
+            robotKeys[r] = ((long) solver.getRobotLocation(r) << 32) | r;
+        }
+        Arrays.sort(robotKeys);
+        robotLocations = new int[numRobots];
+        robotPrefix = new long[numRobots + 1];
+        robotSuffix = new long[numRobots + 1];
+        robotPrefix[0] = INF;
+        robotSuffix[numRobots] = INF;
+        for (int i = 0; i < numRobots; i++) {
+            int r = (int) robotKeys[i];
+            robotLocations[i] = solver.getRobotLocation(r);
+            robotPrefix[i + 1] = Math.min(robotPrefix[i], robotShare[r] - robotLocations[i]);
+        }
+        for (int i = numRobots - 1; i >= 0; i--) {
+            robotSuffix[i] = Math.min(robotSuffix[i + 1], robotShare[(int) robotKeys[i]] + robotLocations[i]);
+        }
+
+        long[] storeShare = contributions(solver, false);
+        long[] storeKeys = new long[numStores];
+        for (int s = 0; s < numStores; s++) {
+            storeKeys[s] = ((long) solver.getStoreLocation(s) << 32) | s;
+        }
+        Arrays.sort(storeKeys);
+        storeLocations = new int[numStores];
+        storePrefix = new long[numStores + 1];
+        storeSuffix = new long[numStores + 1];
+        storePrefix[0] = -INF;
+        storeSuffix[numStores] = -INF;
+        for (int i = 0; i < numStores; i++) {
+            int s = (int) storeKeys[i];
+            storeLocations[i] = solver.getStoreLocation(s);
+            long net = solver.getStoreTenges(s) - storeShare[s];
+            storePrefix[i + 1] = Math.max(storePrefix[i], net + storeLocations[i]);
+        }
+        for (int i = numStores - 1; i >= 0; i--) {
+            int s = (int) storeKeys[i];
+            long net = solver.getStoreTenges(s) - storeShare[s];
+            storeSuffix[i] = Math.max(storeSuffix[i + 1], net - storeLocations[i]);
+        }
+    }
+
+    /**
+     * Aporte de cada vértice de un lado (óptimo - óptimo sin él): su potencial cuando se
+     * bajan al mínimo los potenciales del otro lado. Cada potencial del otro lado baja lo
+     * que permite la arista más ajustada; si su pareja sube lo mismo, sus aristas se aflojan
+     * y eso se propaga como distancias de Dijkstra desde los vértices libres
+     */
+    private static long[] contributions(IncrementalSolver solver, boolean robots) {
+        int countA = robots ? solver.getRobotCount() : solver.getStoreCount();
+        int countB = robots ? solver.getStoreCount() : solver.getRobotCount();
+        long[] lowered = new long[countB];
+        boolean[] done = new boolean[countB];
+        for (int b = 0; b < countB; b++) {
+            lowered[b] = mateB(solver, robots, b) == NONE ? 0 : dualB(solver, robots, b);
+        }
+        // Un vértice libre del lado A tiene potencial 0 y no puede subir
+        for (int a = 0; a < countA; a++) {
+            if (mateA(solver, robots, a) != NONE) continue;
+            for (int b = 0; b < countB; b++) {
+                long w = weight(solver, robots, a, b);
+                if (w > 0) {
+                    lowered[b] = Math.min(lowered[b], dualA(solver, robots, a) + dualB(solver, robots, b) - w);
+                }
+            }
+        }
+        for (int step = 0; step < countB; step++) {
+            int next = NONE;
+            for (int b = 0; b < countB; b++) {
+                if (!done[b] && (next == NONE || lowered[b] < lowered[next])) {
+                    next = b;
+                }
+            }
+            done[next] = true;
+            int a = mateB(solver, robots, next);
+            if (a == NONE) continue;
+            for (int b = 0; b < countB; b++) {
+                if (done[b]) continue;
+                long w = weight(solver, robots, a, b);
+                if (w > 0) {
+                    long slack = dualA(solver, robots, a) + dualB(solver, robots, b) - w;
+                    lowered[b] = Math.min(lowered[b], lowered[next] + slack);
+                }
+            }
+        }
+        long[] share = new long[countA];
+        for (int a = 0; a < countA; a++) {
+            int mate = mateA(solver, robots, a);
+            share[a] = mate == NONE ? 0 : dualA(solver, robots, a) + lowered[mate];
+        }
+        return share;
+    }
+
+    private static int mateA(IncrementalSolver solver, boolean robots, int a) {
+        return robots ? solver.getStoreOf(a) : solver.getRobotOf(a);
+    }
+
+    private static int mateB(IncrementalSolver solver, boolean robots, int b) {
+        return robots ? solver.getRobotOf(b) : solver.getStoreOf(b);
+    }
+
+    private static long dualA(IncrementalSolver solver, boolean robots, int a) {
+        return robots ? solver.getRobotPotential(a) : solver.getStorePotential(a);
+    }
+
+    private static long dualB(IncrementalSolver solver, boolean robots, int b) {
+        return robots ? solver.getStorePotential(b) : solver.getRobotPotential(b);
+    }
+
+    private static long weight(IncrementalSolver solver, boolean robots, int a, int b) {
+        int robot = robots ? a : b;
+        int store = robots ? b : a;
+        long profit = (long) solver.getStoreTenges(store)
+            - Math.abs((long) solver.getRobotLocation(robot) - solver.getStoreLocation(store));
+        return profit > 0 ? profit : 0;
+    }
+
+    /**
+     * Cuánto sube la ganancia máxima si se abre una tienda
+     * @param location Ubicación de la tienda hipotética
+     * @param tenges Tenges de la tienda hipotética
+     * @return Aumento exacto de la ganancia máxima (0 si no conviene)
+     */
+    public int storeValue(int location, int tenges) {
+        int split = upperBound(robotLocations, location);
+        long cost = Math.min(robotPrefix[split] + location, robotSuffix[split] - location);
+        return (int) Math.max(0, tenges - cost);
+    }
+
+    /**
+     * Cuánto sube la ganancia máxima si llega un robot
+     * @param location Ubicación del robot hipotético
+     * @return Aumento exacto de la ganancia máxima (0 si no conviene)
+     */
+    public int robotValue(int location) {
+        int split = upperBound(storeLocations, location);
+        long gain = Math.max(storePrefix[split] - location, storeSuffix[split] + location);
+        return (int) Math.max(0, gain);
+    }
+
+    /**
+     * Aumento por abrir una tienda con los mismos tenges en cada ubicación de la ruta
+     * @param length Largo de la ruta (ubicaciones 0 .. length - 1)
+     * @param tenges Tenges de la tienda hipotética
+     * @return Aumento para cada ubicación
+     */
+    public int[] storeValues(int length, int tenges) {
+        int[] values = new int[length];
+        for (int x = 0; x < length; x++) {
+            values[x] = storeValue(x, tenges);
+        }
+        return values;
+    }
+
+    /**
+     * Aumento por agregar un robot en cada ubicación de la ruta
+     * @param length Largo de la ruta (ubicaciones 0 .. length - 1)
+     * @return Aumento para cada ubicación
+     */
+    public int[] robotValues(int length) {
+        int[] values = new int[length];
+        for (int x = 0; x < length; x++) {
+            values[x] = robotValue(x);
+        }
+        return values;
+    }
+
+    /**
+     * Cantidad de ubicaciones menores o iguales a value
+     */
+    private static int upperBound(int[] sorted, int value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Ganancia máxima del estado sobre el que se hacen las consultas
+     * @return Ganancia máxima actual
+     */
+    public int getMaxProfit() {
+        return (int) maxProfit;
+    }
+}
@@ -0,0 +1,130 @@
+package silkRoad.contest;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Resuelve los días de un solo caso en paralelo. La respuesta de cada día solo depende
+ * de su prefijo, así que el rango de días se parte en tramos contiguos: cada tramo arma
+ * el estado del prefijo anterior con IncrementalSolver.build (construcción en bloque) y
+ * desde ahí avanza día a día con el motor incremental. Los tramos se cortan según el
+ * costo estimado y hay varios por hilo para que el robo de trabajo del ForkJoinPool
+ * reparta lo que la estimación no acierte.
+ */
+public class ParallelDaySolver {
+    // Tramos por hilo: más tramos reparten mejor la carga, pero cada uno paga su construcción
+    private static final int CHUNKS_PER_THREAD = 4;
+    // Por debajo de esta cantidad de días no conviene partir el caso
+    private static final int MIN_CHUNK_DAYS = 64;
+
+    private final ForkJoinPool pool;
+    private final int minChunkDays;
+
+    /**
+     * Crea un resolvedor paralelo
+     * @param parallelism Máximo número de hilos a usar
+     */
+    public ParallelDaySolver(int parallelism) {
+        this(parallelism, MIN_CHUNK_DAYS);
+    }
+
+    /**
+     * Crea un resolvedor paralelo con otro tamaño mínimo de tramo, para poder partir casos
+     * chicos (por ejemplo los del fuzzer, que el bitmask de referencia alcanza a resolver)
+     * @param parallelism Máximo número de hilos a usar
+     * @param minChunkDays Días mínimos por tramo
+     */
+    public ParallelDaySolver(int parallelism, int minChunkDays) {
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+        this.minChunkDays = Math.max(1, minChunkDays);
+    }
+
+    /**
+     * Resuelve todos los días de un caso
+     * @param days Días del caso (tipo, ubicación, tenges)
+     * @return Máxima utilidad de cada día, igual que SilkRoadContest.solve
+     */
+    public int[] solve(ContestDays days) {
+        int numDays = days.size();
+        int[] maxProfits = new int[numDays];
+        int parallelism = pool.getParallelism();
+        // Con un solo hilo partir no reparte nada y solo suma construcciones
+        int chunks = parallelism == 1 ? 1
+            : Math.max(1, Math.min(parallelism * CHUNKS_PER_THREAD, numDays / minChunkDays));
+        if (chunks == 1) {
+            // Caso chico: se resuelve en este hilo sin despertar al pool
+            solveRange(days, maxProfits, 0, numDays);
+        } else {
+            pool.invoke(new DayRange(days, maxProfits, chunks, 0, chunks));
+        }
+        return maxProfits;
+    }
+
+    /**
+     * Libera los hilos del resolvedor
+     */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    public int getParallelism() {
+        return pool.getParallelism();
+    }
+
+    /**
+     * Resuelve los días [from, to) partiendo del estado de los días [0, from)
+     */
+    static void solveRange(ContestDays days, int[] maxProfits, int from, int to) {
+        RoadEntities prefix = new RoadEntities(from);
+        for (int day = 0; day < from; day++) {
+            prefix.add(days.getType(day), days.getLocation(day), days.getTenges(day));
+        }
+        IncrementalSolver solver = IncrementalSolver.build(prefix);
+        for (int day = from; day < to; day++) {
+            solver.add(days.getType(day), days.getLocation(day), days.getTenges(day));
+            maxProfits[day] = solver.getMaxProfit();
+        }
+    }
+
+    /**
+     * Grupo de tramos que se divide a la mitad hasta quedar en un solo tramo
+     */
+    private static class DayRange extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final ContestDays days;
+        private final int[] maxProfits;
+        private final int chunks;
+        private final int from;
+        private final int to;
+
+        DayRange(ContestDays days, int[] maxProfits, int chunks, int from, int to) {
+            this.days = days;
+            this.maxProfits = maxProfits;
+            this.chunks = chunks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                solveRange(days, maxProfits, boundary(from), boundary(to));
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new DayRange(days, maxProfits, chunks, from, middle),
+                      new DayRange(days, maxProfits, chunks, middle, to));
+        }
+
+        /**
+         * Primer día del tramo k. En la práctica cada día cuesta más o menos proporcional
+         * a cuántos robots y tiendas hay, así que el costo acumulado crece como el cuadrado
+         * del día: los tramos se cortan en raíz cuadrada para que todos cuesten parecido.
+         */
+        private int boundary(int k) {
+            int numDays = days.size();
+            return k == chunks ? numDays : (int) (numDays * Math.sqrt((double) k / chunks));
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package silkRoad.contest;
+
+import java.util.Arrays;
+
+/**
+ * Matriz de ganancias [robot][tienda] en un solo arreglo plano (fila por robot) que se
+ * reutiliza entre días: solo se reserva memoria cuando la ruta crece.
+ *
+ * Cada fila se llena con un kernel: tenges - |robot - tienda|, sin bajar de 0. Si
+ * VectorRowKernel (raíz de fuentes opcional V5-vector) está en el classpath y la JVM
+ * arranca con --add-modules jdk.incubator.vector, se usa ese kernel, que procesa varias
+ * tiendas por instrucción (SIMD); si no, el mismo cálculo escalar. Ambos dan exactamente
+ * los mismos valores. Con -Dsilkroad.vector=false se fuerza el escalar.
+ */
+public class ProfitMatrix {
+
+    /**
+     * Llena una fila de la matriz: out[offset + s] = max(0, tenges[s] - |robot - ubicación[s]|)
+     */
+    interface RowKernel {
+        void fillRow(int robotLocation, int[] storeLocations, int[] storeTenges, int numStores,
+                     int[] out, int offset);
+    }
+
+    private static final RowKernel SCALAR = ProfitMatrix::fillRowScalar;
+    private static final RowKernel VECTOR = loadVectorKernel();
+
+    private final RowKernel kernel;
+    private int[] values;
+    private int numRobots;
+    private int numStores;
+
+    /**
+     * Crea una matriz vacía que usa el kernel vectorial si está disponible
+     */
+    public ProfitMatrix() {
+        this(true);
+    }
+
+    /**
+     * Crea una matriz vacía eligiendo el kernel
+     * @param vectorized true para usar el kernel vectorial si está disponible, false para el escalar
+     */
+    public ProfitMatrix(boolean vectorized) {
+        this.kernel = vectorized && VECTOR != null ? VECTOR : SCALAR;
+        this.values = new int[0];
+    }
+
+    /**
+     * Copia una matriz anidada al formato plano
+     * @param profitMatrix Matriz de ganancias [robot][store]
+     * @return Matriz plana con los mismos valores
+     */
+    public static ProfitMatrix of(int[][] profitMatrix) {
+        ProfitMatrix matrix = new ProfitMatrix();
+        matrix.load(profitMatrix);
+        return matrix;
+    }
+
+    /**
+     * Copia una matriz anidada en esta matriz, reutilizando la memoria
+     * @param profitMatrix Matriz de ganancias [robot][store]
+     */
+    public void load(int[][] profitMatrix) {
+        int rows = profitMatrix.length;
+        int columns = rows == 0 ? 0 : profitMatrix[0].length;
+        resize(rows, columns);
+        for (int r = 0; r < rows; r++) {
+            System.arraycopy(profitMatrix[r], 0, values, r * columns, columns);
+        }
+    }
+
+    /**
+     * Llena la matriz con los robots y tiendas de la ruta, reutilizando la memoria
+     * @param entities Robots y tiendas en la ruta
+     */
+    public void fill(RoadEntities entities) {
+        resize(entities.getRobotCount(), entities.getStoreCount());
+        int[] robotLocations = entities.robotLocations();
+        int[] storeLocations = entities.storeLocations();
+        int[] storeTenges = entities.storeTenges();
+        for (int r = 0; r < numRobots; r++) {
+            kernel.fillRow(robotLocations[r], storeLocations, storeTenges, numStores, values, r * numStores);
+        }
+    }
+
+    private void resize(int rows, int columns) {
+        long size = (long) rows * columns;
+        if (size > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Matriz de " + rows + " x " + columns + " demasiado grande");
+        }
+        if (values.length < size) {
+            values = new int[(int) Math.max(size, Math.min(Integer.MAX_VALUE - 8, values.length * 2L))];
+        }
+        numRobots = rows;
+        numStores = columns;
+    }
+
+    /**
+     * Llena una fila con el kernel activo (vectorial si está disponible)
+     * @param robotLocation Ubicación del robot
+     * @param storeLocations Ubicaciones de las tiendas
+     * @param storeTenges Tenges de cada tienda
+     * @param numStores Tiendas a considerar
+     * @param out Arreglo destino
+     * @param offset Posición de la primera tienda en out
+     */
+    public static void fillRow(int robotLocation, int[] storeLocations, int[] storeTenges, int numStores,
+                               int[] out, int offset) {
+        (VECTOR != null ? VECTOR : SCALAR).fillRow(robotLocation, storeLocations, storeTenges, numStores, out, offset);
+    }
+
+    static void fillRowScalar(int robotLocation, int[] storeLocations, int[] storeTenges, int numStores,
+                              int[] out, int offset) {
+        for (int s = 0; s < numStores; s++) {
+            out[offset + s] = Math.max(0, storeTenges[s] - Math.abs(robotLocation - storeLocations[s]));
+        }
+    }
+
+    /**
+     * Carga el kernel vectorial por reflexión, para que esta clase compile y corra sin el
+     * módulo incubador; devuelve null si no está disponible o si se pidió el escalar
+     */
+    private static RowKernel loadVectorKernel() {
+        if ("false".equals(System.getProperty("silkroad.vector"))) {
+            return null;
+        }
+        try {
+            Class<?> type = Class.forName("silkRoad.contest.VectorRowKernel");
+            return (RowKernel) type.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Indica si hay kernel vectorial en esta JVM
+     * @return true si VectorRowKernel está en el classpath y se cargó el módulo jdk.incubator.vector
+     */
+    public static boolean isVectorAvailable() {
+        return VECTOR != null;
+    }
+
+    /**
+     * Indica si esta matriz usa el kernel vectorial
+     * @return true si las filas se llenan con instrucciones SIMD
+     */
+    public boolean isVectorized() {
+        return kernel != SCALAR;
+    }
+
+    /**
+     * Ganancia de un par robot-tienda
+     * @param robot Índice del robot
+     * @param store Índice de la tienda
+     * @return Ganancia del par
+     */
+    public int get(int robot, int store) {
+        return values[robot * numStores + store];
+    }
+
+    /**
+     * Copia al formato anidado que usan los motores densos
+     * @return Matriz de ganancias [robot][store]
+     */
+    public int[][] toArray() {
+        int[][] profitMatrix = new int[numRobots][];
+        for (int r = 0; r < numRobots; r++) {
+            profitMatrix[r] = Arrays.copyOfRange(values, r * numStores, (r + 1) * numStores);
+        }
+        return profitMatrix;
+    }
+
+    public int getRobotCount() { return numRobots; }
+    public int getStoreCount() { return numStores; }
+
+    /**
+     * Arreglo plano sin copiar: la ganancia de (r, s) está en r * getStoreCount() + s
+     */
+    int[] values() { return values; }
+}
@@ -0,0 +1,150 @@
+package silkRoad.contest;
+
+import java.util.Arrays;
+
+/**
+ * Robots y tiendas presentes en la ruta, guardados en columnas primitivas que crecen:
+ * ubicaciones de robots, ubicaciones de tiendas y tenges de tiendas. Los motores leen
+ * las columnas directamente, sin Integer ni un arreglo pequeño por tienda.
+ */
+public class RoadEntities {
+    private int robotCount;
+    private int[] robotLocations;
+    private int storeCount;
+    private int[] storeLocations;
+    private int[] storeTenges;
+
+    /**
+     * Crea una ruta vacía
+     */
+    public RoadEntities() {
+        this(16);
+    }
+
+    /**
+     * Crea una ruta vacía con espacio reservado
+     * @param capacity Número de robots (y de tiendas) esperado
+     */
+    public RoadEntities(int capacity) {
+        int initial = Math.max(1, capacity);
+        robotLocations = new int[initial];
+        storeLocations = new int[initial];
+        storeTenges = new int[initial];
+    }
+
+    /**
+     * Usa arreglos existentes como columnas, sin copiarlos
+     * @param robotLocations Ubicaciones de los robots
+     * @param storeLocations Ubicaciones de las tiendas
+     * @param storeTenges Tenges de cada tienda
+     * @return Ruta con esos robots y tiendas
+     */
+    public static RoadEntities wrap(int[] robotLocations, int[] storeLocations, int[] storeTenges) {
+        RoadEntities entities = new RoadEntities(0);
+        entities.robotLocations = robotLocations;
+        entities.robotCount = robotLocations.length;
+        entities.storeLocations = storeLocations;
+        entities.storeTenges = storeTenges;
+        entities.storeCount = storeLocations.length;
+        return entities;
+    }
+
+    /**
+     * Agrega un robot o una tienda según el código de tipo
+     * @param type Tipo (ContestDays.ROBOT, STORE, REMOVE_ROBOT o REMOVE_STORE)
+     * @param location Ubicación
+     * @param tenges Tenges (solo para tiendas)
+     */
+    public void add(int type, int location, int tenges) {
+        if (type == ContestDays.ROBOT) {
+            addRobot(location);
+        } else if (type == ContestDays.STORE) {
+            addStore(location, tenges);
+        } else if (type == ContestDays.REMOVE_ROBOT) {
+            removeRobotAt(location);
+        } else if (type == ContestDays.REMOVE_STORE) {
+            removeStoreAt(location);
+        }
+    }
+
+    /**
+     * Agrega un robot
+     * @param location Ubicación del robot
+     */
+    public void addRobot(int location) {
+        if (robotCount == robotLocations.length) {
+            robotLocations = Arrays.copyOf(robotLocations, Math.max(1, robotCount * 2));
+        }
+        robotLocations[robotCount++] = location;
+    }
+
+    /**
+     * Agrega una tienda
+     * @param location Ubicación de la tienda
+     * @param tenges Tenges de la tienda
+     */
+    public void addStore(int location, int tenges) {
+        if (storeCount == storeLocations.length) {
+            int capacity = Math.max(1, storeCount * 2);
+            storeLocations = Arrays.copyOf(storeLocations, capacity);
+            storeTenges = Arrays.copyOf(storeTenges, capacity);
+        }
+        storeLocations[storeCount] = location;
+        storeTenges[storeCount] = tenges;
+        storeCount++;
+    }
+
+    /**
+     * Quita el primer robot (en orden de llegada) que está en una ubicación
+     * @param location Ubicación del robot
+     * @return true si había un robot en esa ubicación
+     */
+    public boolean removeRobotAt(int location) {
+        for (int r = 0; r < robotCount; r++) {
+            if (robotLocations[r] == location) {
+                System.arraycopy(robotLocations, r + 1, robotLocations, r, robotCount - r - 1);
+                robotCount--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Quita la primera tienda (en orden de llegada) que está en una ubicación
+     * @param location Ubicación de la tienda
+     * @return true si había una tienda en esa ubicación
+     */
+    public boolean removeStoreAt(int location) {
+        for (int s = 0; s < storeCount; s++) {
+            if (storeLocations[s] == location) {
+                System.arraycopy(storeLocations, s + 1, storeLocations, s, storeCount - s - 1);
+                System.arraycopy(storeTenges, s + 1, storeTenges, s, storeCount - s - 1);
+                storeCount--;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Vacía la ruta conservando la memoria reservada
+     */
+    public void clear() {
+        robotCount = 0;
+        storeCount = 0;
+    }
+
+    public int getRobotCount() { return robotCount; }
+    public int getStoreCount() { return storeCount; }
+    public int getRobotLocation(int robot) { return robotLocations[robot]; }
+    public int getStoreLocation(int store) { return storeLocations[store]; }
+    public int getStoreTenges(int store) { return storeTenges[store]; }
+
+    /**
+     * Columnas sin copiar para los motores; solo son válidas las primeras posiciones (según los contadores)
+     */
+    int[] robotLocations() { return robotLocations; }
+    int[] storeLocations() { return storeLocations; }
+    int[] storeTenges() { return storeTenges; }
+}
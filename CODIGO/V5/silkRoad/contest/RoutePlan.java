@@ -0,0 +1,192 @@
+package silkRoad.contest;
+
+import java.util.Arrays;
+
+/**
+ * Plan de rutas con varias paradas: cada robot recorre un conjunto de tiendas en un orden
+ * a lo largo de la línea y cada tienda es robada por a lo sumo un robot. La ganancia es la
+ * suma de tenges robados menos los metros recorridos (el robot no paga el regreso).
+ *
+ * Un robot que cubre las tiendas entre l y r (incluyendo su ubicación x) camina
+ * (r - l) + min(x - l, r - x): primero va al lado más cercano y luego al otro. Robar de paso
+ * nunca cuesta, así que cada robot se lleva un bloque contiguo de tiendas ordenadas, y hay
+ * un óptimo donde los bloques siguen el mismo orden que los robots. Con eso basta una
+ * programación dinámica f[robots usados][tiendas consideradas] en O(R * S^2) tiempo y
+ * O(R * S) memoria.
+ */
+public class RoutePlan {
+    private static final long NEG = Long.MIN_VALUE / 4;
+    // Orígenes de un estado que no vienen de un bloque
+    private static final int SKIP_STORE = -1;
+    private static final int SKIP_ROBOT = -2;
+
+    private final int totalProfit;
+    private final int[][] routes;
+    private final int[][] moves;
+
+    private RoutePlan(int totalProfit, int[][] routes, int[][] moves) {
+        this.totalProfit = totalProfit;
+        this.routes = routes;
+        this.moves = moves;
+    }
+
+    /**
+     * Calcula las rutas óptimas para los robots y tiendas de la ruta
+     * @param entities Robots y tiendas en la ruta
+     * @return Plan con la ganancia, la ruta de cada robot y la lista de movimientos
+     */
+    public static RoutePlan build(RoadEntities entities) {
+        int numRobots = entities.getRobotCount();
+        int numStores = entities.getStoreCount();
+        // Ubicación en los 32 bits altos e índice original en los bajos
+        long[] robots = sortedByLocation(entities.robotLocations(), numRobots);
+        long[] stores = sortedByLocation(entities.storeLocations(), numStores);
+        int[] storeTenges = entities.storeTenges();
+        long[] prefixTenges = new long[numStores + 1];
+        for (int s = 0; s < numStores; s++) {
+            prefixTenges[s + 1] = prefixTenges[s] + storeTenges[(int) stores[s]];
+        }
+
+        long[][] best = new long[numRobots + 1][numStores + 1];
+        int[][] from = new int[numRobots + 1][numStores + 1];
+        for (int i = 0; i <= numRobots; i++) {
+            Arrays.fill(best[i], NEG);
+        }
+        best[0][0] = 0;
+        for (int i = 0; i <= numRobots; i++) {
+            for (int j = 0; j <= numStores; j++) {
+                long value = best[i][j];
+                if (value == NEG) continue;
+                if (j < numStores && value > best[i][j + 1]) {
+                    best[i][j + 1] = value;
+                    from[i][j + 1] = SKIP_STORE;
+                }
+                if (i == numRobots) continue;
+                if (value > best[i + 1][j]) {
+                    best[i + 1][j] = value;
+                    from[i + 1][j] = SKIP_ROBOT;
+                }
+                long x = robots[i] >> 32;
+                for (int k = j; k < numStores; k++) {
+                    long gained = prefixTenges[k + 1] - prefixTenges[j];
+                    long total = value + gained - walk(x, stores[j] >> 32, stores[k] >> 32);
+                    if (total > best[i + 1][k + 1]) {
+                        best[i + 1][k + 1] = total;
+                        from[i + 1][k + 1] = j;
+                    }
+                }
+            }
+        }
+
+        // Reconstrucción: el bloque de cada robot y luego el orden de visita
+        int[][] routes = new int[numRobots][];
+        int[][] allMoves = new int[numStores][];
+        int moveCount = 0;
+        int i = numRobots;
+        int j = numStores;
+        int[] blockStart = new int[numRobots];
+        int[] blockEnd = new int[numRobots];
+        while (i > 0 || j > 0) {
+            int origin = from[i][j];
+            if (i > 0 && j == 0 || origin == SKIP_ROBOT) {
+                i--;
+                blockStart[i] = 0;
+                blockEnd[i] = 0;
+            } else if (origin == SKIP_STORE) {
+                j--;
+            } else {
+                i--;
+                blockStart[i] = origin;
+                blockEnd[i] = j;
+                j = origin;
+            }
+        }
+        for (int r = 0; r < numRobots; r++) {
+            int robot = (int) robots[r];
+            long x = robots[r] >> 32;
+            int[] route = visitOrder(stores, blockStart[r], blockEnd[r], x);
+            routes[robot] = route;
+            long current = x;
+            for (int k = 0; k < route.length; k++) {
+                long target = entities.getStoreLocation(route[k]);
+                allMoves[moveCount++] = new int[]{(int) current, (int) (target - current)};
+                current = target;
+            }
+        }
+        return new RoutePlan((int) best[numRobots][numStores], routes, Arrays.copyOf(allMoves, moveCount));
+    }
+
+    /**
+     * Metros que camina un robot en x para cubrir las tiendas entre left y right
+     */
+    private static long walk(long x, long left, long right) {
+        long l = Math.min(left, x);
+        long r = Math.max(right, x);
+        return (r - l) + Math.min(x - l, r - x);
+    }
+
+    /**
+     * Orden de visita de las tiendas [start, end): primero el lado más cercano al robot
+     */
+    private static int[] visitOrder(long[] stores, int start, int end, long x) {
+        int[] route = new int[end - start];
+        if (route.length == 0) {
+            return route;
+        }
+        // Primera tienda a la derecha del robot (las que están en x cuentan como izquierda)
+        int split = start;
+        while (split < end && (stores[split] >> 32) <= x) {
+            split++;
+        }
+        long left = x - Math.min(stores[start] >> 32, x);
+        long right = Math.max(stores[end - 1] >> 32, x) - x;
+        int count = 0;
+        if (left <= right) {
+            for (int s = split - 1; s >= start; s--) route[count++] = (int) stores[s];
+            for (int s = split; s < end; s++) route[count++] = (int) stores[s];
+        } else {
+            for (int s = split; s < end; s++) route[count++] = (int) stores[s];
+            for (int s = split - 1; s >= start; s--) route[count++] = (int) stores[s];
+        }
+        return route;
+    }
+
+    private static long[] sortedByLocation(int[] locations, int count) {
+        long[] sorted = new long[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = ((long) locations[i] << 32) | i;
+        }
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Ganancia total del plan
+     * @return Tenges robados menos metros recorridos
+     */
+    public int getTotalProfit() {
+        return totalProfit;
+    }
+
+    /**
+     * Tiendas que visita un robot, en orden
+     * @param robot Índice del robot
+     * @return Índices de las tiendas en el orden de visita (vacío si no se mueve)
+     */
+    public int[] getRoute(int robot) {
+        return routes[robot].clone();
+    }
+
+    /**
+     * Movimientos del plan en el formato de SilkRoad.moveRobot: {ubicación actual, metros}.
+     * Se ejecutan en orden; los de cada robot van juntos.
+     * @return Lista de movimientos
+     */
+    public int[][] getMoves() {
+        int[][] copy = new int[moves.length][];
+        for (int m = 0; m < moves.length; m++) {
+            copy[m] = moves[m].clone();
+        }
+        return copy;
+    }
+}
@@ -0,0 +1,239 @@
+package silkRoad.contest;
+
+import java.util.Arrays;
+
+/**
+ * Motor que elige, antes de resolver, el motor exacto más rápido que cabe en un presupuesto
+ * de memoria. Estima tiempo y memoria de cada candidato a partir de R, S y el número de
+ * pares con ganancia positiva:
+ * - bitmask: O(R * 2^S * S) tiempo y O(R * 2^S) memoria, solo para entradas diminutas
+ * - húngaro: denso sobre una matriz ya armada, o disperso sobre los pares candidatos
+ * - barrido sobre la línea: O((R+S) log(R+S)) tiempo y O(R+S) memoria
+ *
+ * Un candidato que no cabe en el presupuesto se descarta sin llegar a reservar su memoria;
+ * si ninguno cabe se lanza IllegalStateException en vez de terminar sin memoria.
+ */
+public class SolverPlanner extends AssignmentSolver {
+    // Costo relativo de una operación elemental de cada motor (aproximado con los benchmarks JMH)
+    private static final double BITMASK_STEP = 1.0;
+    private static final double SPARSE_STEP = 10.0;
+    private static final double DENSE_STEP = 3.3;
+    private static final double SWEEP_STEP = 7.8;
+    // El bitmask deja de considerarse antes de que 2^S desborde
+    private static final int MAX_BITMASK_STORES = 24;
+
+    private final long heapBudget;
+    private final AssignmentSolver bitmask = new BitmaskSolver();
+    private final ThreadLocal<AssignmentSolver> hungarian = ThreadLocal.withInitial(HungarianSolver::new);
+    private final ThreadLocal<AssignmentSolver> lineSweep = ThreadLocal.withInitial(LineSweepSolver::new);
+    private volatile AssignmentSolver lastChoice;
+
+    /**
+     * Crea un planificador con la mitad de la memoria máxima de la JVM como presupuesto
+     */
+    public SolverPlanner() {
+        this(Runtime.getRuntime().maxMemory() / 2);
+    }
+
+    /**
+     * Crea un planificador con un presupuesto de memoria
+     * @param heapBudget Bytes que puede reservar el motor elegido
+     */
+    public SolverPlanner(long heapBudget) {
+        this.heapBudget = heapBudget;
+    }
+
+    /**
+     * Elige el motor para calcular la ganancia desde las ubicaciones
+     * @param entities Robots y tiendas en la ruta
+     * @return Motor elegido
+     */
+    public AssignmentSolver choose(RoadEntities entities) {
+        int numRobots = entities.getRobotCount();
+        int numStores = entities.getStoreCount();
+        // La matriz densa que arma el bitmask cuenta dentro de su memoria
+        double bitmaskBytes = bitmaskBytes(numRobots, numStores) + 4.0 * numRobots * numStores;
+        return pick(new AssignmentSolver[]{bitmask, lineSweep.get()},
+            new double[]{bitmaskTime(numRobots, numStores), sweepTime(numRobots, numStores)},
+            new double[]{bitmaskBytes, sweepBytes(numRobots, numStores)});
+    }
+
+    /**
+     * Elige el motor para reconstruir la asignación desde las ubicaciones: el barrido no
+     * conserva las parejas, así que compiten el bitmask y el húngaro disperso
+     * @param entities Robots y tiendas en la ruta
+     * @return Motor elegido
+     */
+    public AssignmentSolver chooseForAssignment(RoadEntities entities) {
+        int numRobots = entities.getRobotCount();
+        int numStores = entities.getStoreCount();
+        long numPairs = countPairs(entities);
+        double bitmaskBytes = bitmaskBytes(numRobots, numStores) + 4.0 * numRobots * numStores;
+        return pick(new AssignmentSolver[]{bitmask, hungarian.get()},
+            new double[]{bitmaskTime(numRobots, numStores), sparseTime(numRobots, numStores, numPairs)},
+            new double[]{bitmaskBytes, sparseBytes(numRobots, numStores, numPairs)});
+    }
+
+    /**
+     * Elige el motor para una matriz ya armada (sin estructura de línea)
+     * @param numRobots Filas de la matriz
+     * @param numStores Columnas de la matriz
+     * @return Motor elegido
+     */
+    public AssignmentSolver chooseForMatrix(int numRobots, int numStores) {
+        double n = Math.min(numRobots, numStores);
+        double m = Math.max(numRobots, numStores);
+        return pick(new AssignmentSolver[]{bitmask, hungarian.get()},
+            new double[]{bitmaskTime(numRobots, numStores), DENSE_STEP * n * n * m},
+            new double[]{bitmaskBytes(numRobots, numStores), 8.0 * (n + 1) + 25.0 * (m + 1)});
+    }
+
+    @Override
+    public int maxProfit(RoadEntities entities) {
+        return choose(entities).maxProfit(entities);
+    }
+
+    @Override
+    public int maxProfit(CandidatePairs pairs) {
+        int numRobots = pairs.getRobotCount();
+        int numStores = pairs.getStoreCount();
+        long numPairs = pairs.size();
+        AssignmentSolver solver = pick(new AssignmentSolver[]{bitmask, hungarian.get()},
+            new double[]{bitmaskTime(numRobots, numStores), sparseTime(numRobots, numStores, numPairs)},
+            new double[]{bitmaskBytes(numRobots, numStores) + 4.0 * numRobots * numStores,
+                         sparseBytes(numRobots, numStores, numPairs)});
+        return solver.maxProfit(pairs);
+    }
+
+    @Override
+    public int maxProfit(int[][] profitMatrix) {
+        int numRobots = profitMatrix.length;
+        int numStores = numRobots == 0 ? 0 : profitMatrix[0].length;
+        return chooseForMatrix(numRobots, numStores).maxProfit(profitMatrix);
+    }
+
+    @Override
+    public int maxProfit(ProfitMatrix matrix) {
+        return chooseForMatrix(matrix.getRobotCount(), matrix.getStoreCount()).maxProfit(matrix);
+    }
+
+    @Override
+    public int[] assign(RoadEntities entities) {
+        return chooseForAssignment(entities).assign(entities);
+    }
+
+    @Override
+    public int[] assign(int[][] profitMatrix) {
+        int numRobots = profitMatrix.length;
+        int numStores = numRobots == 0 ? 0 : profitMatrix[0].length;
+        return chooseForMatrix(numRobots, numStores).assign(profitMatrix);
+    }
+
+    /**
+     * El candidato más rápido que cabe en el presupuesto
+     */
+    private AssignmentSolver pick(AssignmentSolver[] candidates, double[] times, double[] bytes) {
+        AssignmentSolver best = null;
+        double bestTime = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < candidates.length; i++) {
+            if (bytes[i] <= heapBudget && times[i] < bestTime) {
+                best = candidates[i];
+                bestTime = times[i];
+            }
+        }
+        if (best == null) {
+            throw new IllegalStateException("Ningún motor cabe en " + heapBudget
+                + " bytes; se necesitan al menos " + (long) min(bytes));
+        }
+        lastChoice = best;
+        return best;
+    }
+
+    private static double bitmaskTime(int numRobots, int numStores) {
+        if (numStores > MAX_BITMASK_STORES) return Double.POSITIVE_INFINITY;
+        return BITMASK_STEP * (numRobots + 1.0) * Math.pow(2, numStores) * (numStores + 1.0);
+    }
+
+    private static double bitmaskBytes(int numRobots, int numStores) {
+        if (numStores > MAX_BITMASK_STORES) return Double.POSITIVE_INFINITY;
+        // dp[R + 1][2^S] de int, más la cabecera de cada fila
+        return (numRobots + 1.0) * (4.0 * Math.pow(2, numStores) + 16.0);
+    }
+
+    private static double sparseTime(int numRobots, int numStores, long numPairs) {
+        double vertices = numRobots + numStores + 2.0;
+        return SPARSE_STEP * Math.min(numRobots, numStores) * (numPairs + vertices) * Math.log(vertices);
+    }
+
+    private static double sparseBytes(int numRobots, int numStores, long numPairs) {
+        // Pares (robot, tienda, ganancia) más los dos índices CSR y el montículo de eventos
+        return 32.0 * numPairs + 96.0 * (numRobots + numStores);
+    }
+
+    private static double sweepTime(int numRobots, int numStores) {
+        double points = numRobots + numStores + 2.0;
+        return SWEEP_STEP * points * Math.log(points);
+    }
+
+    private static double sweepBytes(int numRobots, int numStores) {
+        // Robots ordenados (int), tiendas empaquetadas (long) y dos montículos de long
+        return 4.0 * numRobots + 8.0 * numStores + 16.0 * (numRobots + numStores);
+    }
+
+    /**
+     * Cuenta los pares con ganancia positiva sin generarlos: por cada tienda, dos búsquedas
+     * binarias sobre los robots ordenados delimitan su ventana (y - t, y + t)
+     */
+    static long countPairs(RoadEntities entities) {
+        int numRobots = entities.getRobotCount();
+        int[] robots = Arrays.copyOf(entities.robotLocations(), numRobots);
+        Arrays.sort(robots);
+        long count = 0;
+        for (int s = 0; s < entities.getStoreCount(); s++) {
+            long tenges = entities.getStoreTenges(s);
+            if (tenges <= 0) continue;
+            long location = entities.getStoreLocation(s);
+            count += lowerBound(robots, location + tenges) - lowerBound(robots, location - tenges + 1);
+        }
+        return count;
+    }
+
+    private static int lowerBound(int[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static double min(double[] values) {
+        double min = Double.POSITIVE_INFINITY;
+        for (double value : values) {
+            min = Math.min(min, value);
+        }
+        return min;
+    }
+
+    /**
+     * Motor elegido en la última consulta
+     * @return Último motor elegido, o null si todavía no se resolvió nada
+     */
+    public AssignmentSolver getLastChoice() {
+        return lastChoice;
+    }
+
+    public long getHeapBudget() {
+        return heapBudget;
+    }
+
+    @Override
+    public String getName() {
+        return "planner";
+    }
+}
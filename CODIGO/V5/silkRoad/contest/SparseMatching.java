@@ -0,0 +1,252 @@
+package silkRoad.contest;
+
+import java.util.Arrays;
+
+/**
+ * Asignación óptima sobre los pares candidatos (forma dispersa).
+ *
+ * Es el mismo método primal-dual de IncrementalSolver, pero cada paso de aumento es un
+ * Dijkstra con montículo sobre las aristas útiles: los potenciales se ajustan de forma
+ * perezosa según el "tiempo" en que cada vértice entra al árbol alternante. Cada paso
+ * cuesta O(E log V), con E el número de pares candidatos.
+ */
+class SparseMatching {
+    private static final long INF = Long.MAX_VALUE / 4;
+    private static final int NONE = -1;
+
+    private final CandidatePairs pairs;
+    private final int[] robotMate;
+    private final int[] storeMate;
+    private final long[] robotDual;
+    private final long[] storeDual;
+    private long totalProfit;
+
+    // Memoria de trabajo de cada búsqueda
+    private int stamp;
+    private final int[] robotStamp;
+    private final int[] storeStamp;
+    private final long[] robotTime;
+    private final long[] storeTime;
+    private final long[] robotBest;
+    private final long[] storeBest;
+    private final int[] robotFrom;
+    private final int[] storeFrom;
+    private final int[] treeRobots;
+    private final int[] treeStores;
+    private final EventHeap events;
+
+    /**
+     * Crea el motor disperso sin ninguna asignación
+     * @param pairs Pares candidatos del problema
+     */
+    SparseMatching(CandidatePairs pairs) {
+        this.pairs = pairs;
+        int numRobots = pairs.getRobotCount();
+        int numStores = pairs.getStoreCount();
+        robotMate = new int[numRobots];
+        storeMate = new int[numStores];
+        Arrays.fill(robotMate, NONE);
+        Arrays.fill(storeMate, NONE);
+        robotDual = new long[numRobots];
+        storeDual = new long[numStores];
+        robotStamp = new int[numRobots];
+        storeStamp = new int[numStores];
+        robotTime = new long[numRobots];
+        storeTime = new long[numStores];
+        robotBest = new long[numRobots];
+        storeBest = new long[numStores];
+        robotFrom = new int[numRobots];
+        storeFrom = new int[numStores];
+        treeRobots = new int[numRobots];
+        treeStores = new int[numStores];
+        events = new EventHeap(16);
+    }
+
+    /**
+     * Resuelve la asignación completa agregando los robots uno por uno
+     * @return Máxima ganancia total
+     */
+    long solve() {
+        for (int r = 0; r < pairs.getRobotCount(); r++) {
+            addRobot(r);
+        }
+        return totalProfit;
+    }
+
+    /**
+     * Agrega un robot a la asignación: después de agregar los robots 0..r la asignación es
+     * óptima para ellos, así que se puede avanzar por pasos y detenerse en cualquier momento
+     * @param r Índice del robot (en orden creciente)
+     */
+    void addRobot(int r) {
+        int[] start = pairs.robotStart();
+        int[] grouped = pairs.robotPairs();
+        long dual = 0;
+        for (int k = start[r]; k < start[r + 1]; k++) {
+            int pair = grouped[k];
+            dual = Math.max(dual, pairs.getProfit(pair) - storeDual[pairs.getStore(pair)]);
+        }
+        robotDual[r] = dual;
+        if (dual > 0) {
+            repair(true, r);
+        }
+    }
+
+    /**
+     * Paso de aumento desde un vértice libre con potencial positivo (ver IncrementalSolver)
+     * @param rootIsRobot true si la raíz es un robot
+     * @param root Índice de la raíz
+     */
+    void repair(boolean rootIsRobot, int root) {
+        long[] dualA = rootIsRobot ? robotDual : storeDual;
+        long[] dualB = rootIsRobot ? storeDual : robotDual;
+        int[] mateA = rootIsRobot ? robotMate : storeMate;
+        int[] mateB = rootIsRobot ? storeMate : robotMate;
+        int[] stampA = rootIsRobot ? robotStamp : storeStamp;
+        int[] stampB = rootIsRobot ? storeStamp : robotStamp;
+        long[] timeA = rootIsRobot ? robotTime : storeTime;
+        long[] timeB = rootIsRobot ? storeTime : robotTime;
+        long[] bestB = rootIsRobot ? storeBest : robotBest;
+        int[] fromB = rootIsRobot ? storeFrom : robotFrom;
+        int[] treeA = rootIsRobot ? treeRobots : treeStores;
+        int[] treeB = rootIsRobot ? treeStores : treeRobots;
+
+        stamp++;
+        events.clear();
+        int sizeA = 0;
+        int sizeB = 0;
+        treeA[sizeA++] = root;
+        stampA[root] = stamp;
+        timeA[root] = 0;
+        // Evento de "potencial en cero": valores negativos codifican vértices del lado de la raíz
+        events.push(dualA[root], ~root);
+        relax(rootIsRobot, root, 0, dualA, dualB, stampB, bestB, fromB);
+
+        while (true) {
+            long time = events.peekKey();
+            int vertex = events.peekValue();
+            events.pop();
+            if (vertex < 0) {
+                applyDuals(time, treeA, sizeA, dualA, timeA, treeB, sizeB, dualB, timeB);
+                flipPath(rootIsRobot, root, ~vertex, NONE, mateA, mateB, fromB);
+                return;
+            }
+            if (stampB[vertex] == stamp && (bestB[vertex] != time || timeB[vertex] != INF)) {
+                continue;
+            }
+            int mate = mateB[vertex];
+            if (mate == NONE) {
+                applyDuals(time, treeA, sizeA, dualA, timeA, treeB, sizeB, dualB, timeB);
+                flipPath(rootIsRobot, root, fromB[vertex], vertex, mateA, mateB, fromB);
+                return;
+            }
+            timeB[vertex] = time;
+            treeB[sizeB++] = vertex;
+            treeA[sizeA++] = mate;
+            stampA[mate] = stamp;
+            timeA[mate] = time;
+            events.push(time + dualA[mate], ~mate);
+            relax(rootIsRobot, mate, time, dualA, dualB, stampB, bestB, fromB);
+        }
+    }
+
+    /**
+     * Programa el momento en que cada arista de a queda ajustada
+     */
+    private void relax(boolean rootIsRobot, int a, long time, long[] dualA, long[] dualB,
+                       int[] stampB, long[] bestB, int[] fromB) {
+        int[] start = rootIsRobot ? pairs.robotStart() : pairs.storeStart();
+        int[] grouped = rootIsRobot ? pairs.robotPairs() : pairs.storePairs();
+        long[] timeB = rootIsRobot ? storeTime : robotTime;
+        for (int k = start[a]; k < start[a + 1]; k++) {
+            int pair = grouped[k];
+            int b = rootIsRobot ? pairs.getStore(pair) : pairs.getRobot(pair);
+            if (stampB[b] == stamp && timeB[b] != INF) continue;
+            long when = time + dualA[a] + dualB[b] - pairs.getProfit(pair);
+            if (stampB[b] != stamp || when < bestB[b]) {
+                stampB[b] = stamp;
+                timeB[b] = INF;
+                bestB[b] = when;
+                fromB[b] = a;
+                events.push(when, b);
+            }
+        }
+    }
+
+    /**
+     * Aplica los ajustes de potencial acumulados hasta el tiempo final de la búsqueda
+     */
+    private void applyDuals(long time, int[] treeA, int sizeA, long[] dualA, long[] timeA,
+                            int[] treeB, int sizeB, long[] dualB, long[] timeB) {
+        for (int i = 0; i < sizeA; i++) {
+            dualA[treeA[i]] -= time - timeA[treeA[i]];
+        }
+        for (int i = 0; i < sizeB; i++) {
+            dualB[treeB[i]] += time - timeB[treeB[i]];
+        }
+    }
+
+    /**
+     * Invierte el camino alternante desde a hasta la raíz (ver IncrementalSolver)
+     */
+    private void flipPath(boolean rootIsRobot, int root, int a, int newB,
+                          int[] mateA, int[] mateB, int[] fromB) {
+        while (true) {
+            int oldB = a == root ? NONE : mateA[a];
+            if (oldB != NONE) {
+                totalProfit -= profitOf(rootIsRobot, a, oldB);
+            }
+            if (newB != NONE) {
+                mateA[a] = newB;
+                mateB[newB] = a;
+                totalProfit += profitOf(rootIsRobot, a, newB);
+            } else {
+                mateA[a] = NONE;
+            }
+            if (oldB == NONE) {
+                return;
+            }
+            newB = oldB;
+            a = fromB[oldB];
+        }
+    }
+
+    /**
+     * Ganancia del par (a, b) buscándola en la lista de pares del vértice a
+     */
+    private long profitOf(boolean rootIsRobot, int a, int b) {
+        int[] start = rootIsRobot ? pairs.robotStart() : pairs.storeStart();
+        int[] grouped = rootIsRobot ? pairs.robotPairs() : pairs.storePairs();
+        for (int k = start[a]; k < start[a + 1]; k++) {
+            int pair = grouped[k];
+            int other = rootIsRobot ? pairs.getStore(pair) : pairs.getRobot(pair);
+            if (other == b) {
+                return pairs.getProfit(pair);
+            }
+        }
+        return 0;
+    }
+
+    long getTotalProfit() {
+        return totalProfit;
+    }
+
+    int getStoreOf(int robot) {
+        return robotMate[robot];
+    }
+
+    /**
+     * Tienda asignada a cada robot, o -1 si el robot no roba ninguna
+     */
+    int[] getAssignment() {
+        return robotMate.clone();
+    }
+
+    long getRobotDual(int robot) {
+        return robotDual[robot];
+    }
+
+    long getStoreDual(int store) {
+        return storeDual[store];
+    }
+}
@@ -0,0 +1,174 @@
+package silkRoad.contest;
+
+import silkRoad.robots.Robot;
+import silkRoad.stores.Store;
+import java.util.HashMap;
+import java.util.List;
+
+/**
+ * Ganancia de cada par robot-tienda con las reglas de los tipos, igual que SilkRoad.moveRobot:
+ * - Robot.canMoveTo: a qué lado puede moverse el robot (NeverbackRobot solo hacia adelante)
+ * - Robot.calculateTakeAmount: cuánto toma de la tienda (TenderRobot la mitad)
+ * - Store.canBeRobbedBy: dinero mínimo del robot para robarla (FighterStore)
+ * - Store.getMovementCost: costo del trayecto (SpeedStore no cobra)
+ *
+ * Los métodos de cada robot y tienda se consultan una sola vez al construir el kernel y
+ * se guardan en columnas primitivas; la ganancia de un par es aritmética sobre esas
+ * columnas, sin llamadas virtuales por par. Para eso se asume que canMoveTo solo depende
+ * del lado del movimiento, que canBeRobbedBy es monótono en el dinero del robot, que el
+ * costo de movimiento es afín en la distancia y que lo que toma un robot depende de su
+ * clase y de lo disponible.
+ */
+public class TypedProfitKernel {
+    private static final int MOVE_BACK = 1;
+    private static final int STAY = 2;
+    private static final int MOVE_FORWARD = 4;
+    private static final long NEVER = Long.MAX_VALUE;
+
+    private final int robotCount;
+    private final int[] robotLocation;
+    private final int[] robotMoney;
+    private final int[] robotMoves;
+    private final int[] robotTakeClass;
+
+    private final int storeCount;
+    private final int[] storeLocation;
+    private final int[] storeTenges;
+    private final long[] storeMinMoney;
+    private final int[] storeCostBase;
+    private final int[] storeCostRate;
+    // Lo que toma cada clase de robot de cada tienda: takeByClass[clase][tienda]
+    private final int[][] takeByClass;
+
+    /**
+     * Construye el kernel consultando los tipos de cada robot y tienda
+     * @param robots Robots en su ubicación actual
+     * @param stores Tiendas con sus tenges actuales
+     */
+    public TypedProfitKernel(List<? extends Robot> robots, List<? extends Store> stores) {
+        robotCount = robots.size();
+        robotLocation = new int[robotCount];
+        robotMoney = new int[robotCount];
+        robotMoves = new int[robotCount];
+        robotTakeClass = new int[robotCount];
+        HashMap<Class<?>, Integer> classes = new HashMap<Class<?>, Integer>();
+        Robot[] samples = new Robot[robotCount];
+        for (int r = 0; r < robotCount; r++) {
+            Robot robot = robots.get(r);
+            int location = robot.getLocation();
+            robotLocation[r] = location;
+            robotMoney[r] = robot.getGanancia();
+            robotMoves[r] = (robot.canMoveTo(location - 1) ? MOVE_BACK : 0)
+                          | (robot.canMoveTo(location) ? STAY : 0)
+                          | (robot.canMoveTo(location + 1) ? MOVE_FORWARD : 0);
+            Integer takeClass = classes.get(robot.getClass());
+            if (takeClass == null) {
+                takeClass = Integer.valueOf(classes.size());
+                classes.put(robot.getClass(), takeClass);
+                samples[takeClass.intValue()] = robot;
+            }
+            robotTakeClass[r] = takeClass.intValue();
+        }
+
+        storeCount = stores.size();
+        storeLocation = new int[storeCount];
+        storeTenges = new int[storeCount];
+        storeMinMoney = new long[storeCount];
+        storeCostBase = new int[storeCount];
+        storeCostRate = new int[storeCount];
+        for (int s = 0; s < storeCount; s++) {
+            Store store = stores.get(s);
+            storeLocation[s] = store.getLocation();
+            storeTenges[s] = store.getTenges();
+            storeMinMoney[s] = minMoneyToRob(store);
+            storeCostBase[s] = store.getMovementCost(0);
+            storeCostRate[s] = store.getMovementCost(1) - storeCostBase[s];
+        }
+
+        takeByClass = new int[classes.size()][storeCount];
+        for (int c = 0; c < takeByClass.length; c++) {
+            for (int s = 0; s < storeCount; s++) {
+                takeByClass[c][s] = samples[c].calculateTakeAmount(storeTenges[s]);
+            }
+        }
+    }
+
+    /**
+     * Menor dinero con el que un robot puede robar la tienda (búsqueda binaria)
+     */
+    private static long minMoneyToRob(Store store) {
+        if (store.canBeRobbedBy(0)) {
+            return 0;
+        }
+        if (!store.canBeRobbedBy(Integer.MAX_VALUE)) {
+            return NEVER;
+        }
+        int low = 0;
+        int high = Integer.MAX_VALUE;
+        while (high - low > 1) {
+            int mid = low + (high - low) / 2;
+            if (store.canBeRobbedBy(mid)) {
+                high = mid;
+            } else {
+                low = mid;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * Ganancia neta de enviar un robot a una tienda, o 0 si no conviene o no está permitido
+     * @param robot Índice del robot
+     * @param store Índice de la tienda
+     * @return Ganancia del par, nunca negativa
+     */
+    public int profit(int robot, int store) {
+        long offset = (long) storeLocation[store] - robotLocation[robot];
+        int move = offset < 0 ? MOVE_BACK : offset == 0 ? STAY : MOVE_FORWARD;
+        if ((robotMoves[robot] & move) == 0 || robotMoney[robot] < storeMinMoney[store]) {
+            return 0;
+        }
+        long gained = Math.min(takeByClass[robotTakeClass[robot]][store], storeTenges[store]);
+        long cost = storeCostBase[store] + (long) storeCostRate[store] * Math.abs(offset);
+        long net = gained - cost;
+        return net > 0 ? (int) net : 0;
+    }
+
+    /**
+     * Pares con ganancia positiva, listos para los motores dispersos
+     * @return Pares candidatos
+     */
+    public CandidatePairs toCandidatePairs() {
+        CandidatePairs pairs = new CandidatePairs(robotCount, storeCount);
+        for (int r = 0; r < robotCount; r++) {
+            for (int s = 0; s < storeCount; s++) {
+                int profit = profit(r, s);
+                if (profit > 0) {
+                    pairs.add(r, s, profit);
+                }
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * Máxima ganancia total con un movimiento por robot y un robot por tienda
+     * @return Máxima ganancia total
+     */
+    public int maxProfit() {
+        return (int) new SparseMatching(toCandidatePairs()).solve();
+    }
+
+    /**
+     * Asignación óptima con las reglas de los tipos
+     * @return Índice de tienda por robot, o AssignmentSolver.UNASSIGNED si el robot no se mueve
+     */
+    public int[] assign() {
+        SparseMatching matching = new SparseMatching(toCandidatePairs());
+        matching.solve();
+        return matching.getAssignment();
+    }
+
+    public int getRobotCount() { return robotCount; }
+    public int getStoreCount() { return storeCount; }
+}
@@ -1,6 +1,4 @@
 package silkRoad.robots;
-import shapes.Rectangle;
-import shapes.Triangle;
 
 /**
  * Robot que nunca retrocede.
@@ -20,18 +18,9 @@ public class NeverbackRobot extends Robot {
         super(location, x, y);
         this.tipo = "Neverback";
         
-        // Cambiar de Rectangle a Triangle para distinguir visualmente
-        figure.makeInvisible();
-        Triangle triangulo = new Triangle();
-        int initialX = x;
-        int initialY = 50;
-        triangulo.moveHorizontal(x - initialX);
-        triangulo.moveVertical(y - initialY);
-        
         // Asignar color cálido
         this.color = coloresNeverback[contadorNeverback % coloresNeverback.length];
         contadorNeverback++;
-        triangulo.changeColor(color);   
     }
 
     /**
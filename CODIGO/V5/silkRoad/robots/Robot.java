@@ -1,10 +1,11 @@
 package silkRoad.robots;
-import shapes.*;
-
 
+/**
+ * Robot de la ruta: ubicación, ganancia y color. No se dibuja a sí mismo; su figura la
+ * crea y la mueve SilkRoadView.
+ */
 public class Robot {
     protected int location;
-    protected Shape figure;
     protected static String[] colores = {"blue", "cyan", "green", "gray"};
     protected static int contadorColores = 0;
     protected int x, y;
@@ -24,46 +25,22 @@ public class Robot {
         this.initialLocation = location;
         this.x = x;
         this.y = y;
-        this.figure = new Rectangle();
-
-        // Posicionar la figura visual
-        int initialX = 60;
-        int initialY = 50;
-        this.figure.moveHorizontal(x - initialX);
-        this.figure.moveVertical(y - initialY);
 
         // Asignar color único
         this.color = colores[contadorColores % colores.length];
         contadorColores++;
-        this.figure.changeColor(color);
     }
 
     /**
-     * Mover el robot a una nueva posición en el canvas
+     * Guarda una nueva posición en el canvas
      * @param newX Nueva posición X
      * @param newY Nueva posición Y
      */
     public void moveTo(int newX, int newY) {
-        figure.moveHorizontal(newX - x);
-        figure.moveVertical(newY - y);
         x = newX;
         y = newY;
     }
 
-    /**
-     * Mostrar el robot en el canvas
-     */
-    public void show() {
-        figure.makeVisible();
-    }
-
-    /**
-     * Ocultar el robot del canvas
-     */
-    public void hide() {
-        figure.makeInvisible();
-    }
-
     /**
      * Verificar si el robot puede moverse a una nueva ubicación
      * @param newLocation Nueva ubicación propuesta
@@ -98,18 +75,8 @@ public class Robot {
         setLocation(initialLocation);
     }
 
-    public void parpadear() {
-        for (int i = 0; i < 6; i++) {
-            figure.makeInvisible();
-            shapes.Canvas.getCanvas().wait(50);
-            figure.makeVisible();
-            shapes.Canvas.getCanvas().wait(50);
-        }
-    }
-
     public void changeColor(String newColor) {
         color = newColor;
-        figure.changeColor(newColor);
     }
 
     public boolean isAtLocation(int loc) {
@@ -1,7 +1,5 @@
 package silkRoad.robots;
 
-import shapes.*;
-
 /**
  * Robot explorador que puede ver tiendas futuras antes de moverse.
  * Toma decisiones más informadas al explorar el camino adelante.
@@ -22,13 +20,9 @@ public class ScoutRobot extends Robot {
         super(location, x, y);
         this.tipo = "Scout";
         
-        // Mantener Rectangle pero más grande
-        ((Rectangle)figure).changeSize(22, 22);
-        
         // Asignar color intenso
         this.color = coloresScout[contadorScout % coloresScout.length];
         contadorScout++;
-        figure.changeColor(color);
     }
 
     /**
@@ -1,8 +1,5 @@
 package silkRoad.robots;
 
-import shapes.Rectangle;
-import shapes.Circle;
-
 /**
  * Robot tierno que solo toma la mitad del dinero de las tiendas.
  * Es considerado con las tiendas y no las vacía completamente.
@@ -24,20 +21,9 @@ public class TenderRobot extends Robot {
         super(location, x, y);
         this.tipo = "Tender";
         
-        // Cambiar de Rectangle a Circle para distinguir visualmente
-        figure.makeInvisible();
-        figure = new Circle();
-        ((Circle)figure).changeSize(18);
-        int initialX = 60;
-        int initialY = 50;
-        figure.moveHorizontal(x - initialX);
-        figure.moveVertical(y - initialY);
-        
         // Asignar color pastel
         this.color = coloresTender[contadorTender % coloresTender.length];
         contadorTender++;
-        figure.changeColor(color);
-
     }
 
     /**
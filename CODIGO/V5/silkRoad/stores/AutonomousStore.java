@@ -1,7 +1,5 @@
 package silkRoad.stores;
 
-import shapes.*;
-
 /**
  * Tienda autónoma que escoge su propia posición.
  * No acepta la ubicación indicada, sino que escoge una cercana.
@@ -26,19 +24,9 @@ public class AutonomousStore extends Store {
         this.suggestedLocation = suggestedLocation;
         this.tipo = "Autonomous";
         
-        // Cambiar de Circle a Triangle para distinguir visualmente
-        figure.makeInvisible();
-        figure = new Triangle();
-        ((Triangle)figure).changeSize(35, 35);
-        int initialX = 60;
-        int initialY = 50;
-        figure.moveHorizontal(x - initialX);
-        figure.moveVertical(y - initialY);
-        
         // Asignar color frío
         colorBase = coloresAutonomous[contadorAutonomous % coloresAutonomous.length];
         contadorAutonomous++;
-        figure.changeColor(colorBase);
     }
 
     /**
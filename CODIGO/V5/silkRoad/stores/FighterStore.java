@@ -1,7 +1,5 @@
 package silkRoad.stores;
 
-import shapes.*;
-
 /**
  * Tienda luchadora que solo permite ser robada por robots con más dinero.
  * Defiende su dinero de robots pobres.
@@ -24,19 +22,9 @@ public class FighterStore extends Store {
         super(location, tenges, x, y);
         this.tipo = "Fighter";
         
-        // Cambiar de Circle a Rectangle para distinguir visualmente
-        figure.makeInvisible();
-        figure = new Rectangle();
-        ((Rectangle)figure).changeSize(25, 25);
-        int initialX = 60;
-        int initialY = 50;
-        figure.moveHorizontal(x - initialX);
-        figure.moveVertical(y - initialY);
-        
         // Asignar color oscuro
         colorBase = coloresFighter[contadorFighter % coloresFighter.length];
         contadorFighter++;
-        figure.changeColor(colorBase);
     }
 
     /**
@@ -1,7 +1,5 @@
 package silkRoad.stores;
 
-import shapes.*;
-
 /**
  * Tienda rápida que atiende sin costo de movimiento.
  * Los robots no pagan el costo de distancia al visitarla.
@@ -24,13 +22,9 @@ public class SpeedStore extends Store {
         super(location, tenges, x, y);
         this.tipo = "Speed";
         
-        // Mantener Circle pero más pequeño
-        ((Circle)figure).changeSize(20);
-        
         // Asignar color brillante
         colorBase = coloresSpeed[contadorSpeed % coloresSpeed.length];
         contadorSpeed++;
-        figure.changeColor(colorBase);
     }
 
     /**
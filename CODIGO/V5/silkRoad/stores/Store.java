@@ -1,10 +1,9 @@
 package silkRoad.stores;
 
-import shapes.*;
-
 /**
  * Clase base para representar una tienda en la Ruta de la Seda.
- * Esta es la tienda tipo "Normal".
+ * Esta es la tienda tipo "Normal". No se dibuja a sí misma: su figura la crea SilkRoadView
+ * con el color de getColor().
  * 
  * @author DOPO - Ciclo 4
  * @version 4.0 - Octubre 2025
@@ -13,12 +12,12 @@ public class Store {
     protected int location;
     protected int tenges;
     protected int initialTenges;
-    protected Shape figure; // CAMBIADO: Shape en lugar de Circle
     protected static String[] colores = {"red", "orange", "yellow", "magenta", "pink"};
     protected static int contadorColores = 0;
     protected int x, y;
     protected int desocupaciones = 0;
     protected String colorBase;
+    private String shownColor; // Color que se ve (null = colorBase)
     protected String tipo = "Normal";
 
     /**
@@ -34,18 +33,25 @@ public class Store {
         this.initialTenges = tenges;
         this.x = x;
         this.y = y;
-        this.figure = new Circle();
-        
-        // Posicionar la figura visual
-        int initialX = 60;
-        int initialY = 50;
-        this.figure.moveHorizontal(x - initialX);
-        this.figure.moveVertical(y - initialY);
         
         // Asignar color único
         colorBase = colores[contadorColores % colores.length];
         contadorColores++;
-        this.figure.changeColor(colorBase);
+    }
+
+    /**
+     * Cambia el color que se ve (null = colorBase)
+     */
+    private void paint(String color) {
+        shownColor = color;
+    }
+
+    /**
+     * Color con el que se dibuja la tienda: gris si quedó desocupada
+     * @return Nombre del color
+     */
+    public String getColor() {
+        return shownColor != null ? shownColor : colorBase;
     }
 
     /**
@@ -53,7 +59,7 @@ public class Store {
      */
     public void resupply() {
         this.tenges = initialTenges;
-        this.figure.changeColor(colorBase);
+        paint(null);
     }
 
     /**
@@ -74,24 +80,10 @@ public class Store {
      * Marcar la tienda como desocupada (vacía)
      */
     public void marcarDesocupada() {
-        this.figure.changeColor("gray");
+        paint("gray");
         desocupaciones++;
     }
 
-    /**
-     * Mostrar la tienda en el canvas
-     */
-    public void show() {
-        figure.makeVisible();
-    }
-
-    /**
-     * Ocultar la tienda del canvas
-     */
-    public void hide() {
-        figure.makeInvisible();
-    }
-
     /**
      * Verificar si el robot puede robar de esta tienda
      * @param robotMoney Cantidad de dinero del robot
@@ -118,7 +110,7 @@ public class Store {
         if (this.tenges == 0) {
             marcarDesocupada();
         } else {
-            this.figure.changeColor(colorBase);
+            paint(null);
         }
     }
     public int getDesocupaciones() { return desocupaciones; }
@@ -129,8 +121,6 @@ public class Store {
     public String getTipo() { return tipo; }
 
     public void moveTo(int newX, int newY) {
-        figure.moveHorizontal(newX - x);
-        figure.moveVertical(newY - y);
         x = newX;
         y = newY;
     }
@@ -141,7 +131,7 @@ public class Store {
 
     public void changeColor(String newColor) {
         colorBase = newColor;
-        figure.changeColor(newColor);
+        paint(null);
     }
 
     @Override